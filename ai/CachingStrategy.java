@@ -0,0 +1,55 @@
+package ai;
+
+import model.GameState;
+import model.rules.RuleSet;
+
+/**
+ * Decorator Pattern - Caches the decisions of another strategy.
+ *
+ * Positions that abstract to the same PositionKey reuse the move chosen
+ * the first time, so the wrapped strategy only runs on cache misses.
+ * Wrap deterministic strategies: caching a random one freezes its choice.
+ */
+public class CachingStrategy implements MoveStrategy {
+    private final MoveStrategy delegate;
+    private final PolicyCache cache;
+
+    /**
+     * Constructor for CachingStrategy with a private cache.
+     *
+     * @param delegate The strategy to consult on misses
+     */
+    public CachingStrategy(MoveStrategy delegate) {
+        this(delegate, new PolicyCache());
+    }
+
+    /**
+     * Constructor for CachingStrategy.
+     *
+     * @param delegate The strategy to consult on misses
+     * @param cache    The cache, which may be shared with other tables
+     */
+    public CachingStrategy(MoveStrategy delegate, PolicyCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public int chooseMove(GameState state, RuleSet rules) {
+        PositionKey key = PositionKey.of(state, rules);
+        int move = cache.get(key);
+        if (move < 0) {
+            move = delegate.chooseMove(state, rules);
+            cache.put(key, move);
+        }
+        return move;
+    }
+
+    public MoveStrategy getDelegate() {
+        return delegate;
+    }
+
+    public PolicyCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,261 @@
+package ai;
+
+import model.GameSnapshot;
+import model.GameState;
+
+/**
+ * Perfect-information endgame search for positions where every player
+ * holds only a few cards.
+ *
+ * Runs iteratively deepened alpha-beta over a GameSnapshot from the
+ * point of view of the player to move, treating all opponents as one
+ * minimizing side ("paranoid" search). Positions are memoized in a
+ * transposition table keyed by the snapshot's Zobrist hash, and the
+ * search stops at a time budget of a few milliseconds, returning the
+ * best move of the deepest completed iteration.
+ *
+ * A solver keeps its table between calls and is not thread-safe.
+ */
+public class EndgameSolver {
+    /** Positions qualify once no hand holds more than this many cards. */
+    public static final int MAX_HAND_SIZE = 3;
+    public static final long DEFAULT_BUDGET_NANOS = 3_000_000L;
+
+    private static final int WIN = 10_000;
+    private static final int MAX_DEPTH = 64;
+    private static final int TABLE_BITS = 16;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    // Transposition table: key, then packed value / depth / bound / best move / generation
+    private final long[] tableKeys;
+    private final long[] tableData;
+    private int generation;
+
+    private final int[][] moveBuffers;
+    private int rootPlayer;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int lastScore;
+
+    /**
+     * Constructor for EndgameSolver.
+     */
+    public EndgameSolver() {
+        this.tableKeys = new long[1 << TABLE_BITS];
+        this.tableData = new long[1 << TABLE_BITS];
+        this.moveBuffers = new int[MAX_DEPTH + 1][GameSnapshot.MAX_MOVES];
+    }
+
+    /**
+     * Checks if a live game is small enough for the solver.
+     *
+     * @param state The game state
+     * @return true if every hand holds at most MAX_HAND_SIZE cards
+     */
+    public static boolean isEndgame(GameState state) {
+        return state.countHandsLargerThan(MAX_HAND_SIZE) == 0;
+    }
+
+    /**
+     * Finds the best move for the player to move with the default budget.
+     *
+     * @param root The position
+     * @return The best move found (see Move)
+     */
+    public int solve(GameSnapshot root) {
+        return solve(root, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * Finds the best move for the player to move.
+     *
+     * @param root         The position; it is searched in place and restored
+     * @param budgetNanos  Time budget for the search
+     * @return The best move found (see Move)
+     */
+    public int solve(GameSnapshot root, long budgetNanos) {
+        generation = (generation + 1) & 0xFFFF;
+        rootPlayer = root.getCurrentPlayer();
+        deadline = System.nanoTime() + budgetNanos;
+        nodes = 0;
+
+        int[] rootMoves = moveBuffers[0];
+        int count = root.legalMoves(rootMoves);
+        int bestMove = rootMoves[0];
+        if (count == 1) {
+            return bestMove;
+        }
+
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            aborted = false;
+            int score = search(root, depth, 0, -WIN - 1, WIN + 1);
+            if (aborted) {
+                break;
+            }
+            int stored = storedMove(root.getHash());
+            if (stored >= 0) {
+                bestMove = stored;
+            }
+            lastScore = score;
+            if (Math.abs(score) >= WIN - MAX_DEPTH) {
+                break; // Proven result
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Gets the score of the last completed search, from the point of view
+     * of the player who was to move. Scores near +/-10000 are proven wins
+     * or losses.
+     *
+     * @return The score
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    private int search(GameSnapshot position, int depth, int ply, int alpha, int beta) {
+        if (position.isGameOver()) {
+            return position.getWinner() == rootPlayer ? WIN - ply : -WIN + ply;
+        }
+        if (depth == 0) {
+            return evaluate(position);
+        }
+        if ((++nodes & 1023) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        long hash = position.getHash();
+        int slot = (int) hash & TABLE_MASK;
+        int ttMove = -1;
+        if (tableKeys[slot] == hash && generationOf(tableData[slot]) == generation) {
+            long data = tableData[slot];
+            ttMove = moveOf(data);
+            if (depthOf(data) >= depth) {
+                int value = valueOf(data);
+                int bound = boundOf(data);
+                if (bound == EXACT || (bound == LOWER && value >= beta) || (bound == UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        int[] moves = moveBuffers[ply + 1];
+        int count = position.legalMoves(moves);
+        orderMoves(moves, count, ttMove);
+
+        boolean maximizing = position.getCurrentPlayer() == rootPlayer;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -WIN - 1 : WIN + 1;
+        int bestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            position.apply(moves[i]);
+            int score = search(position, depth - 1, ply + 1, alpha, beta);
+            position.undo();
+            if (aborted) {
+                return 0;
+            }
+
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = moves[i];
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, best);
+            } else {
+                beta = Math.min(beta, best);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? UPPER : best >= originalBeta ? LOWER : EXACT;
+        if (tableKeys[slot] != hash || generationOf(tableData[slot]) != generation ||
+                depthOf(tableData[slot]) <= depth) {
+            tableKeys[slot] = hash;
+            tableData[slot] = pack(best, depth, bound, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Scores a non-terminal leaf by how close the root player is to going
+     * out compared to the closest opponent.
+     */
+    private int evaluate(GameSnapshot position) {
+        int mine = position.getHandSize(rootPlayer);
+        int closest = Integer.MAX_VALUE;
+        for (int seat = 0; seat < position.getPlayerCount(); seat++) {
+            if (seat != rootPlayer) {
+                closest = Math.min(closest, position.getHandSize(seat));
+            }
+        }
+        return (closest - mine) * 100 + (position.getCurrentPlayer() == rootPlayer ? 50 : 0);
+    }
+
+    /**
+     * Puts the table move first and plays ahead of the draw.
+     */
+    private void orderMoves(int[] moves, int count, int ttMove) {
+        // legalMoves() lists the draw first; rotate it to the end
+        int draw = moves[0];
+        System.arraycopy(moves, 1, moves, 0, count - 1);
+        moves[count - 1] = draw;
+
+        if (ttMove >= 0) {
+            for (int i = 1; i < count; i++) {
+                if (moves[i] == ttMove) {
+                    moves[i] = moves[0];
+                    moves[0] = ttMove;
+                    break;
+                }
+            }
+        }
+    }
+
+    private int storedMove(long hash) {
+        int slot = (int) hash & TABLE_MASK;
+        if (tableKeys[slot] == hash && generationOf(tableData[slot]) == generation) {
+            return moveOf(tableData[slot]);
+        }
+        return -1;
+    }
+
+    private long pack(int value, int depth, int bound, int move) {
+        return ((long) (value & 0xFFFF))
+                | ((long) depth << 16)
+                | ((long) bound << 24)
+                | ((long) move << 32)
+                | ((long) generation << 48);
+    }
+
+    private static int valueOf(long data) {
+        return (short) (data & 0xFFFF);
+    }
+
+    private static int depthOf(long data) {
+        return (int) (data >>> 16) & 0xFF;
+    }
+
+    private static int boundOf(long data) {
+        return (int) (data >>> 24) & 0xFF;
+    }
+
+    private static int moveOf(long data) {
+        return (int) (data >>> 32) & 0xFFFF;
+    }
+
+    private static int generationOf(long data) {
+        return (int) (data >>> 48) & 0xFFFF;
+    }
+}
@@ -0,0 +1,143 @@
+package ai;
+
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Move;
+import model.Player;
+import model.rules.RuleSet;
+
+/**
+ * Strategy Pattern - Concrete Strategy
+ *
+ * Rule-of-thumb AI: scores every legal move with a weighted sum of simple
+ * features (card type, how much of the hand the resulting color keeps
+ * playable, pressure on the next player, holding wilds back) and plays
+ * the best one. The weights are a HeuristicWeights, tuned by self-play;
+ * all but the hand-dependent terms are read from their MoveScoreTable.
+ *
+ * Given an OpponentModel, the strategy also presses the next player by
+ * leaving colors they probably lack. Such a strategy plays only for the
+ * model's seat and keeps per-game state, so it must not be shared.
+ */
+public class HeuristicStrategy implements MoveStrategy {
+    private static final CardColor[] COLORS = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+    private static final long WILD_FACES = CardFace.mask(CardFace.WILD) | CardFace.mask(CardFace.WILD_DRAW_FOUR);
+
+    private final HeuristicWeights weights;
+    private final MoveScoreTable scoreTable;
+    private final OpponentModel opponentModel;
+    private final float[] lackBonus;
+
+    /**
+     * Constructor for HeuristicStrategy with the default weights.
+     */
+    public HeuristicStrategy() {
+        this(HeuristicWeights.defaults());
+    }
+
+    /**
+     * Constructor for HeuristicStrategy.
+     *
+     * @param weights The weights
+     */
+    public HeuristicStrategy(HeuristicWeights weights) {
+        this(weights, null);
+    }
+
+    /**
+     * Constructor for HeuristicStrategy with an opponent model.
+     *
+     * @param weights       The weights
+     * @param opponentModel Card counting for the seat played, or null
+     */
+    public HeuristicStrategy(HeuristicWeights weights, OpponentModel opponentModel) {
+        this.weights = weights;
+        this.scoreTable = weights.scoreTable();
+        this.opponentModel = opponentModel;
+        this.lackBonus = new float[COLORS.length];
+    }
+
+    @Override
+    public int chooseMove(GameState state, RuleSet rules) {
+        Player player = state.getCurrentPlayer();
+        int topKey = CardFace.topKey(state.getTopCard());
+        long playable = player.getFaceMask()
+                & (state.getPendingDrawCount() > 0 ? rules.stackMask(topKey) : rules.legalMask(topKey));
+
+        int bestMove = Move.DRAW;
+        float bestScore = weights.get(HeuristicWeights.DRAW);
+        if (playable == 0) {
+            return bestMove;
+        }
+
+        // Everything but the player's own hand comes from the score table
+        boolean twoPlayers = state.getPlayers().size() == 2;
+        boolean hasColoredPlay = (playable & ~WILD_FACES) != 0;
+        int row = MoveScoreTable.row(twoPlayers, hasColoredPlay, state.getNextPlayer().getHandSize(),
+                CardFace.colorOfTopKey(topKey));
+        int cardsLeft = player.getHandSize() - 1;
+
+        // Colors the next player probably cannot follow
+        boolean modeled = opponentModel != null && opponentModel.getSeat() == state.getCurrentPlayerIndex();
+        if (modeled) {
+            float threat = 1f / Math.max(state.getNextPlayer().getHandSize(), 1);
+            for (CardColor color : COLORS) {
+                lackBonus[color.ordinal()] = weights.get(HeuristicWeights.ATTACK) * threat
+                        * opponentModel.probabilityLacking(state.getNextPlayerIndex(), color);
+            }
+        }
+
+        for (long faces = playable; faces != 0; faces &= faces - 1) {
+            int face = Long.numberOfTrailingZeros(faces);
+            if (face < CardFace.WILD) {
+                CardColor color = CardFace.colorOf(face);
+                int move = Move.play(face, color);
+                float score = scoreTable.score(row, move) + colorShare(player, color, 1, cardsLeft)
+                        + (modeled ? lackBonus[color.ordinal()] : 0f);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = move;
+                }
+            } else {
+                for (CardColor color : COLORS) {
+                    int move = Move.play(face, color);
+                    float score = scoreTable.score(row, move) + colorShare(player, color, 0, cardsLeft)
+                            + (modeled ? lackBonus[color.ordinal()] : 0f);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestMove = move;
+                    }
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Scores the share of the hand left after a play that the color left
+     * active keeps playable.
+     *
+     * @param player    The player to move
+     * @param color     The color left active
+     * @param played    1 if the card played is of that color, 0 for a wild
+     * @param cardsLeft Hand size after the play
+     */
+    private float colorShare(Player player, CardColor color, int played, int cardsLeft) {
+        float share = cardsLeft > 0 ? (float) (player.countColor(color) - played) / cardsLeft : 1f;
+        return weights.get(HeuristicWeights.COLOR_SHARE) * share;
+    }
+
+    public HeuristicWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the opponent model the strategy plays with.
+     *
+     * @return The model, or null if it plays without one
+     */
+    public OpponentModel getOpponentModel() {
+        return opponentModel;
+    }
+}
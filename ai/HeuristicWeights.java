@@ -0,0 +1,139 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tunable parameters of the HeuristicStrategy.
+ *
+ * Weights are immutable, so one set can be shared by every table and
+ * thread. The self-play trainer searches over them as plain float vectors
+ * (see toArray() and the float[] constructor).
+ */
+public final class HeuristicWeights {
+    /** Base preference for playing each card type. */
+    public static final int NUMBER = 0;
+    public static final int SKIP = 1;
+    public static final int REVERSE = 2;
+    public static final int DRAW_TWO = 3;
+    public static final int WILD = 4;
+    public static final int WILD_DRAW_FOUR = 5;
+    /** Times the share of the remaining hand in the color left active. */
+    public static final int COLOR_SHARE = 6;
+    /** Times 1 / (next player's hand size) for cards that hurt the next player. */
+    public static final int ATTACK = 7;
+    /** Added when a wild is played although a colored card could be. */
+    public static final int SAVE_WILD = 8;
+    /** Times value / 9 for number cards, to shed high cards first. */
+    public static final int HIGH_NUMBER = 9;
+    /** Added when the active color stays the same. */
+    public static final int KEEP_COLOR = 10;
+    /** Score of drawing instead of playing. */
+    public static final int DRAW = 11;
+    public static final int COUNT = 12;
+
+    private static final String[] NAMES = {
+            "number", "skip", "reverse", "drawTwo", "wild", "wildDrawFour",
+            "colorShare", "attack", "saveWild", "highNumber", "keepColor", "draw"
+    };
+
+    private static final float[] DEFAULTS = {
+            0.0f, 0.3f, 0.2f, 0.5f, -0.5f, -0.4f,
+            2.0f, 1.5f, -1.0f, 0.3f, 0.2f, -3.0f
+    };
+
+    private static final String HEADER = "UNO_HEURISTIC_V1";
+
+    private static final HeuristicWeights DEFAULT_WEIGHTS = new HeuristicWeights(DEFAULTS);
+
+    private final float[] values;
+    private volatile MoveScoreTable scoreTable;
+
+    /**
+     * Constructor for HeuristicWeights.
+     *
+     * @param values One value per parameter (copied)
+     */
+    public HeuristicWeights(float[] values) {
+        if (values.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " weights, got " + values.length);
+        }
+        this.values = values.clone();
+    }
+
+    /**
+     * Gets the hand-tuned starting weights.
+     *
+     * @return The default weights
+     */
+    public static HeuristicWeights defaults() {
+        return DEFAULT_WEIGHTS;
+    }
+
+    /**
+     * Loads weights from a file. Parameters missing from the file keep
+     * their default.
+     *
+     * @param path The weights file
+     * @return The weights
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static HeuristicWeights load(Path path) throws IOException {
+        return new HeuristicWeights(WeightsFile.read(path, HEADER, NAMES, DEFAULTS));
+    }
+
+    /**
+     * Writes the weights to a file readable by load().
+     *
+     * @param path The weights file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        WeightsFile.write(path, HEADER, NAMES, values);
+    }
+
+    public float get(int parameter) {
+        return values[parameter];
+    }
+
+    /**
+     * Gets the precomputed move scores for these weights, built on first
+     * use and shared from then on.
+     *
+     * @return The score table
+     */
+    public MoveScoreTable scoreTable() {
+        MoveScoreTable table = scoreTable;
+        if (table == null) {
+            // A race builds two equal tables, which is harmless
+            table = new MoveScoreTable(this);
+            scoreTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Gets a copy of the parameter vector.
+     *
+     * @return One value per parameter
+     */
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    public static String name(int parameter) {
+        return NAMES[parameter];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("HeuristicWeights[");
+        for (int i = 0; i < COUNT; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(NAMES[i]).append('=').append(String.format("%.3f", values[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,131 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Linear model that scores candidate moves from a fixed feature vector.
+ *
+ * A move's score is the dot product of the weights with the move's
+ * features (see PolicyBatch for how they are extracted). Weights load from
+ * and save to a small text file, one "name:value" line per feature, so a
+ * trained model can be inspected and edited by hand.
+ *
+ * A policy is immutable and can be shared by any number of threads.
+ */
+public final class LinearPolicy {
+    public static final int F_DRAW = 0;
+    public static final int F_NUMBER = 1;
+    public static final int F_SKIP = 2;
+    public static final int F_REVERSE = 3;
+    public static final int F_DRAW_TWO = 4;
+    public static final int F_WILD = 5;
+    public static final int F_WILD_DRAW_FOUR = 6;
+    public static final int F_COLOR_SHARE = 7;
+    public static final int F_KEEPS_COLOR = 8;
+    public static final int F_HAND_AFTER = 9;
+    public static final int F_ATTACK = 10;
+    public static final int F_PENALTY_TAKEN = 11;
+    public static final int F_WILD_SPENT = 12;
+    public static final int F_OPPONENT_CLOSE = 13;
+    public static final int F_REVERSE_AWAY = 14;
+    public static final int NUM_FEATURES = 15;
+
+    private static final String[] FEATURE_NAMES = {
+            "draw", "number", "skip", "reverse", "drawTwo", "wild", "wildDrawFour",
+            "colorShare", "keepsColor", "handAfter", "attack", "penaltyTaken",
+            "wildSpent", "opponentClose", "reverseAway"
+    };
+
+    private static final float[] DEFAULT_WEIGHTS = {
+            -2.0f, 0.0f, 0.2f, 0.1f, 0.4f, -0.3f, -0.2f,
+            1.0f, 0.1f, -1.0f, 1.5f, -0.5f,
+            -0.8f, 0.0f, 0.6f
+    };
+
+    private static final String HEADER = "UNO_POLICY_V1";
+
+    private final float[] weights;
+
+    /**
+     * Constructor for LinearPolicy.
+     *
+     * @param weights One weight per feature (copied)
+     */
+    public LinearPolicy(float[] weights) {
+        if (weights.length != NUM_FEATURES) {
+            throw new IllegalArgumentException(
+                    "Expected " + NUM_FEATURES + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Gets a policy with hand-tuned starting weights.
+     *
+     * @return The default policy
+     */
+    public static LinearPolicy defaults() {
+        return new LinearPolicy(DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Loads a policy from a weights file. Features missing from the file
+     * keep their default weight.
+     *
+     * @param path The weights file
+     * @return The policy
+     * @throws IOException if the file cannot be read or is not a weights file
+     */
+    public static LinearPolicy load(Path path) throws IOException {
+        return new LinearPolicy(WeightsFile.read(path, HEADER, FEATURE_NAMES, DEFAULT_WEIGHTS));
+    }
+
+    /**
+     * Writes the weights to a file readable by load().
+     *
+     * @param path The weights file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        WeightsFile.write(path, HEADER, FEATURE_NAMES, weights);
+    }
+
+    /**
+     * Scores a batch of candidates stored feature-major: feature f of row r
+     * is at features[f * stride + r]. Each feature is one pass over the
+     * rows, a loop the JIT turns into SIMD multiply-adds.
+     *
+     * @param features The feature columns
+     * @param stride   Distance between columns (at least rows)
+     * @param rows     Number of candidates
+     * @param scores   Output, one score per candidate
+     */
+    public void scoreBatch(float[] features, int stride, int rows, float[] scores) {
+        Arrays.fill(scores, 0, rows, 0f);
+        for (int f = 0; f < NUM_FEATURES; f++) {
+            float w = weights[f];
+            if (w == 0f) {
+                continue;
+            }
+            int base = f * stride;
+            for (int r = 0; r < rows; r++) {
+                scores[r] += w * features[base + r];
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of the weights.
+     *
+     * @return One weight per feature
+     */
+    public float[] getWeights() {
+        return weights.clone();
+    }
+
+    public static String featureName(int feature) {
+        return FEATURE_NAMES[feature];
+    }
+}
@@ -0,0 +1,38 @@
+package ai;
+
+import model.GameState;
+import model.rules.RuleSet;
+
+/**
+ * Strategy Pattern - Concrete Strategy
+ *
+ * Plays the move a LinearPolicy scores highest. Each thread scores in its
+ * own PolicyBatch, so one strategy can serve many tables at once. To score
+ * many tables in a single pass, fill a PolicyBatch directly instead.
+ */
+public class LinearPolicyStrategy implements MoveStrategy {
+    private final LinearPolicy policy;
+    private final ThreadLocal<PolicyBatch> batches = ThreadLocal.withInitial(PolicyBatch::new);
+
+    /**
+     * Constructor for LinearPolicyStrategy.
+     *
+     * @param policy The policy
+     */
+    public LinearPolicyStrategy(LinearPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public int chooseMove(GameState state, RuleSet rules) {
+        PolicyBatch batch = batches.get();
+        batch.clear();
+        int table = batch.addTable(state, rules);
+        batch.evaluate(policy);
+        return batch.bestMove(table);
+    }
+
+    public LinearPolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,121 @@
+package ai;
+
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Move;
+import java.util.Arrays;
+
+/**
+ * Precomputed move scores of the HeuristicStrategy.
+ *
+ * Every part of a move's score that does not depend on the mover's own
+ * hand is looked up rather than computed. A row stands for a situation:
+ * two players or more, whether a colored card could be played instead of
+ * a wild, the next player's hand size and the active color. It holds the
+ * score of every move (see Move) from the card type, the pressure on the
+ * next player and keeping the active color, so scoring a candidate is a
+ * read of its row plus the share of the hand its color leaves playable.
+ *
+ * Tables are immutable and built once per HeuristicWeights (see
+ * HeuristicWeights.scoreTable()), then shared by every strategy, table
+ * and thread playing with those weights.
+ */
+public final class MoveScoreTable {
+    /** Next-player hand sizes from HAND_SIZE_BUCKETS - 1 up share a row. */
+    public static final int HAND_SIZE_BUCKETS = GameState.HAND_SIZE_CAP + 1;
+
+    private static final CardColor[] COLORS = CardColor.values();
+    private static final int ROW_COUNT = 2 * 2 * HAND_SIZE_BUCKETS * COLORS.length;
+
+    private final float[] scores;
+
+    /**
+     * Builds the table for a set of weights.
+     *
+     * @param weights The weights
+     */
+    MoveScoreTable(HeuristicWeights weights) {
+        this.scores = new float[ROW_COUNT * Move.COUNT];
+        Arrays.fill(scores, Float.NEGATIVE_INFINITY); // Moves that cannot exist
+
+        for (int twoPlayers = 0; twoPlayers < 2; twoPlayers++) {
+            for (int coloredPlay = 0; coloredPlay < 2; coloredPlay++) {
+                for (int handSize = 0; handSize < HAND_SIZE_BUCKETS; handSize++) {
+                    for (CardColor activeColor : COLORS) {
+                        int row = row(twoPlayers == 1, coloredPlay == 1, handSize, activeColor);
+                        fillRow(weights, row, twoPlayers == 1, coloredPlay == 1, handSize, activeColor);
+                    }
+                }
+            }
+        }
+    }
+
+    private void fillRow(HeuristicWeights weights, int row, boolean twoPlayers, boolean coloredPlay,
+            int nextHandSize, CardColor activeColor) {
+        float threat = 1f / Math.max(nextHandSize, 1);
+        float attack = weights.get(HeuristicWeights.ATTACK) * threat;
+        float saveWild = coloredPlay ? weights.get(HeuristicWeights.SAVE_WILD) : 0f;
+        scores[row + Move.DRAW] = weights.get(HeuristicWeights.DRAW);
+
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            float base;
+            switch (CardFace.typeOf(face)) {
+                case NUMBER:
+                    base = weights.get(HeuristicWeights.NUMBER)
+                            + weights.get(HeuristicWeights.HIGH_NUMBER) * CardFace.valueOf(face) / 9f;
+                    break;
+                case SKIP:
+                    base = weights.get(HeuristicWeights.SKIP) + attack;
+                    break;
+                case REVERSE:
+                    base = weights.get(HeuristicWeights.REVERSE) + (twoPlayers ? attack : 0f);
+                    break;
+                case DRAW_TWO:
+                    base = weights.get(HeuristicWeights.DRAW_TWO) + attack;
+                    break;
+                case WILD:
+                    base = weights.get(HeuristicWeights.WILD) + saveWild;
+                    break;
+                default:
+                    base = weights.get(HeuristicWeights.WILD_DRAW_FOUR) + attack + saveWild;
+                    break;
+            }
+
+            for (CardColor color : COLORS) {
+                boolean exists = face < CardFace.WILD ? color == CardFace.colorOf(face) : color != CardColor.WILD;
+                if (exists) {
+                    float keepColor = color == activeColor ? weights.get(HeuristicWeights.KEEP_COLOR) : 0f;
+                    scores[row + Move.play(face, color)] = base + keepColor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the row for a situation.
+     *
+     * @param twoPlayers   Whether the table has two players
+     * @param coloredPlay  Whether a colored card is among the legal plays
+     * @param nextHandSize The next player's hand size
+     * @param activeColor  The color active before the move
+     * @return Offset of the row, to pass to score()
+     */
+    public static int row(boolean twoPlayers, boolean coloredPlay, int nextHandSize, CardColor activeColor) {
+        int row = (twoPlayers ? 2 : 0) + (coloredPlay ? 1 : 0);
+        row = row * HAND_SIZE_BUCKETS + Math.min(nextHandSize, HAND_SIZE_BUCKETS - 1);
+        row = row * COLORS.length + activeColor.ordinal();
+        return row * Move.COUNT;
+    }
+
+    /**
+     * Gets the hand-independent score of a move.
+     *
+     * @param row  The situation, from row()
+     * @param move The move (see Move)
+     * @return The score
+     */
+    public float score(int row, int move) {
+        return scores[row + move];
+    }
+}
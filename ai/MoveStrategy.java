@@ -0,0 +1,22 @@
+package ai;
+
+import model.GameState;
+import model.rules.RuleSet;
+
+/**
+ * Strategy Pattern - Strategy Interface
+ *
+ * Defines the contract for the ways an AI player can pick its move.
+ * Implementations may be shared by several tables and threads, so they
+ * must not keep per-game state unless they say otherwise.
+ */
+public interface MoveStrategy {
+    /**
+     * Chooses a move for the player whose turn it is.
+     *
+     * @param state The current game state (not modified)
+     * @param rules The rules of the table
+     * @return A legal move (see model.Move)
+     */
+    int chooseMove(GameState state, RuleSet rules);
+}
@@ -0,0 +1,393 @@
+package ai;
+
+import controller.GameController;
+import model.Card;
+import model.CardColor;
+import model.CardFace;
+import model.Deck;
+import model.GameState;
+import model.Player;
+import model.rules.RuleSet;
+import observer.GameEvent;
+import observer.GameEventListener;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Observer Pattern - Observer
+ *
+ * Card counting for one seat: infers what the opponents hold from what
+ * that seat can see and from how the opponents play.
+ *
+ * The cards the seat has not seen (the draw pile and the opponents'
+ * hands) are counted face by face. Each opponent's hand is split into
+ * cards it has held since the last evidence about it and fresh cards
+ * drawn since, which are just as likely as any unseen card. The older
+ * cards are weighted per face by the evidence:
+ * - drawing instead of playing makes every face playable on the top card
+ *   unlikely (DRAW_LIKELIHOOD), as does taking a penalty instead of
+ *   stacking on it;
+ * - choosing a color for a wild makes that color more likely;
+ * - under forced play, passing after a draw shows the cards drawn were not
+ *   playable, and drawing until playable shows all but the last were not.
+ * Hand exchanges from the Seven and Zero house rules forget the evidence.
+ *
+ * Every event is a few array updates, none of which depend on hand or
+ * pile sizes; only a reshuffle recounts the discard pile. Queries and
+ * samples go over the 54 faces once per card.
+ *
+ * Events from a command batch arrive once the batch is applied. The model
+ * reads each one through the hand size, top card and discard pile size
+ * its GameEvent recorded, never through the live table, so a batch gives
+ * the same evidence as its commands sent one at a time.
+ * A model belongs to one table and one seat and is not thread-safe; add it
+ * to the table with addEventListener().
+ */
+public class OpponentModel implements GameEventListener {
+    /** Chance that a player holding a playable card draws anyway. */
+    public static final float DRAW_LIKELIHOOD = 0.1f;
+    /** How much more likely the color a player picks for a wild is. */
+    public static final float WILD_COLOR_LIKELIHOOD = 2f;
+
+    // Keeps repeated evidence from underflowing the weights
+    private static final float MIN_WEIGHT = 1e-4f;
+    private static final int NO_SEAT = -1;
+
+    private final GameController controller;
+    private final Deck deck;
+    private final RuleSet rules;
+    private final int seat;
+
+    private final int[] outsideDiscard;   // Per face: copies not in the discard pile
+    private final float[] weights;        // [opponent * COUNT + face]: weight of older cards
+    private final int[] fresh;            // Per seat: cards drawn since the last evidence
+    private int discardSize;
+    private int wildSeat = NO_SEAT;       // Seat whose wild is waiting for a color
+    private int wildFace;
+    private int drawSeat = NO_SEAT;       // Seat that drew last this turn
+    private int drawCount;
+    private final int[] unseenScratch;
+    private final float[] expectedScratch;
+
+    /**
+     * Constructor for OpponentModel. The model starts from the table as
+     * it is, with no evidence about any hand.
+     *
+     * @param controller The table
+     * @param seat       The seat whose point of view is modeled
+     */
+    public OpponentModel(GameController controller, int seat) {
+        int players = controller.getGameState().getPlayers().size();
+        if (seat < 0 || seat >= players) {
+            throw new IllegalArgumentException("Invalid seat: " + seat);
+        }
+        this.controller = controller;
+        this.deck = controller.getDeck();
+        this.rules = controller.getRuleSet();
+        this.seat = seat;
+        this.outsideDiscard = new int[CardFace.COUNT];
+        this.weights = new float[players * CardFace.COUNT];
+        this.fresh = new int[players];
+        this.unseenScratch = new int[CardFace.COUNT];
+        this.expectedScratch = new float[CardFace.COUNT];
+        reset();
+    }
+
+    /**
+     * Forgets all evidence and recounts the discard pile.
+     */
+    public void reset() {
+        countDiscardPile(deck.getDiscardPileSize());
+        forgetHands();
+        wildSeat = NO_SEAT;
+        drawSeat = NO_SEAT;
+    }
+
+    /**
+     * Counts the discard pile as it was when it held size cards. Between
+     * reshuffles the pile only grows, so those are its first size cards
+     * even when the live pile has grown since.
+     */
+    private void countDiscardPile(int size) {
+        int decks = deck.getDeckCount();
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            outsideDiscard[face] = CardFace.copiesPerDeck(face) * decks;
+        }
+        List<Card> pile = deck.discardPileView();
+        int counted = Math.min(size, pile.size()); // Less only if reshuffled again since
+        for (int i = 0; i < counted; i++) {
+            outsideDiscard[CardFace.of(pile.get(i))]--;
+        }
+        discardSize = size;
+    }
+
+    private void forgetHands() {
+        Arrays.fill(weights, 1f);
+        Arrays.fill(fresh, 0);
+    }
+
+    @Override
+    public void onGameStarted(GameState state) {
+        reset();
+    }
+
+    @Override
+    public void onCardPlayed(GameEvent event, Card card) {
+        int player = event.getSeat();
+        settleWildColor(event.getTopKey());
+        wildSeat = NO_SEAT; // Any wild waiting for a color is covered now
+        int face = CardFace.of(card);
+        outsideDiscard[face]--;
+        discardSize++;
+        checkDiscardPile(event.getDiscardSize());
+        drawSeat = NO_SEAT;
+
+        if (player != seat) {
+            // A card the evidence said was unlikely was most likely drawn since
+            if (fresh[player] > 0 && weights[player * CardFace.COUNT + face] < 1f) {
+                fresh[player]--;
+            }
+            fresh[player] = Math.min(fresh[player], event.getHandSize());
+            if (face >= CardFace.WILD) {
+                wildSeat = player;
+                wildFace = face;
+            }
+        }
+
+        if (rules.transition(face) != 0) {
+            forgetHands();
+        }
+    }
+
+    @Override
+    public void onCardsDrawn(GameEvent event, int count, boolean penalty) {
+        int player = event.getSeat();
+        settleWildColor(event.getTopKey());
+        checkDiscardPile(event.getDiscardSize());
+        if (player == seat || count == 0) {
+            return;
+        }
+
+        int topKey = event.getTopKey();
+        long declined = penalty ? rules.stackMask(topKey) : rules.legalMask(topKey);
+        fresh[player] = 0; // Every card held now is covered by this evidence
+        scale(player, declined, DRAW_LIKELIHOOD);
+
+        // Drawing until playable: all but the last card drawn were not playable
+        int unconstrained = !penalty && rules.drawsUntilPlayable() ? 1 : count;
+        fresh[player] = unconstrained;
+        drawSeat = penalty ? NO_SEAT : player;
+        drawCount = unconstrained;
+    }
+
+    @Override
+    public void onTurnPassed(GameEvent event) {
+        int player = event.getSeat();
+        settleWildColor(event.getTopKey());
+        if (player == drawSeat && player != seat && rules.forcesPlay()) {
+            // A playable card drawn would have had to be played
+            fresh[player] = Math.max(0, fresh[player] - drawCount);
+        }
+        drawSeat = NO_SEAT;
+    }
+
+    /**
+     * Recounts the discard pile if it was not the size the events add up
+     * to, which happens only when it was shuffled back into the draw
+     * pile. Otherwise the incremental counts stand.
+     *
+     * @param size The size of the pile the event recorded
+     */
+    private void checkDiscardPile(int size) {
+        if (size != discardSize) {
+            countDiscardPile(size);
+        }
+    }
+
+    /**
+     * Applies a wild's color once it has been chosen.
+     *
+     * @param topKey The top card as the event or query sees it
+     */
+    private void settleWildColor(int topKey) {
+        if (wildSeat == NO_SEAT) {
+            return;
+        }
+        CardColor color = CardFace.colorOfTopKey(topKey);
+        if (CardFace.faceOfTopKey(topKey) != wildFace) {
+            wildSeat = NO_SEAT; // Covered before its color was seen
+        } else if (color != CardColor.WILD) {
+            int first = color.ordinal() * CardFace.RANKS_PER_COLOR;
+            long colorFaces = ((1L << CardFace.RANKS_PER_COLOR) - 1) << first;
+            scale(wildSeat, colorFaces, WILD_COLOR_LIKELIHOOD);
+            wildSeat = NO_SEAT;
+        }
+    }
+
+    private void scale(int player, long faces, float factor) {
+        int base = player * CardFace.COUNT;
+        for (long rest = faces; rest != 0; rest &= rest - 1) {
+            int index = base + Long.numberOfTrailingZeros(rest);
+            weights[index] = Math.min(Math.max(weights[index] * factor, MIN_WEIGHT), 1f / MIN_WEIGHT);
+        }
+    }
+
+    /**
+     * Counts the unseen copies of every face: neither in the discard pile
+     * nor in the modeled seat's hand.
+     *
+     * @param unseen Receives COUNT counts
+     * @return Total unseen cards
+     */
+    public int countUnseen(int[] unseen) {
+        settleWildColor(CardFace.topKey(controller.getGameState().getTopCard()));
+        Player self = controller.getGameState().getPlayers().get(seat);
+        int total = 0;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            unseen[face] = Math.max(0, outsideDiscard[face] - self.countFace(face));
+            total += unseen[face];
+        }
+        return total;
+    }
+
+    /**
+     * Estimates how many cards of each face an opponent holds.
+     *
+     * @param player   The opponent's seat
+     * @param expected Receives COUNT expected counts
+     */
+    public void expectedCounts(int player, float[] expected) {
+        int[] unseen = unseenScratch;
+        int total = countUnseen(unseen);
+        int size = handSize(controller.getGameState(), player);
+        if (player == seat || total == 0) {
+            Player self = controller.getGameState().getPlayers().get(player);
+            for (int face = 0; face < CardFace.COUNT; face++) {
+                expected[face] = player == seat ? self.countFace(face) : 0f;
+            }
+            return;
+        }
+
+        int base = player * CardFace.COUNT;
+        float weighted = 0f;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            weighted += unseen[face] * weights[base + face];
+        }
+        int newer = Math.min(fresh[player], size);
+        int older = size - newer;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            expected[face] = newer * (float) unseen[face] / total
+                    + (weighted > 0f ? older * unseen[face] * weights[base + face] / weighted : 0f);
+        }
+    }
+
+    /**
+     * Estimates the chance that an opponent holds no card of a color,
+     * wilds aside.
+     *
+     * @param player The opponent's seat
+     * @param color  A non-wild color
+     * @return Probability in [0, 1]
+     */
+    public float probabilityLacking(int player, CardColor color) {
+        expectedCounts(player, expectedScratch);
+        return lackingFromExpected(expectedScratch, color);
+    }
+
+    /**
+     * Turns expected face counts into the chance of holding none of a
+     * color, treating the cards of a color as independent draws.
+     */
+    static float lackingFromExpected(float[] expected, CardColor color) {
+        int first = color.ordinal() * CardFace.RANKS_PER_COLOR;
+        float count = 0f;
+        for (int face = first; face < first + CardFace.RANKS_PER_COLOR; face++) {
+            count += expected[face];
+        }
+        return (float) Math.exp(-count);
+    }
+
+    /**
+     * Deals every opponent a hand of its actual size from the unseen
+     * cards, following the model: fresh cards uniformly, older cards by
+     * their weights. For determinizing searches.
+     *
+     * @param random The random generator
+     * @param hands  Receives, per seat, the faces dealt to that seat; the
+     *               modeled seat gets its real hand. Arrays are reused
+     *               when long enough, and only the first hand-size
+     *               entries are meaningful.
+     */
+    public void sampleHands(Random random, int[][] hands) {
+        int[] unseen = unseenScratch;
+        int total = countUnseen(unseen);
+        List<Player> players = controller.getGameState().getPlayers();
+
+        for (int player = 0; player < players.size(); player++) {
+            int size = players.get(player).getHandSize();
+            if (hands[player] == null || hands[player].length < size) {
+                hands[player] = new int[size];
+            }
+            if (player == seat) {
+                for (int i = 0; i < size; i++) {
+                    hands[player][i] = players.get(player).getCardFace(i);
+                }
+                continue;
+            }
+
+            int newer = Math.min(fresh[player], size);
+            int base = player * CardFace.COUNT;
+            for (int i = 0; i < size && total > 0; i++) {
+                int face = i < newer ? pickUniform(random, unseen, total) : pickWeighted(random, unseen, base);
+                hands[player][i] = face;
+                unseen[face]--;
+                total--;
+            }
+        }
+    }
+
+    private static int pickUniform(Random random, int[] unseen, int total) {
+        int target = random.nextInt(total);
+        int face = 0;
+        while (target >= unseen[face]) {
+            target -= unseen[face];
+            face++;
+        }
+        return face;
+    }
+
+    private int pickWeighted(Random random, int[] unseen, int base) {
+        float total = 0f;
+        int last = 0;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            if (unseen[face] > 0) {
+                total += unseen[face] * weights[base + face];
+                last = face;
+            }
+        }
+        float target = random.nextFloat() * total;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            if (unseen[face] > 0) {
+                target -= unseen[face] * weights[base + face];
+                if (target < 0f) {
+                    return face;
+                }
+            }
+        }
+        return last; // Rounding
+    }
+
+    private static int handSize(GameState state, int player) {
+        return state.getPlayers().get(player).getHandSize();
+    }
+
+    /**
+     * Gets the seat whose point of view is modeled.
+     *
+     * @return The seat index
+     */
+    public int getSeat() {
+        return seat;
+    }
+}
@@ -0,0 +1,203 @@
+package ai;
+
+import model.CardColor;
+import model.CardFace;
+import model.CardType;
+import model.GameState;
+import model.Move;
+import model.Player;
+import model.rules.RuleSet;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Feature matrix for the candidate moves of one or more tables, scored in
+ * a single pass by a LinearPolicy.
+ *
+ * Each table added contributes one row per legal move: one per playable
+ * face, four per playable wild (one per color), and a draw. Features are
+ * stored feature-major so scoring runs down contiguous columns, and the
+ * arrays are reused between batches, so a warmed-up batch allocates
+ * nothing.
+ *
+ * A batch is not thread-safe; give each worker its own.
+ */
+public class PolicyBatch {
+    private static final CardColor[] COLORS = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+    private static final long WILD_FACES = CardFace.mask(CardFace.WILD) | CardFace.mask(CardFace.WILD_DRAW_FOUR);
+    private static final int[] TYPE_FEATURES = {
+            LinearPolicy.F_NUMBER, LinearPolicy.F_SKIP, LinearPolicy.F_REVERSE,
+            LinearPolicy.F_DRAW_TWO, LinearPolicy.F_WILD, LinearPolicy.F_WILD_DRAW_FOUR
+    };
+
+    private int capacity;
+    private float[] features;
+    private float[] scores;
+    private int[] moves;
+    private int rows;
+
+    private int[] tableStarts;
+    private int tables;
+
+    /**
+     * Constructor for PolicyBatch.
+     */
+    public PolicyBatch() {
+        this(64, 1);
+    }
+
+    /**
+     * Constructor for PolicyBatch sized for a number of tables.
+     *
+     * @param rowCapacity   Initial number of candidate rows
+     * @param tableCapacity Initial number of tables
+     */
+    public PolicyBatch(int rowCapacity, int tableCapacity) {
+        this.capacity = Math.max(rowCapacity, 1);
+        this.features = new float[LinearPolicy.NUM_FEATURES * capacity];
+        this.scores = new float[capacity];
+        this.moves = new int[capacity];
+        this.tableStarts = new int[Math.max(tableCapacity, 1) + 1];
+    }
+
+    /**
+     * Empties the batch, keeping its arrays.
+     */
+    public void clear() {
+        rows = 0;
+        tables = 0;
+    }
+
+    /**
+     * Adds the legal moves of the player to move at a table.
+     *
+     * @param state The game state
+     * @param rules The rules of the table
+     * @return Index of the table within the batch
+     */
+    public int addTable(GameState state, RuleSet rules) {
+        List<Player> players = state.getPlayers();
+        Player player = state.getCurrentPlayer();
+        int handSize = player.getHandSize();
+        int topKey = CardFace.topKey(state.getTopCard());
+        CardColor activeColor = CardFace.colorOfTopKey(topKey);
+        int pending = state.getPendingDrawCount();
+        long playable = player.getFaceMask() & (pending > 0 ? rules.stackMask(topKey) : rules.legalMask(topKey));
+        boolean hasColoredPlay = (playable & ~WILD_FACES) != 0;
+
+        int nextSize = players.get(state.getNextPlayerIndex()).getHandSize();
+        int previousSize = players.get(state.getPreviousPlayerIndex()).getHandSize();
+        int closest = state.getSmallestHandSize(state.getCurrentPlayerIndex());
+        float opponentClose = 1f / Math.max(closest, 1);
+        float threat = 1f / Math.max(nextSize, 1);
+        float handAfterPlay = (handSize - 1) / 10f;
+
+        if (tables + 1 >= tableStarts.length) {
+            tableStarts = Arrays.copyOf(tableStarts, tableStarts.length * 2);
+        }
+        tableStarts[tables] = rows;
+
+        for (long faces = playable; faces != 0; faces &= faces - 1) {
+            int face = Long.numberOfTrailingZeros(faces);
+            CardType type = CardFace.typeOf(face);
+            int colorCount = face < CardFace.WILD ? 1 : COLORS.length;
+
+            for (int c = 0; c < colorCount; c++) {
+                CardColor color = face < CardFace.WILD ? CardFace.colorOf(face) : COLORS[c];
+                int row = newRow(Move.play(face, color));
+
+                int sameColorLeft = player.countColor(color) - (face < CardFace.WILD ? 1 : 0);
+                set(TYPE_FEATURES[type.ordinal()], row, 1f);
+                set(LinearPolicy.F_COLOR_SHARE, row, handSize > 1 ? (float) sameColorLeft / (handSize - 1) : 1f);
+                set(LinearPolicy.F_KEEPS_COLOR, row, color == activeColor ? 1f : 0f);
+                set(LinearPolicy.F_HAND_AFTER, row, handAfterPlay);
+                set(LinearPolicy.F_OPPONENT_CLOSE, row, opponentClose);
+                if (type == CardType.SKIP || type == CardType.DRAW_TWO || type == CardType.WILD_DRAW_FOUR
+                        || (type == CardType.REVERSE && players.size() == 2)) {
+                    set(LinearPolicy.F_ATTACK, row, threat);
+                }
+                if (face >= CardFace.WILD && hasColoredPlay) {
+                    set(LinearPolicy.F_WILD_SPENT, row, 1f);
+                }
+                if (type == CardType.REVERSE && players.size() > 2 && nextSize < previousSize) {
+                    set(LinearPolicy.F_REVERSE_AWAY, row, 1f);
+                }
+            }
+        }
+
+        int draw = newRow(Move.DRAW);
+        set(LinearPolicy.F_DRAW, draw, 1f);
+        set(LinearPolicy.F_HAND_AFTER, draw, (handSize + Math.max(pending, 1)) / 10f);
+        set(LinearPolicy.F_PENALTY_TAKEN, draw, pending / 4f);
+
+        tableStarts[++tables] = rows;
+        return tables - 1;
+    }
+
+    /**
+     * Scores every row of the batch.
+     *
+     * @param policy The policy
+     */
+    public void evaluate(LinearPolicy policy) {
+        policy.scoreBatch(features, capacity, rows, scores);
+    }
+
+    /**
+     * Gets the highest-scoring move of a table after evaluate().
+     * Ties go to the move added first, so plays win over the draw.
+     *
+     * @param table Index returned by addTable()
+     * @return The move (see model.Move)
+     */
+    public int bestMove(int table) {
+        if (table < 0 || table >= tables) {
+            throw new IllegalArgumentException("Invalid table: " + table);
+        }
+        int best = tableStarts[table];
+        for (int row = best + 1; row < tableStarts[table + 1]; row++) {
+            if (scores[row] > scores[best]) {
+                best = row;
+            }
+        }
+        return moves[best];
+    }
+
+    public int getTableCount() {
+        return tables;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    private int newRow(int move) {
+        if (rows == capacity) {
+            grow();
+        }
+        for (int f = 0; f < LinearPolicy.NUM_FEATURES; f++) {
+            features[f * capacity + rows] = 0f;
+        }
+        moves[rows] = move;
+        return rows++;
+    }
+
+    private void set(int feature, int row, float value) {
+        features[feature * capacity + row] = value;
+    }
+
+    /**
+     * Doubles the row capacity, moving every feature column.
+     */
+    private void grow() {
+        int newCapacity = capacity * 2;
+        float[] newFeatures = new float[LinearPolicy.NUM_FEATURES * newCapacity];
+        for (int f = 0; f < LinearPolicy.NUM_FEATURES; f++) {
+            System.arraycopy(features, f * capacity, newFeatures, f * newCapacity, rows);
+        }
+        features = newFeatures;
+        scores = Arrays.copyOf(scores, newCapacity);
+        moves = Arrays.copyOf(moves, newCapacity);
+        capacity = newCapacity;
+    }
+}
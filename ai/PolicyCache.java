@@ -0,0 +1,163 @@
+package ai;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of AI decisions keyed by PositionKey.
+ *
+ * Lookups go straight to a ConcurrentHashMap and only set the entry's
+ * reference bit, so readers never block. When the cache is full an insert
+ * runs the CLOCK algorithm over a ring of slots: the hand clears reference
+ * bits until it reaches an entry nobody read since its last pass, and that
+ * entry is evicted. Inserts take a single lock; they are rare compared to
+ * hits once the cache is warm.
+ *
+ * One cache can be shared by any number of tables and tournament workers,
+ * as long as they all cache the same kind of decision.
+ */
+public class PolicyCache {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final int capacity;
+    private final ConcurrentHashMap<PositionKey, Entry> map;
+    private final Entry[] ring;
+    private final Object evictionLock = new Object();
+    private int hand;
+    private int filled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry {
+        final PositionKey key;
+        final int move;
+        volatile boolean referenced;
+
+        Entry(PositionKey key, int move) {
+            this.key = key;
+            this.move = move;
+        }
+    }
+
+    /**
+     * Constructor for PolicyCache with the default capacity.
+     */
+    public PolicyCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for PolicyCache.
+     *
+     * @param capacity Maximum number of cached decisions
+     */
+    public PolicyCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        this.ring = new Entry[capacity];
+    }
+
+    /**
+     * Looks up a cached decision and records a hit or miss.
+     *
+     * @param key The position key
+     * @return The cached move, or -1 if there is none
+     */
+    public int get(PositionKey key) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return -1;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.move;
+    }
+
+    /**
+     * Caches a decision, evicting another one if the cache is full.
+     * If another thread cached the same key first, its entry is kept.
+     *
+     * @param key  The position key
+     * @param move The move (see model.Move)
+     */
+    public void put(PositionKey key, int move) {
+        synchronized (evictionLock) {
+            if (map.containsKey(key)) {
+                return;
+            }
+            Entry entry = new Entry(key, move);
+            if (filled < capacity) {
+                ring[filled++] = entry;
+            } else {
+                // CLOCK: give referenced entries a second chance
+                while (ring[hand].referenced) {
+                    ring[hand].referenced = false;
+                    hand = (hand + 1) % capacity;
+                }
+                map.remove(ring[hand].key);
+                evictions.increment();
+                ring[hand] = entry;
+                hand = (hand + 1) % capacity;
+            }
+            map.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes every cached decision. Statistics are kept.
+     */
+    public void clear() {
+        synchronized (evictionLock) {
+            map.clear();
+            Arrays.fill(ring, null);
+            filled = 0;
+            hand = 0;
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     *
+     * @return Hit rate in [0, 1], or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PolicyCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%]",
+                size(), capacity, getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+    }
+}
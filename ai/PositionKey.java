@@ -0,0 +1,97 @@
+package ai;
+
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Player;
+import model.rules.RuleSet;
+
+/**
+ * Abstraction of a position as seen by the player to move, used as a
+ * decision cache key.
+ *
+ * Two positions share a key when the player can play exactly the same
+ * faces, the top card and pending penalty are the same, and the hand
+ * size, the hand's color histogram and the smallest opponent hand fall
+ * in the same coarse buckets. Because the playable faces are part of the
+ * key, a move cached for one position is always legal in every position
+ * with the same key.
+ */
+public final class PositionKey {
+    // Hand sizes 0-9+ collapse to 0, 1, 2, 3, 4-5, 6-8, 9+
+    private static final int[] SIZE_BUCKETS = { 0, 1, 2, 3, 4, 4, 5, 5, 5, 6 };
+    private static final int MAX_COLOR_COUNT = 3;
+
+    private final long playable;
+    private final long features;
+
+    private PositionKey(long playable, long features) {
+        this.playable = playable;
+        this.features = features;
+    }
+
+    /**
+     * Builds the key of the current player's position.
+     *
+     * @param state The game state
+     * @param rules The rules of the table
+     * @return The key
+     */
+    public static PositionKey of(GameState state, RuleSet rules) {
+        Player player = state.getCurrentPlayer();
+        int topKey = CardFace.topKey(state.getTopCard());
+        boolean pending = state.getPendingDrawCount() > 0;
+        long legal = pending ? rules.stackMask(topKey) : rules.legalMask(topKey);
+
+        long features = topKey;                                   // 6 bits
+        features = features << 1 | (pending ? 1 : 0);
+        features = features << 3 | sizeBucket(player.getHandSize());
+        for (CardColor color : CardColor.values()) {              // 4 x 2 bits
+            if (color != CardColor.WILD) {
+                features = features << 2 | Math.min(player.countColor(color), MAX_COLOR_COUNT);
+            }
+        }
+
+        // The opponent closest to going out
+        int closest = state.getSmallestHandSize(state.getCurrentPlayerIndex());
+        features = features << 3 | sizeBucket(closest);
+
+        return new PositionKey(player.getFaceMask() & legal, features);
+    }
+
+    private static int sizeBucket(int size) {
+        return SIZE_BUCKETS[Math.min(size, SIZE_BUCKETS.length - 1)];
+    }
+
+    /**
+     * Gets the faces the player can legally play in this position.
+     *
+     * @return Mask of faces (see CardFace)
+     */
+    public long getPlayableMask() {
+        return playable;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PositionKey)) {
+            return false;
+        }
+        PositionKey other = (PositionKey) o;
+        return playable == other.playable && features == other.features;
+    }
+
+    @Override
+    public int hashCode() {
+        long h = playable * 0x9E3779B97F4A7C15L ^ features;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PositionKey[%014x/%015x]", playable, features);
+    }
+}
@@ -0,0 +1,52 @@
+package ai;
+
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Move;
+import model.Player;
+import model.rules.RuleSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Strategy Pattern - Concrete Strategy
+ *
+ * Plays a uniformly random card among the legal ones, draws when there
+ * is none, and picks a random color for wilds.
+ */
+public class RandomStrategy implements MoveStrategy {
+    private static final CardColor[] COLORS = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+
+    private final Random random;
+
+    /**
+     * Constructor for RandomStrategy.
+     */
+    public RandomStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructor for RandomStrategy with a given source of randomness.
+     *
+     * @param random The random generator (seed it for repeatable games)
+     */
+    public RandomStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseMove(GameState state, RuleSet rules) {
+        Player player = state.getCurrentPlayer();
+        int topKey = CardFace.topKey(state.getTopCard());
+        long mask = state.getPendingDrawCount() > 0 ? rules.stackMask(topKey) : rules.legalMask(topKey);
+
+        List<Integer> validIndices = player.getCardIndicesIn(mask);
+        if (validIndices.isEmpty()) {
+            return Move.DRAW;
+        }
+        int index = validIndices.get(random.nextInt(validIndices.size()));
+        return Move.play(player.getCardFace(index), COLORS[random.nextInt(COLORS.length)]);
+    }
+}
@@ -0,0 +1,320 @@
+package ai;
+
+import controller.GameController;
+import controller.GameManager;
+import model.Player;
+import model.rules.RuleSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes HeuristicWeights by self-play with a simple evolution strategy.
+ *
+ * Each generation draws antithetic pairs of Gaussian perturbations of the
+ * current weights. Both sides of a pair play the same seeded games in one
+ * seat against the current weights in every other seat (common random
+ * numbers), and the difference in their win rates estimates the gradient.
+ * After the step, the new weights play a match against the old ones and
+ * are kept only if they score at least their fair share.
+ *
+ * Games still running at the turn limit count as losses for the
+ * candidate.
+ *
+ * Games run on headless tables spread over a fixed thread pool, in chunks
+ * so every core stays busy. Every seed is derived from the trainer seed,
+ * the generation and the game number, and the endgame search is off, so
+ * a run (or a resumed run) reproduces exactly regardless of thread count.
+ * The trainer prints nothing; progress goes to a GenerationListener.
+ */
+public class SelfPlayTrainer implements AutoCloseable {
+    private static final int MAX_TURNS = 2000; // Games still running then count as lost
+    private static final int CHUNK_GAMES = 50;
+
+    /**
+     * Receives the outcome of each generation.
+     */
+    public interface GenerationListener {
+        /**
+         * Called once per generation, after its checkpoint is written.
+         *
+         * @param generation The generation number
+         * @param matchScore The candidate's win rate against the current weights
+         * @param fairShare  The win rate the candidate needed to be accepted
+         * @param accepted   Whether the candidate became the current weights
+         * @param nanos      Time the generation took
+         */
+        void generationDone(int generation, double matchScore, double fairShare, boolean accepted, long nanos);
+    }
+
+    private final RuleSet rules;
+    private final int playerCount;
+    private final long seed;
+    private final ExecutorService executor;
+
+    private int pairs = 8;
+    private int gamesPerCandidate = 400;
+    private int matchGames = 2000;
+    private float sigma = 0.1f;
+    private float learningRate = 0.5f;
+    private Path checkpointDirectory;
+    private GenerationListener listener;
+
+    /**
+     * Constructor for SelfPlayTrainer using every available core.
+     *
+     * @param rules       The rules of the training tables
+     * @param playerCount Players per table
+     * @param seed        Seed for the whole run
+     */
+    public SelfPlayTrainer(RuleSet rules, int playerCount, long seed) {
+        this(rules, playerCount, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for SelfPlayTrainer.
+     *
+     * @param rules       The rules of the training tables
+     * @param playerCount Players per table
+     * @param seed        Seed for the whole run
+     * @param threads     Number of worker threads
+     */
+    public SelfPlayTrainer(RuleSet rules, int playerCount, long seed, int threads) {
+        if (playerCount < GameManager.MIN_PLAYERS || playerCount > GameManager.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid player count: " + playerCount);
+        }
+        this.rules = rules;
+        this.playerCount = playerCount;
+        this.seed = seed;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "self-play");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the search parameters.
+     *
+     * @param pairs             Antithetic perturbation pairs per generation
+     * @param gamesPerCandidate Games played by each perturbed candidate
+     * @param matchGames        Games in the new-versus-current match
+     * @param sigma             Standard deviation of the perturbations
+     * @param learningRate      Step size
+     */
+    public void configure(int pairs, int gamesPerCandidate, int matchGames, float sigma, float learningRate) {
+        if (pairs <= 0 || gamesPerCandidate <= 0 || matchGames <= 0 || sigma <= 0 || learningRate <= 0) {
+            throw new IllegalArgumentException("Training parameters must be positive");
+        }
+        this.pairs = pairs;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.matchGames = matchGames;
+        this.sigma = sigma;
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * Sets where a checkpoint is written after every generation, as
+     * gen-NNNN.weights plus latest.weights.
+     *
+     * @param directory The directory, or null for no checkpoints
+     */
+    public void setCheckpointDirectory(Path directory) {
+        this.checkpointDirectory = directory;
+    }
+
+    /**
+     * Sets who is told the outcome of each generation.
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setGenerationListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Runs generations [fromGeneration, toGeneration). To resume a run,
+     * load its latest checkpoint and pass the next generation number.
+     *
+     * @param start          The weights to start from
+     * @param fromGeneration First generation to run
+     * @param toGeneration   Generation to stop before
+     * @return The trained weights
+     */
+    public HeuristicWeights train(HeuristicWeights start, int fromGeneration, int toGeneration) {
+        HeuristicWeights current = start;
+        for (int generation = fromGeneration; generation < toGeneration; generation++) {
+            long startTime = System.nanoTime();
+            HeuristicWeights candidate = step(current, generation);
+
+            double fairShare = 1.0 / playerCount;
+            double matchScore = evaluate(candidate, current, matchGames, seedFor(generation, -1));
+            boolean accepted = matchScore >= fairShare;
+            if (accepted) {
+                current = candidate;
+            }
+
+            checkpoint(current, generation);
+            if (listener != null) {
+                listener.generationDone(generation, matchScore, fairShare, accepted, System.nanoTime() - startTime);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Computes one evolution-strategy step from the current weights.
+     */
+    private HeuristicWeights step(HeuristicWeights current, int generation) {
+        float[] theta = current.toArray();
+        float[][] noise = new float[pairs][];
+        HeuristicWeights[] plus = new HeuristicWeights[pairs];
+        HeuristicWeights[] minus = new HeuristicWeights[pairs];
+
+        for (int pair = 0; pair < pairs; pair++) {
+            Random random = new Random(seedFor(generation, pair));
+            noise[pair] = new float[theta.length];
+            float[] up = theta.clone();
+            float[] down = theta.clone();
+            for (int i = 0; i < theta.length; i++) {
+                noise[pair][i] = (float) random.nextGaussian();
+                up[i] += sigma * noise[pair][i];
+                down[i] -= sigma * noise[pair][i];
+            }
+            plus[pair] = new HeuristicWeights(up);
+            minus[pair] = new HeuristicWeights(down);
+        }
+
+        // Queue every candidate's games before waiting on any of them
+        long gamesSeed = seedFor(generation, pairs);
+        List<List<Future<Integer>>> plusWins = new ArrayList<>();
+        List<List<Future<Integer>>> minusWins = new ArrayList<>();
+        for (int pair = 0; pair < pairs; pair++) {
+            plusWins.add(submitGames(plus[pair], current, gamesPerCandidate, gamesSeed));
+            minusWins.add(submitGames(minus[pair], current, gamesPerCandidate, gamesSeed));
+        }
+
+        float[] gradient = new float[theta.length];
+        for (int pair = 0; pair < pairs; pair++) {
+            float difference = (float) (sum(plusWins.get(pair)) - sum(minusWins.get(pair))) / gamesPerCandidate;
+            for (int i = 0; i < theta.length; i++) {
+                gradient[i] += difference * noise[pair][i];
+            }
+        }
+        for (int i = 0; i < theta.length; i++) {
+            theta[i] += learningRate * gradient[i] / (2 * pairs * sigma);
+        }
+        return new HeuristicWeights(theta);
+    }
+
+    /**
+     * Plays a match with the candidate in one seat (rotating) and the
+     * opponent weights everywhere else.
+     *
+     * @param candidate The candidate weights
+     * @param opponent  The weights of the other seats
+     * @param games     Number of games
+     * @param gamesSeed Seed of the game series
+     * @return The candidate's win rate
+     */
+    public double evaluate(HeuristicWeights candidate, HeuristicWeights opponent, int games, long gamesSeed) {
+        return (double) sum(submitGames(candidate, opponent, games, gamesSeed)) / games;
+    }
+
+    private List<Future<Integer>> submitGames(HeuristicWeights candidate, HeuristicWeights opponent,
+            int games, long gamesSeed) {
+        MoveStrategy candidateStrategy = new HeuristicStrategy(candidate);
+        MoveStrategy opponentStrategy = new HeuristicStrategy(opponent);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int first = 0; first < games; first += CHUNK_GAMES) {
+            int from = first;
+            int to = Math.min(games, first + CHUNK_GAMES);
+            Callable<Integer> chunk = () -> {
+                int wins = 0;
+                for (int game = from; game < to; game++) {
+                    if (playGame(candidateStrategy, opponentStrategy, game % playerCount, mix(gamesSeed + game))) {
+                        wins++;
+                    }
+                }
+                return wins;
+            };
+            futures.add(executor.submit(chunk));
+        }
+        return futures;
+    }
+
+    /**
+     * Plays one headless game.
+     *
+     * @return true if the candidate's seat won
+     */
+    private boolean playGame(MoveStrategy candidate, MoveStrategy opponent, int candidateSeat, long gameSeed) {
+        GameController table = GameManager.createHeadlessTable(playerCount, rules, gameSeed);
+        table.setEndgameSearch(false);
+        table.setAIStrategy(opponent);
+        table.setAIStrategy(candidateSeat, candidate);
+
+        for (int turn = 0; turn < MAX_TURNS && table.isGameRunning(); turn++) {
+            table.makeAIMove();
+        }
+        Player winner = table.getWinner();
+        return winner != null && table.getGameState().getPlayers().indexOf(winner) == candidateSeat;
+    }
+
+    private static int sum(List<Future<Integer>> futures) {
+        int total = 0;
+        try {
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play game failed", e.getCause());
+        }
+        return total;
+    }
+
+    private void checkpoint(HeuristicWeights weights, int generation) {
+        if (checkpointDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(checkpointDirectory);
+            weights.save(checkpointDirectory.resolve(String.format("gen-%04d.weights", generation)));
+            weights.save(checkpointDirectory.resolve("latest.weights"));
+        } catch (IOException e) {
+            System.err.println("Failed to write checkpoint: " + e.getMessage());
+        }
+    }
+
+    private long seedFor(int generation, int stream) {
+        return mix(mix(seed + generation) + stream);
+    }
+
+    /**
+     * SplitMix64 finalizer, to turn consecutive numbers into unrelated seeds.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
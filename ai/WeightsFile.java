@@ -0,0 +1,73 @@
+package ai;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes named weight vectors in the simple text format shared
+ * by the AI models: a header line, then one "name:value" line per weight.
+ * Blank lines and lines starting with '#' are ignored.
+ */
+final class WeightsFile {
+    private WeightsFile() {
+    }
+
+    /**
+     * Reads a weights file. Weights missing from the file keep their default.
+     *
+     * @param path     The file
+     * @param header   The expected first line
+     * @param names    The weight names, in vector order
+     * @param defaults The default weights
+     * @return The weights
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    static float[] read(Path path, String header, String[] names, float[] defaults) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).trim().equals(header)) {
+            throw new IOException("Not a " + header + " file: " + path);
+        }
+
+        List<String> nameList = Arrays.asList(names);
+        float[] weights = defaults.clone();
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(":", 2);
+            int index = nameList.indexOf(parts[0].trim());
+            if (parts.length != 2 || index < 0) {
+                throw new IOException("Bad weight on line " + (i + 1) + ": " + line);
+            }
+            try {
+                weights[index] = Float.parseFloat(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad weight on line " + (i + 1) + ": " + line);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Writes a weights file readable by read().
+     *
+     * @param path    The file
+     * @param header  The first line
+     * @param names   The weight names, in vector order
+     * @param weights The weights
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, String header, String[] names, float[] weights) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(header).append("\n");
+        for (int i = 0; i < names.length; i++) {
+            sb.append(names[i]).append(":").append(weights[i]).append("\n");
+        }
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
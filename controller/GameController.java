@@ -1,8 +1,20 @@
 package controller;
 
+import ai.EndgameSolver;
+import ai.MoveStrategy;
+import ai.RandomStrategy;
+import controller.command.GameCommand;
 import model.*;
+import model.rules.RuleSet;
+import model.strategy.EffectDispatcher;
+import observer.GameEvent;
+import observer.GameEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Main game controller - coordinates game flow and logic.
@@ -11,9 +23,19 @@ import java.util.Random;
 public class GameController {
     private final GameState gameState;
     private final Deck deck;
+    private final RuleSet ruleSet;
     private boolean gameRunning;
     private Player winner;
     private Random random;
+    private final List<GameEventListener> eventListeners;
+    private List<Consumer<GameEventListener>> heldEvents;
+    private boolean drewThisTurn;
+    private int colorChooserSeat;
+    private boolean checkInvariants = GameInvariants.ENABLED;
+    private EndgameSolver endgameSolver;
+    private boolean endgameSearch = true;
+    private MoveStrategy aiStrategy;
+    private MoveStrategy[] seatStrategies;
 
     /**
      * Constructor for GameController.
@@ -22,10 +44,56 @@ public class GameController {
      * @param deck      The deck to use
      */
     public GameController(GameState gameState, Deck deck) {
+        this(gameState, deck, RuleSet.standard());
+    }
+
+    /**
+     * Constructor for GameController with house rules.
+     * 
+     * @param gameState The game state to manage
+     * @param deck      The deck to use
+     * @param ruleSet   The rules of this table
+     */
+    public GameController(GameState gameState, Deck deck, RuleSet ruleSet) {
+        this(gameState, deck, ruleSet, new Random());
+    }
+
+    /**
+     * Constructor for GameController with a given source of randomness,
+     * used for the AI's choices so seeded games replay exactly.
+     * 
+     * @param gameState The game state to manage
+     * @param deck      The deck to use
+     * @param ruleSet   The rules of this table
+     * @param random    The random generator for AI choices
+     */
+    public GameController(GameState gameState, Deck deck, RuleSet ruleSet, Random random) {
         this.gameState = gameState;
         this.deck = deck;
+        this.ruleSet = ruleSet;
         this.gameRunning = false;
-        this.random = new Random();
+        this.random = random;
+        this.eventListeners = new ArrayList<>();
+        this.aiStrategy = new RandomStrategy(random);
+        this.seatStrategies = new MoveStrategy[0];
+    }
+
+    /**
+     * Adds a listener for fine-grained game events.
+     * 
+     * @param listener The listener to add
+     */
+    public void addEventListener(GameEventListener listener) {
+        eventListeners.add(listener);
+    }
+
+    /**
+     * Removes a game event listener.
+     * 
+     * @param listener The listener to remove
+     */
+    public void removeEventListener(GameEventListener listener) {
+        eventListeners.remove(listener);
     }
 
     /**
@@ -33,9 +101,57 @@ public class GameController {
      */
     public void startGame() {
         gameRunning = true;
+        for (GameEventListener listener : eventListeners) {
+            listener.onGameStarted(gameState);
+        }
         gameState.notifyObservers(); // Initial update
     }
 
+    /**
+     * Marks a table restored from storage as running, without announcing
+     * a new game to the listeners or observers.
+     * 
+     * @param drewThisTurn Whether the current player has already drawn this turn
+     */
+    public void resumeGame(boolean drewThisTurn) {
+        this.gameRunning = true;
+        this.drewThisTurn = drewThisTurn;
+        // Wilds do not move the turn beyond the next player, so a color
+        // still to be chosen is owed by the seat before the current one
+        this.colorChooserSeat = gameState.getPreviousPlayerIndex();
+    }
+
+    /**
+     * Checks whether the current player has already drawn this turn, in
+     * which case they may only play the card drawn or pass.
+     * 
+     * @return true if they drew this turn
+     */
+    public boolean hasDrawnThisTurn() {
+        return drewThisTurn;
+    }
+
+    /**
+     * Gets the seat that played the wild whose color is still to be
+     * chosen. The turn has already passed on, so this is not the current
+     * player.
+     * 
+     * @return The seat, or -1 if no color is needed
+     */
+    public int getColorChooserSeat() {
+        return gameState.isColorChangeNeeded() ? colorChooserSeat : -1;
+    }
+
+    /**
+     * Gets the seat the table is waiting on: the one choosing a wild's
+     * color while a color is needed, otherwise the current player.
+     * 
+     * @return The seat
+     */
+    public int getDecidingSeat() {
+        return gameState.isColorChangeNeeded() ? colorChooserSeat : gameState.getCurrentPlayerIndex();
+    }
+
     /**
      * Processes a player's turn.
      * 
@@ -43,17 +159,31 @@ public class GameController {
      * @return true if the turn was successful
      */
     public boolean playTurn(int cardIndex) {
+        verifyInvariants();
         if (!gameRunning) {
             return false;
         }
 
         Player currentPlayer = gameState.getCurrentPlayer();
+        int topKey = CardFace.topKey(gameState.getTopCard());
 
         // Handle pending draw (from Draw Two or Wild Draw Four)
         if (gameState.getPendingDrawCount() > 0) {
-            for (int i = 0; i < gameState.getPendingDrawCount(); i++) {
+            // With stacking, the player may pass the penalty on instead
+            if (cardIndex >= 0 && cardIndex < currentPlayer.getHandSize() &&
+                    (ruleSet.stackMask(topKey) & CardFace.mask(currentPlayer.getCardFace(cardIndex))) != 0) {
+                return playFromHand(currentPlayer, cardIndex);
+            }
+
+            // If every other card is in someone's hand, the penalty is cut short
+            int penalty = gameState.getPendingDrawCount();
+            int drawn = 0;
+            while (drawn < penalty && deck.hasCardsToDraw()) {
                 currentPlayer.drawCard(deck.draw());
+                drawn++;
             }
+            fireCardsDrawn(drawn, true);
+            drewThisTurn = false;
             gameState.setPendingDrawCount(0);
             gameState.advanceTurn();
             return true;
@@ -61,124 +191,560 @@ public class GameController {
 
         // Player chooses to draw a card
         if (cardIndex == -1) {
-            Card drawnCard = deck.draw();
-            currentPlayer.drawCard(drawnCard);
-
-            // Check if the drawn card can be played immediately
-            if (drawnCard.canPlayOn(gameState.getTopCard())) {
-                // Player can choose to play it or keep it
-                // For now, we'll just advance the turn
-                gameState.advanceTurn();
-                return true;
+            // A playable drawn card is played straight away under forced play;
+            // otherwise the player keeps it and the turn passes
+            Card drawnCard = drawForTurn(currentPlayer, topKey);
+            drewThisTurn = false;
+            if (drawnCard != null && ruleSet.forcesPlay() && ruleSet.isLegal(CardFace.of(drawnCard), topKey)) {
+                return playFromHand(currentPlayer, currentPlayer.getHandSize() - 1);
             }
 
+            fireTurnPassed();
             gameState.advanceTurn();
             return true;
         }
 
         // Player chooses to play a card
-        List<Card> hand = currentPlayer.getHand();
-        if (cardIndex < 0 || cardIndex >= hand.size()) {
+        if (cardIndex < 0 || cardIndex >= currentPlayer.getHandSize()) {
             return false; // Invalid card index
         }
 
-        Card cardToPlay = hand.get(cardIndex);
-
         // Check if the card can be played
-        if (!cardToPlay.canPlayOn(gameState.getTopCard())) {
+        if (!ruleSet.isLegal(currentPlayer.getCardFace(cardIndex), topKey)) {
             return false; // Invalid play
         }
 
-        // Play the card
-        Card playedCard = currentPlayer.playCard(cardIndex);
-        deck.addToDiscard(playedCard);
-        gameState.setTopCard(playedCard);
+        return playFromHand(currentPlayer, cardIndex);
+    }
 
-        // Execute card effect
-        playedCard.execute(gameState);
+    /**
+     * Draws one card, or keeps drawing until something is playable if the
+     * table says so. With nothing left to draw, nothing is drawn.
+     * 
+     * @param player The current player
+     * @param topKey The top key they are facing
+     * @return The last card drawn, or null if none
+     */
+    private Card drawForTurn(Player player, int topKey) {
+        Card drawnCard = null;
+        int drawn = 0;
+        while (deck.hasCardsToDraw() && (drawn == 0 ||
+                (ruleSet.drawsUntilPlayable() && !ruleSet.isLegal(CardFace.of(drawnCard), topKey)))) {
+            drawnCard = deck.draw();
+            player.drawCard(drawnCard);
+            drawn++;
+        }
+        fireCardsDrawn(drawn, false);
+        return drawnCard;
+    }
 
-        // Check for winner
-        if (currentPlayer.hasWon()) {
-            winner = currentPlayer;
-            gameRunning = false;
-            gameState.notifyObservers();
-            return true;
+    /**
+     * Plays a card out of turn under the jump-in house rule.
+     * Only a card identical to the top card may jump in.
+     * 
+     * @param playerIndex The index of the player jumping in
+     * @param cardIndex   The index of the identical card in their hand
+     * @return true if the jump-in was accepted
+     */
+    public boolean jumpIn(int playerIndex, int cardIndex) {
+        verifyInvariants();
+        if (!gameRunning || gameState.getPendingDrawCount() > 0 || gameState.isColorChangeNeeded()) {
+            return false;
         }
 
-        // Advance turn if no special effect prevents it
-        if (gameState.getPendingDrawCount() == 0 &&
-                playedCard.getType() != CardType.SKIP) {
+        List<Player> players = gameState.getPlayers();
+        if (playerIndex < 0 || playerIndex >= players.size()) {
+            return false;
+        }
+
+        Player player = players.get(playerIndex);
+        if (cardIndex < 0 || cardIndex >= player.getHandSize()) {
+            return false;
+        }
+
+        int topKey = CardFace.topKey(gameState.getTopCard());
+        if ((ruleSet.jumpInMask(topKey) & CardFace.mask(player.getCardFace(cardIndex))) == 0) {
+            return false;
+        }
+
+        // Play continues from the player who jumped in
+        gameState.setCurrentPlayerIndex(playerIndex);
+        return playFromHand(player, cardIndex);
+    }
+
+    /**
+     * Plays a card the rules have already accepted and ends the turn.
+     * 
+     * @param currentPlayer The player whose card it is
+     * @param cardIndex     The index of the card in their hand
+     * @return always true
+     */
+    private boolean playFromHand(Player currentPlayer, int cardIndex) {
+        // Observers see the play once it is complete, not each step of it
+        gameState.holdNotifications();
+        try {
+            Card playedCard = currentPlayer.playCard(cardIndex);
+            deck.addToDiscard(playedCard);
+            drewThisTurn = false;
+            gameState.setTopCard(playedCard);
+
+            int seat = gameState.getCurrentPlayerIndex();
+            fireEvent(seat, (listener, event) -> listener.onCardPlayed(event, playedCard));
+
+            // Check for winner before the card's effect, so the finished
+            // game still shows the winner's turn
+            if (currentPlayer.hasWon()) {
+                winner = currentPlayer;
+                gameRunning = false;
+                fireEvent(seat, GameEventListener::onGameOver);
+                gameState.notifyObservers();
+                return true;
+            }
+
+            // Execute card effect (standard effects are shared flyweights keyed by type)
+            EffectDispatcher.apply(playedCard, gameState);
+            if (gameState.isColorChangeNeeded()) {
+                colorChooserSeat = seat;
+            }
+
+            int transition = ruleSet.transition(CardFace.of(playedCard));
+            if (transition != 0) {
+                applyTransition(transition, currentPlayer);
+            }
+
+            // Skip and Reverse have already moved the turn inside their effect,
+            // so a single advance always lands on the right player
             gameState.advanceTurn();
-        } else if (playedCard.getType() == CardType.SKIP) {
-            // Skip effect already advanced the turn once in the strategy
-            // We don't need to advance again
+            return true;
+        } finally {
+            gameState.resumeNotifications(true);
+        }
+    }
+
+    /**
+     * Applies the hand-exchanging house rules.
+     * 
+     * @param transition    TRANSITION_* flags from the rule set
+     * @param currentPlayer The player who triggered it
+     */
+    private void applyTransition(int transition, Player currentPlayer) {
+        List<Player> players = gameState.getPlayers();
+
+        if ((transition & RuleSet.TRANSITION_SWAP_HANDS) != 0) {
+            // Swap with the opponent closest to winning
+            Player target = null;
+            for (Player player : players) {
+                if (player != currentPlayer &&
+                        (target == null || player.getHandSize() < target.getHandSize())) {
+                    target = player;
+                }
+            }
+            if (target != null) {
+                currentPlayer.swapHandWith(target);
+            }
         }
 
+        if ((transition & RuleSet.TRANSITION_ROTATE_HANDS) != 0) {
+            // Every hand moves one seat in the direction of play
+            Player first = players.get(0);
+            if (gameState.isClockwise()) {
+                for (int i = 1; i < players.size(); i++) {
+                    first.swapHandWith(players.get(i));
+                }
+            } else {
+                for (int i = players.size() - 1; i > 0; i--) {
+                    first.swapHandWith(players.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays a card for the current player. Unlike playTurn(), this never
+     * draws: while a penalty is pending only a card that stacks on it is
+     * accepted, and after draw() only the card just drawn may be played.
+     * 
+     * @param cardIndex The index of the card in the current player's hand
+     * @return true if the card was played
+     */
+    public boolean play(int cardIndex) {
+        verifyInvariants();
+        if (!gameRunning || gameState.isColorChangeNeeded()) {
+            return false;
+        }
+        Player currentPlayer = gameState.getCurrentPlayer();
+        if (cardIndex < 0 || cardIndex >= currentPlayer.getHandSize()
+                || (drewThisTurn && cardIndex != currentPlayer.getHandSize() - 1)) {
+            return false;
+        }
+
+        int topKey = CardFace.topKey(gameState.getTopCard());
+        int face = currentPlayer.getCardFace(cardIndex);
+        boolean accepted = gameState.getPendingDrawCount() > 0
+                ? (ruleSet.stackMask(topKey) & CardFace.mask(face)) != 0
+                : ruleSet.isLegal(face, topKey);
+        return accepted && playFromHand(currentPlayer, cardIndex);
+    }
+
+    /**
+     * Takes the current player's draw for the turn. A pending penalty is
+     * drawn and ends the turn. Otherwise the player draws as the table's
+     * rules say and keeps the turn: they may play the card drawn (forced
+     * play does so at once) or pass. Drawing is allowed once per turn.
+     * 
+     * @return true if the draw was taken
+     */
+    public boolean draw() {
+        verifyInvariants();
+        if (!gameRunning || gameState.isColorChangeNeeded() || drewThisTurn) {
+            return false;
+        }
+        if (gameState.getPendingDrawCount() > 0) {
+            return playTurn(-1);
+        }
+
+        Player currentPlayer = gameState.getCurrentPlayer();
+        int topKey = CardFace.topKey(gameState.getTopCard());
+        Card drawnCard = drawForTurn(currentPlayer, topKey);
+        drewThisTurn = true;
+        if (drawnCard != null && ruleSet.forcesPlay() && ruleSet.isLegal(CardFace.of(drawnCard), topKey)) {
+            return playFromHand(currentPlayer, currentPlayer.getHandSize() - 1);
+        }
+        gameState.notifyObservers();
         return true;
     }
 
+    /**
+     * Ends the current player's turn without playing, which is only
+     * allowed after they drew this turn, with draw() or drawCard().
+     * 
+     * @return true if the turn passed
+     */
+    public boolean pass() {
+        verifyInvariants();
+        if (!gameRunning || !drewThisTurn || gameState.isColorChangeNeeded()
+                || gameState.getPendingDrawCount() > 0) {
+            return false;
+        }
+        drewThisTurn = false;
+        fireTurnPassed();
+        gameState.advanceTurn();
+        return true;
+    }
+
+    /**
+     * Chooses the color of the wild card just played, if one is waiting
+     * for a color.
+     * 
+     * @param color The chosen color
+     * @return true if the color was set
+     */
+    public boolean chooseColor(CardColor color) {
+        if (!gameState.isColorChangeNeeded() || color == null || color == CardColor.WILD) {
+            return false;
+        }
+        selectColor(color);
+        return true;
+    }
+
+    /**
+     * Applies a batch of commands atomically. Either every command is
+     * accepted and applied, or the table is put back as it was and the
+     * commands are rejected as a whole. Observers are notified once for
+     * the whole batch, and event listeners receive the batch's events
+     * after it has been applied, each with the facts recorded when it
+     * happened (see GameEvent).
+     * Commands after one that wins the game, such as the color chosen for
+     * a winning wild, are ignored.
+     * 
+     * @param commands The commands, in order
+     * @return true if the batch was applied, false if a command was rejected
+     */
+    public boolean submit(List<GameCommand> commands) {
+        if (heldEvents != null) {
+            throw new IllegalStateException("Batches cannot be nested");
+        }
+
+        TableMemento memento = TableMemento.capture(gameState, deck);
+        boolean wasRunning = gameRunning;
+        Player previousWinner = winner;
+        boolean previousDrew = drewThisTurn;
+        int previousChooser = colorChooserSeat;
+
+        List<Consumer<GameEventListener>> events = new ArrayList<>();
+        heldEvents = events;
+        gameState.holdNotifications();
+        boolean applied = false;
+        try {
+            int accepted = 0;
+            while (accepted < commands.size() && gameRunning && commands.get(accepted).execute(this)) {
+                accepted++;
+            }
+            applied = accepted == commands.size() || (wasRunning && !gameRunning);
+        } finally {
+            heldEvents = null;
+            if (!applied) {
+                // Rejected or failed: put the table back as it was
+                memento.restore();
+                gameRunning = wasRunning;
+                winner = previousWinner;
+                drewThisTurn = previousDrew;
+                colorChooserSeat = previousChooser;
+            }
+            gameState.resumeNotifications(applied);
+        }
+        if (!applied) {
+            return false;
+        }
+
+        for (Consumer<GameEventListener> event : events) {
+            for (GameEventListener listener : eventListeners) {
+                event.accept(listener);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a single command.
+     * 
+     * @param command The command
+     * @return true if it was applied
+     */
+    public boolean submit(GameCommand command) {
+        return submit(List.of(command));
+    }
+
     /**
      * Handles color selection for wild cards.
      * 
      * @param color The chosen color
      */
     public void selectColor(CardColor color) {
+        verifyInvariants();
         if (color == CardColor.WILD) {
             throw new IllegalArgumentException("Cannot select WILD as a color");
         }
 
-        Card topCard = gameState.getTopCard();
-        topCard.setColor(color);
+        gameState.setActiveColor(color);
         gameState.setColorChangeNeeded(false);
         gameState.notifyObservers();
     }
 
+    /**
+     * Turns the invariant checks (see GameInvariants) before every action
+     * on or off. They are off unless -Duno.checkInvariants=true is set.
+     * 
+     * @param enabled Whether to check
+     */
+    public void setInvariantChecks(boolean enabled) {
+        this.checkInvariants = enabled;
+    }
+
+    private void verifyInvariants() {
+        if (checkInvariants) {
+            GameInvariants.check(this);
+        }
+    }
+
+    /**
+     * Sets the strategy used by every AI seat without one of its own.
+     * 
+     * @param strategy The strategy
+     */
+    public void setAIStrategy(MoveStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        this.aiStrategy = strategy;
+    }
+
+    /**
+     * Sets the strategy used by one seat, or clears it with null.
+     * 
+     * @param seat     The seat index
+     * @param strategy The strategy, or null to use the table default
+     */
+    public void setAIStrategy(int seat, MoveStrategy strategy) {
+        if (seat < 0) {
+            throw new IllegalArgumentException("Invalid seat: " + seat);
+        }
+        if (seat >= seatStrategies.length) {
+            seatStrategies = Arrays.copyOf(seatStrategies, seat + 1);
+        }
+        seatStrategies[seat] = strategy;
+    }
+
+    /**
+     * Gets the strategy an AI seat plays with.
+     * 
+     * @param seat The seat index
+     * @return The seat's strategy, or the table default
+     */
+    public MoveStrategy getAIStrategy(int seat) {
+        if (seat < seatStrategies.length && seatStrategies[seat] != null) {
+            return seatStrategies[seat];
+        }
+        return aiStrategy;
+    }
+
+    /**
+     * Turns the exact endgame search in makeAIMove() on or off. The search
+     * is time-budgeted, so turn it off where games must replay exactly
+     * from a seed, or to measure the strategies on their own.
+     * 
+     * @param enabled Whether small endgames are searched
+     */
+    public void setEndgameSearch(boolean enabled) {
+        this.endgameSearch = enabled;
+    }
+
     /**
      * AI player makes a move.
      * 
      * @return The index of the card played, or -1 if drew a card
      */
     public int makeAIMove() {
-        Player currentPlayer = gameState.getCurrentPlayer();
-        Card topCard = gameState.getTopCard();
+        verifyInvariants();
+        // Small endgames are searched exactly
+        if (endgameSearch && EndgameSolver.isEndgame(gameState)) {
+            if (endgameSolver == null) {
+                endgameSolver = new EndgameSolver();
+            }
+            int move = endgameSolver.solve(GameSnapshot.capture(gameState, deck, ruleSet));
+            return playMove(move);
+        }
 
-        // Handle pending draw
-        if (gameState.getPendingDrawCount() > 0) {
-            playTurn(-1); // Just draw the cards
-            return -1;
+        MoveStrategy strategy = getAIStrategy(gameState.getCurrentPlayerIndex());
+        return playMove(strategy.chooseMove(gameState, ruleSet));
+    }
+
+    /**
+     * Plays the current step for a player who did not take it in time:
+     * picks the most held color of the player whose wild is waiting for
+     * one (see getColorChooserSeat()), passes after a draw, or otherwise
+     * makes the AI move for the current player.
+     */
+    public void autoPlay() {
+        if (!gameRunning) {
+            return;
+        }
+        if (gameState.isColorChangeNeeded()) {
+            chooseColor(mostHeldColor(gameState.getPlayers().get(colorChooserSeat)));
+        } else if (!drewThisTurn || !pass()) {
+            makeAIMove();
         }
+    }
 
-        // Find valid cards
-        List<Integer> validIndices = currentPlayer.getValidCardIndices(topCard);
+    private static CardColor mostHeldColor(Player player) {
+        CardColor best = CardColor.RED;
+        for (CardColor color : CardColor.values()) {
+            if (color != CardColor.WILD && player.countColor(color) > player.countColor(best)) {
+                best = color;
+            }
+        }
+        return best;
+    }
+
+    private CardColor randomColor() {
+        CardColor[] colors = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+        return colors[random.nextInt(colors.length)];
+    }
 
-        if (validIndices.isEmpty()) {
-            // No valid cards, must draw
+    /**
+     * Plays an encoded move (see Move) for the current player.
+     * 
+     * @param move The move
+     * @return The index of the card played, or -1 if drew a card
+     * @throws IllegalStateException if the move plays a card the player does not hold
+     */
+    private int playMove(int move) {
+        if (Move.isDraw(move)) {
             playTurn(-1);
+            // A forced play of the drawn card may still need a color
+            if (gameState.isColorChangeNeeded()) {
+                selectColor(randomColor());
+            }
             return -1;
         }
 
-        // Play a random valid card
-        int chosenIndex = validIndices.get(random.nextInt(validIndices.size()));
-        playTurn(chosenIndex);
+        Player currentPlayer = gameState.getCurrentPlayer();
+        int face = Move.face(move);
+        int cardIndex = -1;
+        for (int i = 0; i < currentPlayer.getHandSize(); i++) {
+            if (currentPlayer.getCardFace(i) == face) {
+                cardIndex = i;
+                break;
+            }
+        }
+        if (cardIndex < 0) {
+            throw new IllegalStateException(currentPlayer.getName() + " does not hold the card "
+                    + CardFace.newCard(face) + " chosen for them");
+        }
 
-        // If it was a wild card, choose a random color
+        playTurn(cardIndex);
         if (gameState.isColorChangeNeeded()) {
-            CardColor[] colors = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
-            selectColor(colors[random.nextInt(colors.length)]);
+            selectColor(Move.color(move));
         }
-
-        return chosenIndex;
+        return cardIndex;
     }
 
     /**
      * Draws a card for the current player.
      */
     public void drawCard() {
+        verifyInvariants();
+        if (!deck.hasCardsToDraw()) {
+            return;
+        }
         Player currentPlayer = gameState.getCurrentPlayer();
         currentPlayer.drawCard(deck.draw());
+        drewThisTurn = true;
+        fireCardsDrawn(1, false);
         gameState.notifyObservers();
     }
 
+    /**
+     * Tells the event listeners that the current player drew cards.
+     * 
+     * @param count   Number of cards drawn
+     * @param penalty Whether they were a pending draw penalty
+     */
+    private void fireCardsDrawn(int count, boolean penalty) {
+        int seat = gameState.getCurrentPlayerIndex();
+        fireEvent(seat, (listener, event) -> listener.onCardsDrawn(event, count, penalty));
+    }
+
+    /**
+     * Tells the event listeners that the current player's turn ended
+     * without a play.
+     */
+    private void fireTurnPassed() {
+        int seat = gameState.getCurrentPlayerIndex();
+        fireEvent(seat, GameEventListener::onTurnPassed);
+    }
+
+    /**
+     * Records an event about a seat and sends it to the listeners, or
+     * keeps it until the batch being submitted has been applied.
+     * 
+     * @param seat The index of the player the event is about
+     * @param call The call to make on each listener
+     */
+    private void fireEvent(int seat, BiConsumer<GameEventListener, GameEvent> call) {
+        if (eventListeners.isEmpty()) {
+            return;
+        }
+        GameEvent event = GameEvent.capture(gameState, deck, seat);
+        if (heldEvents != null) {
+            heldEvents.add(listener -> call.accept(listener, event));
+            return;
+        }
+        for (GameEventListener listener : eventListeners) {
+            call.accept(listener, event);
+        }
+    }
+
     /**
      * Checks if the game is still running.
      * 
@@ -206,6 +772,15 @@ public class GameController {
         return gameState;
     }
 
+    /**
+     * Gets the rules of this table.
+     * 
+     * @return The rule set
+     */
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
     /**
      * Gets the deck.
      * 
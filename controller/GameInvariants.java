@@ -0,0 +1,135 @@
+package controller;
+
+import model.*;
+import java.util.List;
+
+/**
+ * Consistency checks for a whole table, for debugging and fuzzing.
+ *
+ * check() verifies, in one pass over the cards:
+ * - card conservation: hands and both piles hold exactly the cards of
+ *   the shoe (108 per deck), face by face;
+ * - the seat to move is a valid index and the top of the discard pile is
+ *   the state's top card;
+ * - a single active color: only the top card may be a wild showing a
+ *   color, and it shows one unless a color is still being chosen;
+ * - pending draws, the hand-size counts and the incremental hash agree
+ *   with the rest of the state.
+ *
+ * Controllers run the checks before every action when the JVM is started
+ * with -Duno.checkInvariants=true, or after setInvariantChecks(true).
+ */
+public final class GameInvariants {
+    /** Whether new controllers check invariants, from -Duno.checkInvariants. */
+    public static final boolean ENABLED = Boolean.getBoolean("uno.checkInvariants");
+
+    private GameInvariants() {
+    }
+
+    /**
+     * Checks every invariant of a table.
+     *
+     * @param controller The table
+     * @throws IllegalStateException describing the first violation found
+     */
+    public static void check(GameController controller) {
+        GameState state = controller.getGameState();
+        Deck deck = controller.getDeck();
+        List<Player> players = state.getPlayers();
+        List<Card> drawPile = deck.drawPileView();
+        List<Card> discardPile = deck.discardPileView();
+        Card topCard = state.getTopCard();
+
+        int current = state.getCurrentPlayerIndex();
+        if (current < 0 || current >= players.size()) {
+            fail("current seat " + current + " of " + players.size());
+        }
+        if (discardPile.isEmpty() || discardPile.get(discardPile.size() - 1) != topCard) {
+            fail("top card " + topCard + " is not on top of the discard pile");
+        }
+
+        // Card conservation, face by face
+        int[] counts = new int[CardFace.COUNT];
+        for (Player player : players) {
+            for (int i = 0; i < player.getHandSize(); i++) {
+                counts[player.getCardFace(i)]++;
+                if (showsColor(player.getCard(i))) {
+                    fail(player.getCard(i) + " in " + player.getName() + "'s hand still shows a color");
+                }
+            }
+        }
+        for (Card card : drawPile) {
+            counts[CardFace.of(card)]++;
+            if (showsColor(card)) {
+                fail(card.getType() + " in the draw pile still shows " + card.getColor());
+            }
+        }
+        for (Card card : discardPile) {
+            counts[CardFace.of(card)]++;
+            if (card != topCard && showsColor(card)) {
+                fail(card.getType() + " in the discard pile still shows " + card.getColor());
+            }
+        }
+        int decks = deck.getDeckCount();
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            if (counts[face] != CardFace.copiesPerDeck(face) * decks) {
+                fail(counts[face] + " cards of face " + face + " (" + CardFace.newCard(face)
+                        + "), expected " + CardFace.copiesPerDeck(face) * decks);
+            }
+        }
+
+        // Single active color
+        boolean wildOnTop = topCard.getType() == CardType.WILD || topCard.getType() == CardType.WILD_DRAW_FOUR;
+        if (state.isColorChangeNeeded()) {
+            if (!wildOnTop) {
+                fail("a color is being chosen for " + topCard);
+            }
+        } else if (topCard.getColor() == CardColor.WILD && controller.isGameRunning()) {
+            fail("the top wild has no color");
+        }
+
+        // Pending draws only follow draw cards
+        int pending = state.getPendingDrawCount();
+        if (pending < 0 || (pending > 0 && topCard.getType() != CardType.DRAW_TWO
+                && topCard.getType() != CardType.WILD_DRAW_FOUR)) {
+            fail(pending + " cards pending on " + topCard);
+        }
+
+        // Derived state
+        int smallest = GameState.HAND_SIZE_CAP;
+        int[] sizes = new int[GameState.HAND_SIZE_CAP + 1];
+        for (int seat = 0; seat < players.size(); seat++) {
+            int size = Math.min(players.get(seat).getHandSize(), GameState.HAND_SIZE_CAP);
+            sizes[size]++;
+            if (seat != current) {
+                smallest = Math.min(smallest, size);
+            }
+        }
+        if (state.getSmallestHandSize(current) != smallest) {
+            fail("smallest opponent hand " + state.getSmallestHandSize(current) + ", counted " + smallest);
+        }
+        int larger = players.size();
+        for (int size = 0; size < GameState.HAND_SIZE_CAP; size++) {
+            larger -= sizes[size];
+            if (state.countHandsLargerThan(size) != larger) {
+                fail(state.countHandsLargerThan(size) + " hands over " + size + " cards, counted " + larger);
+            }
+        }
+        if (state.getHash() != state.computeHash()) {
+            fail(String.format("hash %016x, recomputed %016x", state.getHash(), state.computeHash()));
+        }
+        if (!controller.isGameRunning() && controller.getWinner() != null
+                && !controller.getWinner().hasWon()) {
+            fail("winner " + controller.getWinner().getName() + " still holds cards");
+        }
+    }
+
+    private static boolean showsColor(Card card) {
+        return (card.getType() == CardType.WILD || card.getType() == CardType.WILD_DRAW_FOUR)
+                && card.getColor() != CardColor.WILD;
+    }
+
+    private static void fail(String message) {
+        throw new IllegalStateException("Invariant violated: " + message);
+    }
+}
@@ -1,7 +1,12 @@
 package controller;
 
 import model.*;
+import model.rules.RuleSet;
 import view.ConsoleView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
 
 /**
  * Singleton Pattern - Manages the overall game lifecycle.
@@ -9,11 +14,20 @@ import view.ConsoleView;
  * High-level game management and initialization.
  */
 public class GameManager {
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 100;
+    public static final int INITIAL_HAND_SIZE = 7;
+    /** Players served by each 108-card deck when the shoe size is automatic. */
+    public static final int PLAYERS_PER_DECK = 10;
+
     private static GameManager instance;
     private GameState gameState;
     private GameController gameController;
     private Deck deck;
+    private RuleSet ruleSet;
+    private int deckCount;
     private boolean isGUIMode;
+    private Executor gameThread; // Owns the table in GUI mode; null in console mode
 
     /**
      * Private constructor for Singleton pattern.
@@ -21,6 +35,7 @@ public class GameManager {
     private GameManager() {
         this.gameState = new GameState();
         this.deck = Deck.getInstance();
+        this.ruleSet = RuleSet.standard();
         this.isGUIMode = false;
     }
 
@@ -39,26 +54,26 @@ public class GameManager {
     /**
      * Initializes a new game with the specified number of players.
      * 
-     * @param playerCount      Number of players (2-10)
+     * @param playerCount      Number of players (2-100)
      * @param humanPlayerCount Number of human players
      * @param useGUI           Whether to use GUI mode
      */
     public void initializeGame(int playerCount, int humanPlayerCount, boolean useGUI) {
-        if (playerCount < 2 || playerCount > 10) {
-            throw new IllegalArgumentException("Player count must be between 2 and 10");
-        }
+        checkPlayerCount(playerCount);
 
         if (humanPlayerCount < 1 || humanPlayerCount > playerCount) {
             throw new IllegalArgumentException("Invalid human player count");
         }
 
         this.isGUIMode = useGUI;
+        this.gameThread = null;
 
-        // Reset the deck
+        // Reset the deck, with enough decks in the shoe for the table
+        deck.setDeckCount(deckCount > 0 ? deckCount : decksFor(playerCount));
         deck.reset();
 
         // Create players
-        java.util.List<Player> players = new java.util.ArrayList<>();
+        List<Player> players = new ArrayList<>();
         for (int i = 0; i < humanPlayerCount; i++) {
             players.add(new Player("Player " + (i + 1), true));
         }
@@ -66,34 +81,18 @@ public class GameManager {
             players.add(new Player("AI " + (i - humanPlayerCount + 1), false));
         }
 
-        gameState.setPlayers(players);
-
-        // Deal initial hands (7 cards each)
-        for (Player player : players) {
-            for (int i = 0; i < 7; i++) {
-                player.drawCard(deck.draw());
-            }
-        }
-
-        // Set initial top card (make sure it's not a wild card)
-        Card initialCard;
-        do {
-            initialCard = deck.draw();
-        } while (initialCard.getType() == CardType.WILD ||
-                initialCard.getType() == CardType.WILD_DRAW_FOUR);
-
-        deck.addToDiscard(initialCard);
-        gameState.setTopCard(initialCard);
+        dealTable(gameState, deck, players);
 
         // Create controller
-        gameController = new GameController(gameState, deck);
+        gameController = new GameController(gameState, deck, ruleSet);
 
         // Create and attach view(s)
         if (useGUI) {
             // Use Swing GUI (built into Java, no downloads needed!)
             try {
-                view.gui.SwingGUI gui = new view.gui.SwingGUI(gameController);
+                view.gui.SwingGUI gui = view.gui.SwingGUI.open(gameController);
                 gameState.addObserver(gui);
+                gameThread = gui.getGameThread();
                 System.out.println("Swing GUI initialized successfully!");
             } catch (Exception e) {
                 System.err.println("Warning: Could not initialize GUI: " + e.getMessage());
@@ -109,14 +108,140 @@ public class GameManager {
     }
 
     /**
-     * Starts the game.
+     * Creates an all-AI table with its own deck and no views attached,
+     * for simulations and training. Tables do not share any state, so
+     * any number of them can run on different threads. The same seed
+     * deals the same cards. The endgame search is on by default and is
+     * bounded by wall-clock time, so the same seed only replays the same
+     * game after setEndgameSearch(false) on the returned controller.
+     * 
+     * @param playerCount Number of players
+     * @param ruleSet     The rules of the table
+     * @param seed        Seed for the shuffles and the AI's random choices
+     * @return A started controller for the table
+     */
+    public static GameController createHeadlessTable(int playerCount, RuleSet ruleSet, long seed) {
+        checkPlayerCount(playerCount);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player("AI " + (i + 1), false));
+        }
+        return createTable(players, ruleSet, seed);
+    }
+
+    /**
+     * Creates a table for the given players with its own deck and no
+     * views attached, for tables hosted outside this manager (for example
+     * tables formed by the matchmaker). The caller drives human seats
+     * through the returned controller. As with createHeadlessTable(), the
+     * endgame search is on and wall-clock bounded, so call
+     * setEndgameSearch(false) for games that must replay from the seed.
+     * 
+     * @param players The players, in seat order
+     * @param ruleSet The rules of the table
+     * @param seed    Seed for the shuffles and the AI's random choices
+     * @return A started controller for the table
+     */
+    public static GameController createTable(List<Player> players, RuleSet ruleSet, long seed) {
+        checkPlayerCount(players.size());
+
+        Random random = new Random(seed);
+        Deck deck = new Deck(decksFor(players.size()), random);
+        GameState state = new GameState();
+        dealTable(state, deck, players);
+
+        GameController controller = new GameController(state, deck, ruleSet, random);
+        controller.startGame();
+        return controller;
+    }
+
+    /**
+     * Gets the number of decks a table needs so hands and piles never run dry.
+     * 
+     * @param playerCount Number of players
+     * @return Number of 108-card decks in the shoe
+     */
+    public static int decksFor(int playerCount) {
+        return (playerCount + PLAYERS_PER_DECK - 1) / PLAYERS_PER_DECK;
+    }
+
+    private static void checkPlayerCount(int playerCount) {
+        if (playerCount < MIN_PLAYERS || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException(
+                    "Player count must be between " + MIN_PLAYERS + " and " + MAX_PLAYERS);
+        }
+    }
+
+    /**
+     * Seats the players, deals their hands and turns up the first card.
+     * 
+     * @param state   The game state to set up
+     * @param deck    A freshly reset deck
+     * @param players The players, in seat order
+     */
+    private static void dealTable(GameState state, Deck deck, List<Player> players) {
+        state.setPlayers(players);
+
+        // Deal initial hands (7 cards each)
+        for (Player player : players) {
+            for (int i = 0; i < INITIAL_HAND_SIZE; i++) {
+                player.drawCard(deck.draw());
+            }
+        }
+
+        // Set initial top card (make sure it's not a wild card); wilds turned
+        // up go back into the deck so no card leaves the game
+        Card initialCard = deck.draw();
+        while (initialCard.getType() == CardType.WILD ||
+                initialCard.getType() == CardType.WILD_DRAW_FOUR) {
+            deck.returnToDrawPile(initialCard);
+            initialCard = deck.draw();
+        }
+
+        deck.addToDiscard(initialCard);
+        state.setTopCard(initialCard);
+    }
+
+    /**
+     * Starts the game. In GUI mode it starts on the GUI's game thread and
+     * this returns at once.
      */
     public void startGame() {
         if (gameController == null) {
             throw new IllegalStateException("Game not initialized. Call initializeGame() first.");
         }
 
-        gameController.startGame();
+        if (gameThread != null) {
+            gameThread.execute(gameController::startGame);
+        } else {
+            gameController.startGame();
+        }
+    }
+
+    /**
+     * Sets the rules used by the next initialized game.
+     * 
+     * @param ruleSet The rule set
+     */
+    public void setRuleSet(RuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Sets the number of decks in the shoe of the next initialized game.
+     * 
+     * @param deckCount Number of decks, or 0 to size the shoe by player count
+     */
+    public void setDeckCount(int deckCount) {
+        if (deckCount < 0) {
+            throw new IllegalArgumentException("Deck count cannot be negative: " + deckCount);
+        }
+        this.deckCount = deckCount;
     }
 
     /**
@@ -0,0 +1,36 @@
+package controller.command;
+
+import controller.GameController;
+import model.CardColor;
+
+/**
+ * Command Pattern - Concrete Command
+ *
+ * Chooses the color of the wild card just played.
+ */
+public final class ChooseColorCommand implements GameCommand {
+    private final CardColor color;
+
+    /**
+     * Constructor for ChooseColorCommand.
+     *
+     * @param color The chosen color
+     */
+    public ChooseColorCommand(CardColor color) {
+        this.color = color;
+    }
+
+    @Override
+    public boolean execute(GameController controller) {
+        return controller.chooseColor(color);
+    }
+
+    public CardColor getColor() {
+        return color;
+    }
+
+    @Override
+    public String toString() {
+        return "Choose " + color;
+    }
+}
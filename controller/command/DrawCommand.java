@@ -0,0 +1,25 @@
+package controller.command;
+
+import controller.GameController;
+
+/**
+ * Command Pattern - Concrete Command
+ *
+ * Takes the current player's draw for the turn (see GameController.draw()).
+ */
+public final class DrawCommand implements GameCommand {
+    static final DrawCommand INSTANCE = new DrawCommand();
+
+    private DrawCommand() {
+    }
+
+    @Override
+    public boolean execute(GameController controller) {
+        return controller.draw();
+    }
+
+    @Override
+    public String toString() {
+        return "Draw";
+    }
+}
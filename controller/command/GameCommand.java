@@ -0,0 +1,37 @@
+package controller.command;
+
+import controller.GameController;
+import model.CardColor;
+
+/**
+ * Command Pattern - Command
+ *
+ * One action of the current player, as a value that can be queued, sent
+ * over the network and applied later. A list of commands can be applied
+ * atomically with GameController.submit().
+ */
+public interface GameCommand {
+    /**
+     * Applies the command to a table.
+     *
+     * @param controller The table's controller
+     * @return true if the command was accepted and applied
+     */
+    boolean execute(GameController controller);
+
+    static GameCommand play(int cardIndex) {
+        return new PlayCommand(cardIndex);
+    }
+
+    static GameCommand draw() {
+        return DrawCommand.INSTANCE;
+    }
+
+    static GameCommand chooseColor(CardColor color) {
+        return new ChooseColorCommand(color);
+    }
+
+    static GameCommand pass() {
+        return PassCommand.INSTANCE;
+    }
+}
@@ -0,0 +1,26 @@
+package controller.command;
+
+import controller.GameController;
+
+/**
+ * Command Pattern - Concrete Command
+ *
+ * Ends the turn of a player who has drawn a card and keeps it
+ * (see GameController.pass()).
+ */
+public final class PassCommand implements GameCommand {
+    static final PassCommand INSTANCE = new PassCommand();
+
+    private PassCommand() {
+    }
+
+    @Override
+    public boolean execute(GameController controller) {
+        return controller.pass();
+    }
+
+    @Override
+    public String toString() {
+        return "Pass";
+    }
+}
@@ -0,0 +1,35 @@
+package controller.command;
+
+import controller.GameController;
+
+/**
+ * Command Pattern - Concrete Command
+ *
+ * Plays a card from the current player's hand (see GameController.play()).
+ */
+public final class PlayCommand implements GameCommand {
+    private final int cardIndex;
+
+    /**
+     * Constructor for PlayCommand.
+     *
+     * @param cardIndex The index of the card in the current player's hand
+     */
+    public PlayCommand(int cardIndex) {
+        this.cardIndex = cardIndex;
+    }
+
+    @Override
+    public boolean execute(GameController controller) {
+        return controller.play(cardIndex);
+    }
+
+    public int getCardIndex() {
+        return cardIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "Play " + cardIndex;
+    }
+}
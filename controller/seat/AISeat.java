@@ -0,0 +1,90 @@
+package controller.seat;
+
+import ai.MoveStrategy;
+import controller.command.GameCommand;
+import model.CardColor;
+import model.CardFace;
+import model.Move;
+import java.util.List;
+
+/**
+ * Strategy Pattern - Concrete Strategy
+ *
+ * A seat played by a MoveStrategy. It never blocks, so the runner asks it
+ * on the table's own thread and it reads the live table.
+ */
+public class AISeat implements Seat {
+    private final MoveStrategy strategy;
+
+    /**
+     * Constructor for AISeat.
+     *
+     * @param strategy The strategy choosing the moves
+     */
+    public AISeat(MoveStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        this.strategy = strategy;
+    }
+
+    @Override
+    public boolean blocks() {
+        return false;
+    }
+
+    @Override
+    public List<GameCommand> decide(TurnView turn) {
+        if (turn.isColorChangeNeeded()) {
+            return List.of(GameCommand.chooseColor(mostHeldColor(turn)));
+        }
+
+        // After a draw, play the card drawn if it can be
+        if (turn.hasDrawnThisTurn()) {
+            int last = turn.getHandSize() - 1;
+            if (last >= 0 && turn.isPlayable(last)) {
+                return play(last, turn.getHandFace(last), mostHeldColor(turn));
+            }
+            return List.of(GameCommand.pass());
+        }
+
+        int move = strategy.chooseMove(turn.getState(), turn.getRules());
+        if (Move.isDraw(move)) {
+            return List.of(GameCommand.draw());
+        }
+        int face = Move.face(move);
+        for (int i = 0; i < turn.getHandSize(); i++) {
+            if (turn.getHandFace(i) == face) {
+                return play(i, face, Move.color(move));
+            }
+        }
+        throw new IllegalStateException("The strategy chose a card not held: " + CardFace.newCard(face));
+    }
+
+    private static List<GameCommand> play(int index, int face, CardColor color) {
+        if (face >= CardFace.WILD) {
+            return List.of(GameCommand.play(index), GameCommand.chooseColor(color));
+        }
+        return List.of(GameCommand.play(index));
+    }
+
+    /**
+     * Picks the color most of the hand's colored cards share.
+     */
+    static CardColor mostHeldColor(TurnView turn) {
+        int[] counts = new int[CardColor.values().length];
+        for (int i = 0; i < turn.getHandSize(); i++) {
+            int face = turn.getHandFace(i);
+            if (face < CardFace.WILD) {
+                counts[CardFace.colorOf(face).ordinal()]++;
+            }
+        }
+        CardColor best = CardColor.RED;
+        for (CardColor color : CardColor.values()) {
+            if (color != CardColor.WILD && counts[color.ordinal()] > counts[best.ordinal()]) {
+                best = color;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,61 @@
+package controller.seat;
+
+import controller.command.GameCommand;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * A seat played from elsewhere, typically a network client. When asked
+ * to move, the seat sends the view to the client through the prompt and
+ * blocks until the client's connection code hands in a decision with
+ * submit(), quoting the id of the view it answers. Answers to earlier
+ * views, which arrive after the runner stopped waiting, are dropped
+ * rather than applied to a later turn.
+ */
+public class RemoteSeat implements Seat {
+    private final Consumer<TurnView> prompt;
+    private final BlockingQueue<Answer> answers;
+
+    private static final class Answer {
+        final long turnId;
+        final List<GameCommand> commands;
+
+        Answer(long turnId, List<GameCommand> commands) {
+            this.turnId = turnId;
+            this.commands = commands;
+        }
+    }
+
+    /**
+     * Constructor for RemoteSeat.
+     *
+     * @param prompt Sends the view to the client; called on the seat's thread
+     */
+    public RemoteSeat(Consumer<TurnView> prompt) {
+        this.prompt = prompt;
+        this.answers = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Hands in the client's decision.
+     *
+     * @param turnId   The id of the view it answers (see TurnView.getId())
+     * @param commands The commands to submit as one batch
+     */
+    public void submit(long turnId, List<GameCommand> commands) {
+        answers.add(new Answer(turnId, List.copyOf(commands)));
+    }
+
+    @Override
+    public List<GameCommand> decide(TurnView turn) throws InterruptedException {
+        prompt.accept(turn);
+        while (true) {
+            Answer answer = answers.take();
+            if (answer.turnId == turn.getId()) {
+                return answer.commands;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package controller.seat;
+
+import controller.command.GameCommand;
+import java.util.List;
+
+/**
+ * Strategy Pattern - Strategy Interface
+ *
+ * Whoever sits in a seat at a table: a human at the console, a remote
+ * client or an AI. The TableRunner asks the seat to move whenever the
+ * turn (or a pending color choice) is its own, and submits the commands
+ * it returns as one batch (see GameController.submit()). A turn may take
+ * several decisions: after a draw the seat is asked again, and may play
+ * the card drawn or pass.
+ *
+ * A blocking seat is asked on a thread of its own, so it may wait for
+ * its input as long as it likes; the runner stops waiting at the turn
+ * timeout, interrupts it and plays for it. Such seats only see the
+ * copied fields of the TurnView. Seats that never block are asked on the
+ * table's own thread and may also read the live table.
+ */
+public interface Seat {
+    /**
+     * Decides what to do at this point of the turn.
+     *
+     * @param turn What the seat can see
+     * @return Commands to submit as one batch; a rejected or empty batch
+     *         makes the runner ask again
+     * @throws InterruptedException if the runner stopped waiting
+     */
+    List<GameCommand> decide(TurnView turn) throws InterruptedException;
+
+    /**
+     * Checks if decide() may block, for example on a human or the network.
+     *
+     * @return true to be asked on a thread of its own (the default)
+     */
+    default boolean blocks() {
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package controller.seat;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for table loops and blocking seats.
+ *
+ * On a JVM with virtual threads (Java 21 and later) every task gets its
+ * own virtual thread, so tens of thousands of tables can each block on
+ * their seats' input without tying up an OS thread apiece. The lookup is
+ * reflective so the code still builds and runs on Java 17, where tasks
+ * fall back to a cached pool of daemon platform threads.
+ */
+public final class SeatThreads {
+    private static final Method VIRTUAL_EXECUTOR = findVirtualExecutor();
+
+    private SeatThreads() {
+    }
+
+    private static Method findVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if tasks run on virtual threads.
+     *
+     * @return true on a JVM with virtual threads
+     */
+    public static boolean isVirtual() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts every task at once: one virtual
+     * thread per task where available, otherwise pooled platform threads.
+     *
+     * @param name Prefix for the names of platform threads
+     * @return The executor; shut it down when its tables are done
+     */
+    public static ExecutorService newExecutor(String name) {
+        if (VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Virtual threads unavailable, using platform threads: " + e);
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, name + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(factory);
+    }
+}
@@ -0,0 +1,187 @@
+package controller.seat;
+
+import controller.GameController;
+import controller.command.GameCommand;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Plays a table to the end by asking its seats for their moves.
+ *
+ * The runner is the only thread that touches the table. Whenever the
+ * turn or a color choice falls to a seat (the color of a wild to the
+ * seat that played it, after the turn has passed on) it takes a TurnView
+ * and asks the seat: non-blocking seats right away, blocking ones on a thread
+ * from the seat executor, waiting up to the turn timeout. If the seat
+ * times out, fails, or has MAX_ATTEMPTS decisions in a row rejected, the
+ * runner plays that step for it with the table's AI.
+ *
+ * Run it on a thread of its own, for example from SeatThreads.newExecutor(),
+ * where one virtual thread per table and per waiting seat is cheap.
+ * Jumping in out of turn is not offered to seats.
+ */
+public class TableRunner implements Runnable {
+    /** Rejected decisions in a row after which the runner plays for the seat. */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private final GameController controller;
+    private final List<Seat> seats;
+    private final long timeoutNanos;
+    private final ExecutorService seatThreads;
+
+    private long requests;
+    private volatile boolean stopped;
+    private volatile Thread loopThread;
+    private volatile int decisions;
+    private volatile int timeouts;
+    private volatile int rejections;
+    private volatile int fallbacks;
+
+    /**
+     * Constructor for TableRunner.
+     *
+     * @param controller  A started table
+     * @param seats       One seat per player, in seat order
+     * @param turnTimeout How long to wait for a blocking seat; 0 waits forever
+     * @param unit        Unit of turnTimeout
+     * @param seatThreads Runs the blocking seats' decisions
+     */
+    public TableRunner(GameController controller, List<Seat> seats, long turnTimeout, TimeUnit unit,
+            ExecutorService seatThreads) {
+        int players = controller.getGameState().getPlayers().size();
+        if (seats.size() != players) {
+            throw new IllegalArgumentException("Expected " + players + " seats, got " + seats.size());
+        }
+        if (turnTimeout < 0) {
+            throw new IllegalArgumentException("Turn timeout cannot be negative");
+        }
+        this.controller = controller;
+        this.seats = List.copyOf(seats);
+        this.timeoutNanos = unit.toNanos(turnTimeout);
+        this.seatThreads = seatThreads;
+    }
+
+    /**
+     * Plays until the game is over or stop() is called.
+     */
+    @Override
+    public void run() {
+        loopThread = Thread.currentThread();
+        try {
+            while (controller.isGameRunning() && !stopped) {
+                int seat = controller.getDecidingSeat();
+                if (!takeDecision(seats.get(seat))) {
+                    playForSeat();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            loopThread = null;
+        }
+    }
+
+    /**
+     * Asks a seat until one of its decisions is applied.
+     *
+     * @return false if the runner has to play for the seat
+     */
+    private boolean takeDecision(Seat seat) throws InterruptedException {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !stopped; attempt++) {
+            List<GameCommand> commands = ask(seat, attempt);
+            if (commands == null) {
+                return false;
+            }
+            decisions++;
+            if (!commands.isEmpty() && controller.submit(commands)) {
+                return true;
+            }
+            rejections++;
+        }
+        return stopped;
+    }
+
+    /**
+     * Gets one decision from a seat.
+     *
+     * @return The commands, or null if the seat timed out or failed
+     */
+    private List<GameCommand> ask(Seat seat, int attempt) throws InterruptedException {
+        if (!seat.blocks()) {
+            try {
+                return seat.decide(new TurnView(++requests, controller, attempt, true));
+            } catch (RuntimeException e) {
+                System.err.println("Seat failed to decide: " + e);
+                return null;
+            }
+        }
+
+        TurnView view = new TurnView(++requests, controller, attempt, false);
+        Future<List<GameCommand>> decision = seatThreads.submit(() -> seat.decide(view));
+        try {
+            return timeoutNanos > 0 ? decision.get(timeoutNanos, TimeUnit.NANOSECONDS) : decision.get();
+        } catch (TimeoutException e) {
+            decision.cancel(true);
+            timeouts++;
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Seat " + view.getSeat() + " failed to decide: " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            decision.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Plays the current step for a seat that did not (see
+     * GameController.autoPlay()).
+     */
+    private void playForSeat() {
+        if (stopped) {
+            return;
+        }
+        fallbacks++;
+        controller.autoPlay();
+    }
+
+    /**
+     * Stops the runner after the current step, abandoning any seat it is
+     * waiting for.
+     */
+    public void stop() {
+        stopped = true;
+        Thread thread = loopThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    /** Gets the number of decisions the seats returned. */
+    public int getDecisionCount() {
+        return decisions;
+    }
+
+    /** Gets the number of times a seat ran out of time. */
+    public int getTimeoutCount() {
+        return timeouts;
+    }
+
+    /** Gets the number of decisions the table rejected. */
+    public int getRejectionCount() {
+        return rejections;
+    }
+
+    /** Gets the number of steps the runner played for a seat. */
+    public int getFallbackCount() {
+        return fallbacks;
+    }
+}
@@ -0,0 +1,214 @@
+package controller.seat;
+
+import controller.GameController;
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Player;
+import model.rules.RuleSet;
+import java.util.List;
+
+/**
+ * What a seat sees when it is asked to move: a copy of its hand and of
+ * the public state of the table, taken on the table's thread. The copy
+ * stays valid however long the seat takes, even once the runner has
+ * moved on.
+ *
+ * Seats that never block are also given the live table through
+ * getState(); it must not be read from any other thread.
+ */
+public final class TurnView {
+    private final long id;
+    private final int seat;
+    private final int[] handFaces;
+    private final int[] handSizes;
+    private final int topKey;
+    private final int pendingDrawCount;
+    private final boolean clockwise;
+    private final boolean drewThisTurn;
+    private final boolean colorChangeNeeded;
+    private final long playableFaces;
+    private final int attempt;
+    private final GameState liveState;
+    private final RuleSet rules;
+
+    /**
+     * Copies the view of the seat the table is waiting on (see
+     * GameController.getDecidingSeat()).
+     *
+     * @param id         Number of the request, unique for the runner
+     * @param controller The table
+     * @param attempt    How many decisions for this step were rejected before
+     * @param live       Whether to hand out the live table
+     */
+    TurnView(long id, GameController controller, int attempt, boolean live) {
+        this.id = id;
+        GameState state = controller.getGameState();
+        List<Player> players = state.getPlayers();
+        this.seat = controller.getDecidingSeat();
+        this.rules = controller.getRuleSet();
+
+        Player player = players.get(seat);
+        this.handFaces = new int[player.getHandSize()];
+        for (int i = 0; i < handFaces.length; i++) {
+            handFaces[i] = player.getCardFace(i);
+        }
+        this.handSizes = new int[players.size()];
+        for (int i = 0; i < handSizes.length; i++) {
+            handSizes[i] = players.get(i).getHandSize();
+        }
+
+        this.topKey = CardFace.topKey(state.getTopCard());
+        this.pendingDrawCount = state.getPendingDrawCount();
+        this.clockwise = state.isClockwise();
+        this.drewThisTurn = controller.hasDrawnThisTurn();
+        this.colorChangeNeeded = state.isColorChangeNeeded();
+        this.attempt = attempt;
+        this.liveState = live ? state : null;
+
+        // Faces play() would accept now
+        long legal;
+        if (colorChangeNeeded) {
+            legal = 0;
+        } else if (pendingDrawCount > 0) {
+            legal = rules.stackMask(topKey);
+        } else {
+            legal = rules.legalMask(topKey);
+        }
+        if (drewThisTurn && handFaces.length > 0) {
+            legal &= CardFace.mask(handFaces[handFaces.length - 1]);
+        }
+        this.playableFaces = legal & player.getFaceMask();
+    }
+
+    /**
+     * Gets the number of this request to move. Answers that arrive
+     * separately, as from a remote client, carry it back so late answers
+     * to earlier requests can be told apart.
+     *
+     * @return The request number
+     */
+    public long getId() {
+        return id;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getHandSize() {
+        return handFaces.length;
+    }
+
+    /**
+     * Gets the face of a card in the seat's hand.
+     *
+     * @param index The card's index in the hand
+     * @return The face number (see CardFace)
+     */
+    public int getHandFace(int index) {
+        return handFaces[index];
+    }
+
+    /**
+     * Checks if play() would accept a card of the hand now.
+     *
+     * @param index The card's index in the hand
+     * @return true if it can be played
+     */
+    public boolean isPlayable(int index) {
+        if (drewThisTurn && index != handFaces.length - 1) {
+            return false;
+        }
+        return (playableFaces & CardFace.mask(handFaces[index])) != 0;
+    }
+
+    /**
+     * Gets the faces of the hand that can be played now.
+     *
+     * @return Mask of faces (see CardFace)
+     */
+    public long getPlayableFaces() {
+        return playableFaces;
+    }
+
+    /**
+     * Gets the hand size of any seat.
+     *
+     * @param player The seat index
+     * @return Its number of cards
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    public int getPlayerCount() {
+        return handSizes.length;
+    }
+
+    /**
+     * Gets the top card with its active color.
+     *
+     * @return The top key (see CardFace)
+     */
+    public int getTopKey() {
+        return topKey;
+    }
+
+    public CardColor getActiveColor() {
+        return CardFace.colorOfTopKey(topKey);
+    }
+
+    public int getPendingDrawCount() {
+        return pendingDrawCount;
+    }
+
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    /**
+     * Checks if the seat has drawn this turn, in which case it may only
+     * play the last card of its hand or pass.
+     *
+     * @return true after a draw
+     */
+    public boolean hasDrawnThisTurn() {
+        return drewThisTurn;
+    }
+
+    /**
+     * Checks if the seat must choose the color of the wild it just played.
+     *
+     * @return true if a color is needed
+     */
+    public boolean isColorChangeNeeded() {
+        return colorChangeNeeded;
+    }
+
+    /**
+     * Gets how many decisions for this step were rejected before.
+     *
+     * @return 0 on the first try
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the live table, for seats that never block.
+     *
+     * @return The game state
+     * @throws IllegalStateException for a blocking seat
+     */
+    public GameState getState() {
+        if (liveState == null) {
+            throw new IllegalStateException("Blocking seats only see the copied view");
+        }
+        return liveState;
+    }
+}
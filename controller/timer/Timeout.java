@@ -0,0 +1,68 @@
+package controller.timer;
+
+/**
+ * A task scheduled on a TimingWheel, and the handle to cancel it.
+ *
+ * Pending timeouts are nodes of the doubly linked list of their wheel
+ * slot, which is what makes cancelling constant-time. The links and the
+ * state are guarded by the wheel.
+ */
+public final class Timeout {
+    static final int PENDING = 0;
+    static final int EXPIRED = 1;
+    static final int CANCELLED = 2;
+
+    final TimingWheel wheel;
+    final Runnable task;
+    long deadline;  // Tick the task is due at
+    Timeout prev;
+    Timeout next;
+    int state;
+
+    /**
+     * Constructor for a slot's sentinel: an empty list.
+     */
+    Timeout() {
+        this.wheel = null;
+        this.task = null;
+        this.prev = this;
+        this.next = this;
+    }
+
+    Timeout(TimingWheel wheel, Runnable task, long deadline) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task if it has not expired yet.
+     *
+     * @return true if it was pending and will not run
+     */
+    public boolean cancel() {
+        return wheel.cancel(this);
+    }
+
+    /**
+     * Checks if the task is still waiting for its deadline.
+     *
+     * @return true if neither expired nor cancelled
+     */
+    public boolean isPending() {
+        synchronized (wheel) {
+            return state == PENDING;
+        }
+    }
+
+    /**
+     * Checks if the task expired, whether or not it has finished running.
+     *
+     * @return true if its deadline was reached
+     */
+    public boolean isExpired() {
+        synchronized (wheel) {
+            return state == EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package controller.timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A hierarchical timing wheel: keeps millions of pending deadlines with
+ * constant-time schedule and cancel.
+ *
+ * Time is counted in ticks. The wheel has LEVELS levels of SLOTS slots.
+ * Level 0 holds the deadlines of the next SLOTS ticks, one slot per tick,
+ * and each level above covers SLOTS times the span of the one below. A
+ * deadline goes into the lowest level that reaches it, in the slot its
+ * tick falls in, as a node of that slot's linked list, so scheduling and
+ * cancelling move a few links whatever the number pending. Whenever the
+ * slot index of a level wraps around to 0, the next slot of the level
+ * above is spread over the levels below, so each deadline is moved at
+ * most LEVELS - 1 times before it expires.
+ *
+ * Deadlines are rounded up to a tick: tasks never run early and run up to
+ * a tick late. The wheel moves on when advance() is called, by the ticker
+ * thread start() launches or by the caller's own loop. Expired tasks run
+ * on the advancing thread outside the wheel's lock, in deadline order, so
+ * they should be short and hand real work to another executor. All
+ * methods are thread-safe.
+ */
+public final class TimingWheel implements AutoCloseable {
+    public static final int SLOT_BITS = 8;
+    public static final int SLOTS = 1 << SLOT_BITS;
+    public static final int LEVELS = 4;
+    /** Longest delay, in ticks. */
+    public static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Timeout[] slots;  // Sentinels, [level * SLOTS + slot]
+
+    // Guarded by this
+    private long tick;  // Next tick to process
+    private int pending;
+    private Thread ticker;
+    private boolean closed;
+
+    /**
+     * Constructor for TimingWheel, on System.nanoTime().
+     *
+     * @param tick Duration of a tick, the wheel's resolution
+     * @param unit Unit of tick
+     */
+    public TimingWheel(long tick, TimeUnit unit) {
+        this(tick, unit, System::nanoTime);
+    }
+
+    /**
+     * Constructor for TimingWheel, on any clock (for example a simulated
+     * one driven together with advance()).
+     *
+     * @param tick  Duration of a tick, the wheel's resolution
+     * @param unit  Unit of tick
+     * @param clock Current time in nanoseconds, never going back
+     */
+    public TimingWheel(long tick, TimeUnit unit, LongSupplier clock) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tick);
+        }
+        this.tickNanos = unit.toNanos(tick);
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.slots = new Timeout[LEVELS * SLOTS];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Timeout();
+        }
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task  Runs on the advancing thread once the delay is over
+     * @param delay The delay, at most MAX_TICKS ticks
+     * @param unit  Unit of delay
+     * @return The handle to cancel the task; already cancelled if the
+     *         wheel is closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long delayNanos = unit.toNanos(Math.max(delay, 0));
+        if (delayNanos / tickNanos >= MAX_TICKS) {
+            throw new IllegalArgumentException("Delay beyond the wheel: " + delay + " " + unit);
+        }
+        long elapsed = clock.getAsLong() - origin;
+        Timeout timeout = new Timeout(this, task, (elapsed + delayNanos + tickNanos - 1) / tickNanos);
+        synchronized (this) {
+            if (closed) {
+                timeout.state = Timeout.CANCELLED;
+                return timeout;
+            }
+            insert(timeout);
+            pending++;
+        }
+        return timeout;
+    }
+
+    /**
+     * Links a timeout into the slot of its deadline, relative to the next
+     * tick to process.
+     */
+    private void insert(Timeout timeout) {
+        long deadline = Math.max(timeout.deadline, tick);
+        long delta = deadline - tick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Timeout sentinel = slots[level * SLOTS + slot];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private static void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    synchronized boolean cancel(Timeout timeout) {
+        if (timeout.state != Timeout.PENDING) {
+            return false;
+        }
+        unlink(timeout);
+        timeout.state = Timeout.CANCELLED;
+        pending--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to the clock's current time and runs the
+     * tasks that expired.
+     *
+     * @return Number of tasks run
+     */
+    public int advance() {
+        Timeout expired = null; // Chained through next, in deadline order
+        Timeout last = null;
+        synchronized (this) {
+            long now = (clock.getAsLong() - origin) / tickNanos;
+            while (tick <= now && !closed) {
+                if (pending == 0) {
+                    tick = now + 1; // Nothing to cascade on the way
+                    break;
+                }
+                if ((tick & SLOT_MASK) == 0) {
+                    cascade();
+                }
+                Timeout sentinel = slots[(int) (tick & SLOT_MASK)];
+                for (Timeout timeout = sentinel.next; timeout != sentinel; ) {
+                    Timeout next = timeout.next;
+                    timeout.state = Timeout.EXPIRED;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    if (last == null) {
+                        expired = timeout;
+                    } else {
+                        last.next = timeout;
+                    }
+                    last = timeout;
+                    pending--;
+                    timeout = next;
+                }
+                sentinel.next = sentinel;
+                sentinel.prev = sentinel;
+                tick++;
+            }
+        }
+
+        int count = 0;
+        for (Timeout timeout = expired; timeout != null; timeout = timeout.next) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Timeout task failed: " + e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Spreads the slots of the upper levels that start at the current
+     * tick over the levels below.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout sentinel = slots[level * SLOTS + slot];
+            Timeout timeout = sentinel.next;
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+            while (timeout != sentinel) {
+                Timeout next = timeout.next;
+                insert(timeout);
+                timeout = next;
+            }
+            if (slot != 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Starts a daemon thread that advances the wheel every tick.
+     *
+     * @param name Name of the thread
+     */
+    public synchronized void start(String name) {
+        if (closed || ticker != null) {
+            throw new IllegalStateException("Timing wheel already started or closed");
+        }
+        ticker = new Thread(this::tickLoop, name);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private void tickLoop() {
+        while (!isClosed()) {
+            advance();
+            long next;
+            synchronized (this) {
+                next = origin + tick * tickNanos;
+            }
+            LockSupport.parkNanos(next - clock.getAsLong());
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the number of tasks waiting for their deadline.
+     *
+     * @return Pending tasks
+     */
+    public synchronized int size() {
+        return pending;
+    }
+
+    /**
+     * Gets the duration of a tick.
+     *
+     * @return Nanoseconds per tick
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Stops the ticker thread. Pending tasks, and tasks scheduled from now
+     * on, are dropped without running.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = ticker;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
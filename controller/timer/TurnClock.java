@@ -0,0 +1,145 @@
+package controller.timer;
+
+import controller.GameController;
+import model.GameState;
+import model.Player;
+import observer.GameObserver;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observer Pattern - Observer
+ *
+ * The turn clock of one table: a seat that keeps the table waiting longer
+ * than the turn timeout has its step played for it (see
+ * GameController.autoPlay()).
+ *
+ * Every change of the table restarts the clock of the seat to act, so a
+ * seat that draws gets the whole timeout again to play or pass. Only
+ * timed seats are clocked, by default the human ones. The deadline is a
+ * Timeout on a TimingWheel shared by any number of tables; when it
+ * expires, the auto-play is handed to the table's executor, the one its
+ * commands run on, and dropped there if the table changed in the meantime.
+ * Create the clock and call setTimed() on that executor too.
+ */
+public class TurnClock implements GameObserver, AutoCloseable {
+    /** How long an inactive human seat has before its step is played for it. */
+    public static final long DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final GameController controller;
+    private final TimingWheel wheel;
+    private final long timeoutNanos;
+    private final Executor tableExecutor;
+    private final boolean[] timed;
+
+    // Guarded by this
+    private long turn;  // Counts the table's changes
+    private Timeout deadline;
+    private boolean closed;
+    private volatile long autoPlays;
+
+    /**
+     * Constructor for TurnClock. The clock attaches to the table and
+     * starts with the turn in progress.
+     *
+     * @param controller    The table
+     * @param wheel         The wheel holding the deadlines
+     * @param timeout       How long a timed seat may take for a step
+     * @param unit          Unit of timeout
+     * @param tableExecutor Runs the table's commands, one at a time (for
+     *                      example SwingUtilities::invokeLater for the GUI)
+     */
+    public TurnClock(GameController controller, TimingWheel wheel, long timeout, TimeUnit unit,
+            Executor tableExecutor) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Turn timeout must be positive: " + timeout);
+        }
+        this.controller = controller;
+        this.wheel = wheel;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.tableExecutor = tableExecutor;
+
+        List<Player> players = controller.getGameState().getPlayers();
+        this.timed = new boolean[players.size()];
+        for (int seat = 0; seat < timed.length; seat++) {
+            timed[seat] = players.get(seat).isHuman();
+        }
+
+        controller.getGameState().addObserver(this);
+        update(controller.getGameState());
+    }
+
+    /**
+     * Sets whether a seat is clocked.
+     *
+     * @param seat  The seat
+     * @param timed Whether its steps are played for it after the timeout
+     */
+    public void setTimed(int seat, boolean timed) {
+        if (seat < 0 || seat >= this.timed.length) {
+            throw new IllegalArgumentException("Invalid seat: " + seat);
+        }
+        this.timed[seat] = timed;
+        update(controller.getGameState());
+    }
+
+    @Override
+    public synchronized void update(GameState state) {
+        turn++;
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+        if (closed || !controller.isGameRunning() || !timed[state.getCurrentPlayerIndex()]) {
+            return;
+        }
+        long armed = turn;
+        deadline = wheel.schedule(() -> tableExecutor.execute(() -> expire(armed)),
+                timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Plays for the seat to act, on the table's executor, if the table has
+     * not changed since the clock was armed.
+     */
+    private void expire(long armed) {
+        synchronized (this) {
+            if (armed != turn || closed) {
+                return;
+            }
+            deadline = null;
+            autoPlays++;
+        }
+        controller.autoPlay();
+        synchronized (this) {
+            if (armed == turn) {
+                update(controller.getGameState()); // Nothing happened: rearm
+            }
+        }
+    }
+
+    /**
+     * Gets the number of steps played for seats that ran out of time.
+     *
+     * @return Auto-played steps
+     */
+    public long getAutoPlayCount() {
+        return autoPlays;
+    }
+
+    /**
+     * Stops the clock and detaches it from the table.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (deadline != null) {
+                deadline.cancel();
+                deadline = null;
+            }
+        }
+        controller.getGameState().removeObserver(this);
+    }
+}
@@ -0,0 +1,87 @@
+package matchmaking;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A player waiting in the lobby.
+ *
+ * A ticket is either waiting, seated at a table or cancelled. Seating and
+ * cancelling race through one compare-and-set, so a player who leaves the
+ * lobby is never seated afterwards.
+ */
+public final class LobbyTicket {
+    private static final int WAITING = 0;
+    private static final int SEATED = 1;
+    private static final int CANCELLED = 2;
+
+    private static final AtomicIntegerFieldUpdater<LobbyTicket> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(LobbyTicket.class, "state");
+
+    private final long playerId;
+    private final int rating;
+    private final long joinedAt;
+    private volatile int state;
+
+    /**
+     * Constructor for LobbyTicket.
+     *
+     * @param playerId The player's id
+     * @param rating   The player's skill rating
+     * @param joinedAt When the player joined, from System.nanoTime()
+     */
+    public LobbyTicket(long playerId, int rating, long joinedAt) {
+        this.playerId = playerId;
+        this.rating = rating;
+        this.joinedAt = joinedAt;
+    }
+
+    /**
+     * Takes the player out of the lobby.
+     *
+     * @return true if cancelled, false if the player was already seated or gone
+     */
+    public boolean cancel() {
+        return STATE.compareAndSet(this, WAITING, CANCELLED);
+    }
+
+    /**
+     * Claims the player for a table. Called by the matchmaker only.
+     *
+     * @return true if claimed, false if the ticket was cancelled
+     */
+    boolean seat() {
+        return STATE.compareAndSet(this, WAITING, SEATED);
+    }
+
+    /**
+     * Puts a claimed player back in the lobby when the table could not be filled.
+     */
+    void unseat() {
+        state = WAITING;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public long getJoinedAt() {
+        return joinedAt;
+    }
+
+    public boolean isSeated() {
+        return state == SEATED;
+    }
+
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public String toString() {
+        return "LobbyTicket[" + playerId + ", rating " + rating + "]";
+    }
+}
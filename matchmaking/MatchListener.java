@@ -0,0 +1,15 @@
+package matchmaking;
+
+import java.util.List;
+
+/**
+ * Receives the tables formed by a Matchmaker.
+ */
+public interface MatchListener {
+    /**
+     * Called once per formation pass with every table it formed.
+     *
+     * @param tables The seated players of each table, in seat order
+     */
+    void onTablesFormed(List<LobbyTicket[]> tables);
+}
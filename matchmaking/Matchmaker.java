@@ -0,0 +1,298 @@
+package matchmaking;
+
+import controller.GameManager;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Forms tables from the players waiting in the lobby, by skill rating.
+ *
+ * Ratings are split into fixed-width bands. Joining only appends the
+ * ticket to its band's lock-free queue, so any number of threads can join
+ * at once without contending on a shared lock. Tables are formed in
+ * batches by formTables(), which one thread at a time runs (typically a
+ * scheduled task): it drains each band's queue into a private waiting
+ * line, seats full tables from each band, then serves players who have
+ * waited too long.
+ *
+ * Waiting is bounded: once the oldest player of a band has waited
+ * maxWait, the search widens by one neighbouring band on each side for
+ * every further maxWait, up to MAX_BAND_SPREAD bands. A player who still
+ * cannot fill a table at the widest spread is seated at a smaller one, as
+ * long as at least GameManager.MIN_PLAYERS are available.
+ */
+public class Matchmaker {
+    public static final int MAX_TABLE_SIZE = 10;
+    public static final int MAX_BAND_SPREAD = 3;
+
+    private final int tableSize;
+    private final int bandWidth;
+    private final long maxWaitNanos;
+    private final Band[] bands;
+    private final MatchListener listener;
+    private final ReentrantLock formLock;
+
+    private final LongAdder joined;
+    private final LongAdder cancelled;
+    private volatile long tablesFormed;
+    private volatile long playersSeated;
+
+    /**
+     * One rating band: the queue joins go to and the line the former works on.
+     */
+    private static final class Band {
+        final ConcurrentLinkedQueue<LobbyTicket> incoming = new ConcurrentLinkedQueue<>();
+        final ArrayDeque<LobbyTicket> waiting = new ArrayDeque<>();
+    }
+
+    /**
+     * Constructor for Matchmaker.
+     *
+     * @param tableSize Players per table (2-10)
+     * @param bandWidth Rating points per band
+     * @param bandCount Number of bands; higher ratings go to the last band
+     * @param maxWait   How long a player waits before the search widens (positive)
+     * @param unit      Unit of maxWait
+     * @param listener  Receives the tables formed
+     */
+    public Matchmaker(int tableSize, int bandWidth, int bandCount, long maxWait, TimeUnit unit,
+            MatchListener listener) {
+        if (tableSize < GameManager.MIN_PLAYERS || tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Table size must be between " + GameManager.MIN_PLAYERS + " and " + MAX_TABLE_SIZE);
+        }
+        if (bandWidth <= 0 || bandCount <= 0 || maxWait <= 0) {
+            throw new IllegalArgumentException("Band width, band count and maximum wait must be positive");
+        }
+        this.tableSize = tableSize;
+        this.bandWidth = bandWidth;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.bands = new Band[bandCount];
+        for (int i = 0; i < bandCount; i++) {
+            bands[i] = new Band();
+        }
+        this.listener = listener;
+        this.formLock = new ReentrantLock();
+        this.joined = new LongAdder();
+        this.cancelled = new LongAdder();
+    }
+
+    /**
+     * Adds a player to the lobby. Safe to call from any thread.
+     *
+     * @param playerId The player's id
+     * @param rating   The player's skill rating
+     * @return The ticket, which can be used to leave the lobby
+     */
+    public LobbyTicket join(long playerId, int rating) {
+        LobbyTicket ticket = new LobbyTicket(playerId, rating, System.nanoTime());
+        bands[bandOf(rating)].incoming.offer(ticket);
+        joined.increment();
+        return ticket;
+    }
+
+    /**
+     * Takes a player out of the lobby.
+     *
+     * @param ticket The ticket returned by join()
+     * @return true if the player left, false if already seated
+     */
+    public boolean leave(LobbyTicket ticket) {
+        boolean left = ticket.cancel();
+        if (left) {
+            cancelled.increment();
+        }
+        return left;
+    }
+
+    private int bandOf(int rating) {
+        return Math.max(0, Math.min(bands.length - 1, rating / bandWidth));
+    }
+
+    /**
+     * Forms every table that can be formed now and passes them to the
+     * listener in one call. If another thread is already forming tables,
+     * returns at once.
+     *
+     * @return Number of tables formed
+     */
+    public int formTables() {
+        List<LobbyTicket[]> tables = new ArrayList<>();
+        if (!formLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long now = System.nanoTime();
+            for (Band band : bands) {
+                drain(band);
+            }
+
+            // Full tables within each band
+            for (int b = 0; b < bands.length; b++) {
+                while (bands[b].waiting.size() >= tableSize) {
+                    LobbyTicket[] table = seat(b, 0, tableSize);
+                    if (table == null) {
+                        break;
+                    }
+                    tables.add(table);
+                }
+            }
+
+            // Players who have waited too long, oldest of each band first
+            for (int b = 0; b < bands.length; b++) {
+                ArrayDeque<LobbyTicket> waiting = bands[b].waiting;
+                LobbyTicket oldest;
+                while ((oldest = oldestWaiting(waiting)) != null) {
+                    long waited = now - oldest.getJoinedAt();
+                    if (waited < maxWaitNanos) {
+                        break;
+                    }
+                    int spread = (int) Math.min(MAX_BAND_SPREAD, waited / maxWaitNanos);
+                    int available = availableAround(b, spread);
+                    int size;
+                    if (available >= tableSize) {
+                        size = tableSize;
+                    } else if (spread == MAX_BAND_SPREAD && available >= GameManager.MIN_PLAYERS) {
+                        size = available;
+                    } else {
+                        break; // Younger players of this band have waited even less
+                    }
+                    LobbyTicket[] table = seat(b, spread, size);
+                    if (table == null) {
+                        break;
+                    }
+                    tables.add(table);
+                }
+            }
+
+            if (!tables.isEmpty()) {
+                int seated = 0;
+                for (LobbyTicket[] table : tables) {
+                    seated += table.length;
+                }
+                tablesFormed += tables.size();
+                playersSeated += seated;
+            }
+        } finally {
+            formLock.unlock();
+        }
+
+        if (!tables.isEmpty()) {
+            listener.onTablesFormed(tables);
+        }
+        return tables.size();
+    }
+
+    /**
+     * Moves newly joined players into the band's waiting line, dropping
+     * those who already left.
+     */
+    private static void drain(Band band) {
+        LobbyTicket ticket;
+        while ((ticket = band.incoming.poll()) != null) {
+            if (!ticket.isCancelled()) {
+                band.waiting.addLast(ticket);
+            }
+        }
+    }
+
+    /**
+     * Drops the players who left from the front of a waiting line, so a
+     * cancelled ticket never counts as the longest wait.
+     *
+     * @return The oldest ticket still waiting, or null
+     */
+    private static LobbyTicket oldestWaiting(ArrayDeque<LobbyTicket> waiting) {
+        LobbyTicket oldest;
+        while ((oldest = waiting.peekFirst()) != null && oldest.isCancelled()) {
+            waiting.pollFirst();
+        }
+        return oldest;
+    }
+
+    private int availableAround(int band, int spread) {
+        int available = 0;
+        for (int b = Math.max(0, band - spread); b <= Math.min(bands.length - 1, band + spread); b++) {
+            available += bands[b].waiting.size();
+        }
+        return available;
+    }
+
+    /**
+     * Seats a table from a band, then from its neighbours nearest first.
+     *
+     * @param band   The band to seat first
+     * @param spread How many bands away players may come from
+     * @param size   Players to seat
+     * @return The table, or null if cancellations left too few players
+     */
+    private LobbyTicket[] seat(int band, int spread, int size) {
+        LobbyTicket[] table = new LobbyTicket[size];
+        int count = 0;
+        for (int distance = 0; distance <= spread && count < size; distance++) {
+            count = take(band - distance, table, count);
+            if (distance > 0) {
+                count = take(band + distance, table, count);
+            }
+        }
+        if (count == size) {
+            return table;
+        }
+
+        // Players left while the table was being seated: put the rest back
+        for (int i = count - 1; i >= 0; i--) {
+            table[i].unseat();
+            bands[bandOf(table[i].getRating())].waiting.addFirst(table[i]);
+        }
+        return null;
+    }
+
+    private int take(int band, LobbyTicket[] table, int count) {
+        if (band < 0 || band >= bands.length) {
+            return count;
+        }
+        ArrayDeque<LobbyTicket> waiting = bands[band].waiting;
+        while (count < table.length && !waiting.isEmpty()) {
+            LobbyTicket ticket = waiting.pollFirst();
+            if (ticket.seat()) {
+                table[count++] = ticket;
+            }
+        }
+        return count;
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    public long getJoinedCount() {
+        return joined.sum();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.sum();
+    }
+
+    public long getTablesFormed() {
+        return tablesFormed;
+    }
+
+    public long getPlayersSeated() {
+        return playersSeated;
+    }
+
+    /**
+     * Gets the number of players still waiting. Approximate while players
+     * are joining or leaving.
+     *
+     * @return Waiting player count
+     */
+    public long getWaitingCount() {
+        return joined.sum() - cancelled.sum() - playersSeated;
+    }
+}
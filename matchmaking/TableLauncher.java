@@ -0,0 +1,54 @@
+package matchmaking;
+
+import controller.GameController;
+import controller.GameManager;
+import model.Player;
+import model.rules.RuleSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Starts a game for every table the matchmaker forms.
+ *
+ * Each table gets its own controller and deck from GameManager, seeded
+ * from the launcher's seed and a table counter. The players are human
+ * seats: whoever hosts the table drives them through the controller.
+ */
+public class TableLauncher implements MatchListener {
+    private final RuleSet ruleSet;
+    private final long seed;
+    private final AtomicLong tableCount;
+    private final BiConsumer<LobbyTicket[], GameController> onStarted;
+
+    /**
+     * Constructor for TableLauncher.
+     *
+     * @param ruleSet   The rules of every table
+     * @param seed      Base seed for the tables' shuffles
+     * @param onStarted Receives each table's players and its started controller
+     */
+    public TableLauncher(RuleSet ruleSet, long seed, BiConsumer<LobbyTicket[], GameController> onStarted) {
+        this.ruleSet = ruleSet;
+        this.seed = seed;
+        this.tableCount = new AtomicLong();
+        this.onStarted = onStarted;
+    }
+
+    @Override
+    public void onTablesFormed(List<LobbyTicket[]> tables) {
+        for (LobbyTicket[] seats : tables) {
+            List<Player> players = new ArrayList<>(seats.length);
+            for (LobbyTicket ticket : seats) {
+                players.add(new Player("Player " + ticket.getPlayerId(), true));
+            }
+            long tableSeed = seed + tableCount.incrementAndGet() * 0x9E3779B97F4A7C15L;
+            onStarted.accept(seats, GameManager.createTable(players, ruleSet, tableSeed));
+        }
+    }
+
+    public long getTableCount() {
+        return tableCount.get();
+    }
+}
@@ -0,0 +1,191 @@
+package model;
+
+import model.strategy.*;
+
+/**
+ * Compact integer encoding of the 54 distinct UNO card faces.
+ *
+ * Colored faces are numbered color * 13 + rank, where ranks 0-9 are the
+ * number cards and 10, 11, 12 are Skip, Reverse and Draw Two. Wild and
+ * Wild Draw Four follow as 52 and 53, so any set of faces fits in a long.
+ *
+ * The top of the discard pile additionally needs the active color of a
+ * wild, so top cards use a separate key space: colored faces keep their
+ * face number and wilds get one key per (wild type, color) pair.
+ */
+public final class CardFace {
+    public static final int RANKS_PER_COLOR = 13;
+    public static final int SKIP_RANK = 10;
+    public static final int REVERSE_RANK = 11;
+    public static final int DRAW_TWO_RANK = 12;
+
+    public static final int WILD = 52;
+    public static final int WILD_DRAW_FOUR = 53;
+    public static final int COUNT = 54;
+
+    public static final int TOP_KEY_COUNT = WILD + 2 * 5;
+
+    private static final CardColor[] COLORS = CardColor.values();
+
+    private CardFace() {
+    }
+
+    /**
+     * Encodes a card as its face number.
+     *
+     * @param card The card
+     * @return Face number in [0, COUNT)
+     */
+    public static int of(Card card) {
+        switch (card.getType()) {
+            case WILD:
+                return WILD;
+            case WILD_DRAW_FOUR:
+                return WILD_DRAW_FOUR;
+            case NUMBER:
+                return card.getColor().ordinal() * RANKS_PER_COLOR + card.getValue();
+            case SKIP:
+                return card.getColor().ordinal() * RANKS_PER_COLOR + SKIP_RANK;
+            case REVERSE:
+                return card.getColor().ordinal() * RANKS_PER_COLOR + REVERSE_RANK;
+            default:
+                return card.getColor().ordinal() * RANKS_PER_COLOR + DRAW_TWO_RANK;
+        }
+    }
+
+    /**
+     * Encodes the top card of the discard pile, including the color
+     * chosen for a wild.
+     *
+     * @param topCard The card on top of the discard pile
+     * @return Top key in [0, TOP_KEY_COUNT)
+     */
+    public static int topKey(Card topCard) {
+        int face = of(topCard);
+        if (face < WILD) {
+            return face;
+        }
+        return topKey(face, topCard.getColor());
+    }
+
+    /**
+     * Encodes a face shown with the given active color.
+     *
+     * @param face  The face number
+     * @param color The active color (only used for wilds)
+     * @return Top key in [0, TOP_KEY_COUNT)
+     */
+    public static int topKey(int face, CardColor color) {
+        if (face < WILD) {
+            return face;
+        }
+        return WILD + (face == WILD_DRAW_FOUR ? 5 : 0) + color.ordinal();
+    }
+
+    /**
+     * Gets the face number shown by a top key.
+     *
+     * @param topKey The top key
+     * @return The face number
+     */
+    public static int faceOfTopKey(int topKey) {
+        if (topKey < WILD) {
+            return topKey;
+        }
+        return topKey < WILD + 5 ? WILD : WILD_DRAW_FOUR;
+    }
+
+    /**
+     * Gets the active color shown by a top key.
+     *
+     * @param topKey The top key
+     * @return The active color
+     */
+    public static CardColor colorOfTopKey(int topKey) {
+        if (topKey < WILD) {
+            return COLORS[topKey / RANKS_PER_COLOR];
+        }
+        return COLORS[(topKey - WILD) % 5];
+    }
+
+    public static CardColor colorOf(int face) {
+        return face >= WILD ? CardColor.WILD : COLORS[face / RANKS_PER_COLOR];
+    }
+
+    public static CardType typeOf(int face) {
+        if (face == WILD) {
+            return CardType.WILD;
+        }
+        if (face == WILD_DRAW_FOUR) {
+            return CardType.WILD_DRAW_FOUR;
+        }
+        switch (face % RANKS_PER_COLOR) {
+            case SKIP_RANK:
+                return CardType.SKIP;
+            case REVERSE_RANK:
+                return CardType.REVERSE;
+            case DRAW_TWO_RANK:
+                return CardType.DRAW_TWO;
+            default:
+                return CardType.NUMBER;
+        }
+    }
+
+    /**
+     * Gets the number shown by a face.
+     *
+     * @param face The face number
+     * @return 0-9 for number cards, -1 otherwise
+     */
+    public static int valueOf(int face) {
+        int rank = face % RANKS_PER_COLOR;
+        return face < WILD && rank < SKIP_RANK ? rank : -1;
+    }
+
+    /**
+     * Gets how many cards of a face one 108-card deck holds.
+     *
+     * @param face The face number
+     * @return 1 for zeros, 4 for each wild, 2 for the rest
+     */
+    public static int copiesPerDeck(int face) {
+        if (face >= WILD) {
+            return 4;
+        }
+        return face % RANKS_PER_COLOR == 0 ? 1 : 2;
+    }
+
+    /**
+     * Gets the single-bit mask of a face.
+     *
+     * @param face The face number
+     * @return A mask with only that face's bit set
+     */
+    public static long mask(int face) {
+        return 1L << face;
+    }
+
+    /**
+     * Creates a new card showing the given face.
+     *
+     * @param face The face number
+     * @return A new card
+     */
+    public static Card newCard(int face) {
+        CardColor color = colorOf(face);
+        switch (typeOf(face)) {
+            case NUMBER:
+                return new NumberCard(color, valueOf(face));
+            case SKIP:
+                return new ActionCard(color, CardType.SKIP, SkipEffect.getInstance());
+            case REVERSE:
+                return new ActionCard(color, CardType.REVERSE, ReverseEffect.getInstance());
+            case DRAW_TWO:
+                return new ActionCard(color, CardType.DRAW_TWO, DrawTwoEffect.getInstance());
+            case WILD:
+                return new WildCard(CardType.WILD, WildEffect.getInstance());
+            default:
+                return new WildCard(CardType.WILD_DRAW_FOUR, WildDrawFourEffect.getInstance());
+        }
+    }
+}
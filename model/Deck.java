@@ -4,28 +4,81 @@ import model.strategy.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Singleton Pattern - Manages the deck of UNO cards.
  * 
  * Ensures only one deck exists per game.
  * Manages both the draw pile and discard pile.
+ * The shared instance serves the interactive game; headless tables
+ * running side by side each create their own seeded deck.
+ * Large tables play from a shoe of several standard decks shuffled together.
  */
 public class Deck {
+    public static final int CARDS_PER_DECK = 108;
+
     private static Deck instance;
     private List<Card> drawPile;
     private List<Card> discardPile;
+    private final Random random;
+    private int deckCount;
 
     /**
      * Private constructor for Singleton pattern.
      * Initializes a standard UNO deck (108 cards).
      */
     private Deck() {
-        drawPile = new ArrayList<>();
-        discardPile = new ArrayList<>();
+        this(new Random());
+    }
+
+    /**
+     * Constructor for a standalone deck, for headless tables.
+     * Shuffles are drawn from the given generator, so a seeded
+     * generator deals the same game every time.
+     * 
+     * @param random The random generator used for shuffling
+     */
+    public Deck(Random random) {
+        this(1, random);
+    }
+
+    /**
+     * Constructor for a standalone shoe of several decks, for large tables.
+     * 
+     * @param deckCount Number of 108-card decks shuffled together
+     * @param random    The random generator used for shuffling
+     */
+    public Deck(int deckCount, Random random) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("Deck count must be at least 1: " + deckCount);
+        }
+        this.random = random;
+        this.deckCount = deckCount;
+        drawPile = new ArrayList<>(deckCount * CARDS_PER_DECK);
+        discardPile = new ArrayList<>(deckCount * CARDS_PER_DECK);
         initializeDeck();
     }
 
+    /**
+     * Constructor for a deck restored from saved piles, for tables brought
+     * back from storage. The piles are copied as given, without shuffling.
+     * 
+     * @param drawPile    The draw pile; the last card is drawn next
+     * @param discardPile The discard pile; the last card is on top
+     * @param deckCount   Number of 108-card decks the piles came from
+     * @param random      The random generator used for reshuffles
+     */
+    public Deck(List<Card> drawPile, List<Card> discardPile, int deckCount, Random random) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("Deck count must be at least 1: " + deckCount);
+        }
+        this.random = random;
+        this.deckCount = deckCount;
+        this.drawPile = new ArrayList<>(drawPile);
+        this.discardPile = new ArrayList<>(discardPile);
+    }
+
     /**
      * Gets the singleton instance of the Deck.
      * 
@@ -48,12 +101,38 @@ public class Deck {
     }
 
     /**
-     * Initializes a standard UNO deck with 108 cards:
+     * Sets how many decks make up the shoe from the next reset() on.
+     * 
+     * @param deckCount Number of 108-card decks
+     */
+    public void setDeckCount(int deckCount) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("Deck count must be at least 1: " + deckCount);
+        }
+        this.deckCount = deckCount;
+    }
+
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    /**
+     * Initializes the shoe with deckCount standard UNO decks of 108 cards:
      * - Number cards (0-9) in 4 colors: 1 zero per color, 2 of each 1-9
      * - Action cards (Skip, Reverse, Draw Two) in 4 colors: 2 of each per color
      * - Wild cards: 4 Wild, 4 Wild Draw Four
      */
     private void initializeDeck() {
+        for (int i = 0; i < deckCount; i++) {
+            addStandardDeck();
+        }
+        shuffle();
+    }
+
+    /**
+     * Adds the 108 cards of one standard deck to the draw pile.
+     */
+    private void addStandardDeck() {
         CardColor[] colors = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
 
         // Add number cards
@@ -68,32 +147,30 @@ public class Deck {
             }
         }
 
-        // Add action cards (2 of each per color)
+        // Add action cards (2 of each per color), sharing the effect flyweights
         for (CardColor color : colors) {
-            drawPile.add(new ActionCard(color, CardType.SKIP, new SkipEffect()));
-            drawPile.add(new ActionCard(color, CardType.SKIP, new SkipEffect()));
+            drawPile.add(new ActionCard(color, CardType.SKIP, SkipEffect.getInstance()));
+            drawPile.add(new ActionCard(color, CardType.SKIP, SkipEffect.getInstance()));
 
-            drawPile.add(new ActionCard(color, CardType.REVERSE, new ReverseEffect()));
-            drawPile.add(new ActionCard(color, CardType.REVERSE, new ReverseEffect()));
+            drawPile.add(new ActionCard(color, CardType.REVERSE, ReverseEffect.getInstance()));
+            drawPile.add(new ActionCard(color, CardType.REVERSE, ReverseEffect.getInstance()));
 
-            drawPile.add(new ActionCard(color, CardType.DRAW_TWO, new DrawTwoEffect()));
-            drawPile.add(new ActionCard(color, CardType.DRAW_TWO, new DrawTwoEffect()));
+            drawPile.add(new ActionCard(color, CardType.DRAW_TWO, DrawTwoEffect.getInstance()));
+            drawPile.add(new ActionCard(color, CardType.DRAW_TWO, DrawTwoEffect.getInstance()));
         }
 
         // Add wild cards (4 of each)
         for (int i = 0; i < 4; i++) {
-            drawPile.add(new WildCard(CardType.WILD, new WildEffect()));
-            drawPile.add(new WildCard(CardType.WILD_DRAW_FOUR, new WildDrawFourEffect()));
+            drawPile.add(new WildCard(CardType.WILD, WildEffect.getInstance()));
+            drawPile.add(new WildCard(CardType.WILD_DRAW_FOUR, WildDrawFourEffect.getInstance()));
         }
-
-        shuffle();
     }
 
     /**
      * Shuffles the draw pile.
      */
     public void shuffle() {
-        Collections.shuffle(drawPile);
+        Collections.shuffle(drawPile, random);
     }
 
     /**
@@ -114,6 +191,26 @@ public class Deck {
         return drawPile.remove(drawPile.size() - 1);
     }
 
+    /**
+     * Puts a drawn card back into the draw pile at a random position,
+     * for a wild turned up as the first card.
+     * 
+     * @param card The card to put back
+     */
+    public void returnToDrawPile(Card card) {
+        drawPile.add(random.nextInt(drawPile.size() + 1), card);
+    }
+
+    /**
+     * Checks if a card can be drawn, counting the discard pile below the
+     * top card, which draw() reshuffles when the draw pile runs out.
+     * 
+     * @return true if draw() will return a card
+     */
+    public boolean hasCardsToDraw() {
+        return !drawPile.isEmpty() || discardPile.size() > 1;
+    }
+
     /**
      * Adds a card to the discard pile.
      * 
@@ -156,6 +253,34 @@ public class Deck {
         shuffle();
     }
 
+    /**
+     * Gets a read-only view of the draw pile; the last card is drawn next.
+     * 
+     * @return The draw pile
+     */
+    public List<Card> drawPileView() {
+        return Collections.unmodifiableList(drawPile);
+    }
+
+    /**
+     * Gets a read-only view of the discard pile; the last card is on top.
+     * 
+     * @return The discard pile
+     */
+    public List<Card> discardPileView() {
+        return Collections.unmodifiableList(discardPile);
+    }
+
+    /**
+     * Replaces both piles, for restoring a TableMemento.
+     */
+    void restorePiles(List<Card> draw, List<Card> discard) {
+        drawPile.clear();
+        drawPile.addAll(draw);
+        discardPile.clear();
+        discardPile.addAll(discard);
+    }
+
     /**
      * Gets the number of cards remaining in the draw pile.
      * 
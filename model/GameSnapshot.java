@@ -0,0 +1,498 @@
+package model;
+
+import model.rules.RuleSet;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact, observer-free copy of a game for search.
+ *
+ * Hands are stored as per-face counts in one byte array (54 entries per
+ * seat), piles as arrays of face numbers, and everything else as plain
+ * ints, so copy() is a handful of array copies. apply() and undo() make
+ * and unmake moves in place without allocating, recording what they
+ * need on an internal int stack.
+ *
+ * Every snapshot also carries a Zobrist hash of its position (see
+ * Zobrist), kept up to date card by card as moves are made and unmade.
+ *
+ * A snapshot sees every card, including the draw pile order, so it is a
+ * perfect-information view. It models the standard rules plus stacking,
+ * draw-until-playable, seven-swap and zero-rotate. Jump-in (out of turn)
+ * and forced play of a drawn card are not modelled, and an empty draw
+ * pile is not reshuffled: further draws simply take fewer cards.
+ */
+public class GameSnapshot {
+    /** Upper bound on the number of legal moves in any position. */
+    public static final int MAX_MOVES = 64;
+
+    // Undo frame: move, top key, current, direction, pending, winner, cards drawn, swap target
+    private static final int FRAME_SIZE = 8;
+
+    private static final CardColor[] PLAYABLE_COLORS = {
+            CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+
+    private final RuleSet rules;
+    private final int playerCount;
+    private final byte[] hands;
+    private final int[] handSizes;
+    private final long[] handMasks;
+    private long handsHash;
+    private final byte[] drawPile;
+    private int drawSize;
+    private final byte[] discardPile;
+    private int discardSize;
+
+    private int topKey;
+    private int current;
+    private int direction;
+    private int pendingDraw;
+    private int winner;
+
+    private int[] undoStack;
+    private int undoSize;
+
+    private GameSnapshot(RuleSet rules, int playerCount, int totalCards) {
+        this.rules = rules;
+        this.playerCount = playerCount;
+        this.hands = new byte[playerCount * CardFace.COUNT];
+        this.handSizes = new int[playerCount];
+        this.handMasks = new long[playerCount];
+        this.drawPile = new byte[totalCards];
+        this.discardPile = new byte[totalCards];
+        this.winner = -1;
+        this.undoStack = new int[FRAME_SIZE * 64];
+    }
+
+    private GameSnapshot(GameSnapshot other) {
+        this.rules = other.rules;
+        this.playerCount = other.playerCount;
+        this.hands = other.hands.clone();
+        this.handSizes = other.handSizes.clone();
+        this.handMasks = other.handMasks.clone();
+        this.handsHash = other.handsHash;
+        this.drawPile = other.drawPile.clone();
+        this.drawSize = other.drawSize;
+        this.discardPile = other.discardPile.clone();
+        this.discardSize = other.discardSize;
+        this.topKey = other.topKey;
+        this.current = other.current;
+        this.direction = other.direction;
+        this.pendingDraw = other.pendingDraw;
+        this.winner = other.winner;
+        this.undoStack = new int[FRAME_SIZE * 64];
+    }
+
+    /**
+     * Captures the current position of a live game.
+     *
+     * @param state The game state
+     * @param deck  The deck the game is played with
+     * @param rules The rules of the table
+     * @return A new snapshot
+     */
+    public static GameSnapshot capture(GameState state, Deck deck, RuleSet rules) {
+        List<Player> players = state.getPlayers();
+        List<Card> draw = deck.drawPileView();
+        List<Card> discard = deck.discardPileView();
+
+        int totalCards = draw.size() + discard.size();
+        for (Player player : players) {
+            totalCards += player.getHandSize();
+        }
+
+        GameSnapshot snapshot = new GameSnapshot(rules, players.size(), totalCards);
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (int i = 0; i < player.getHandSize(); i++) {
+                snapshot.addToHand(seat, player.getCardFace(i));
+            }
+        }
+        for (Card card : draw) {
+            snapshot.drawPile[snapshot.drawSize++] = (byte) CardFace.of(card);
+        }
+        for (Card card : discard) {
+            snapshot.discardPile[snapshot.discardSize++] = (byte) CardFace.of(card);
+        }
+
+        snapshot.topKey = CardFace.topKey(state.getTopCard());
+        snapshot.current = state.getCurrentPlayerIndex();
+        snapshot.direction = state.isClockwise() ? 1 : -1;
+        snapshot.pendingDraw = state.getPendingDrawCount();
+        return snapshot;
+    }
+
+    /**
+     * Creates an independent copy of this snapshot (without its undo history).
+     *
+     * @return The copy
+     */
+    public GameSnapshot copy() {
+        return new GameSnapshot(this);
+    }
+
+    /**
+     * Generates the legal moves for the player to move.
+     *
+     * @param moves Output array of at least MAX_MOVES entries
+     * @return Number of moves written
+     */
+    public int legalMoves(int[] moves) {
+        if (winner >= 0) {
+            return 0;
+        }
+
+        int count = 0;
+        moves[count++] = Move.DRAW;
+
+        long playable = handMasks[current] &
+                (pendingDraw > 0 ? rules.stackMask(topKey) : rules.legalMask(topKey));
+        while (playable != 0) {
+            int face = Long.numberOfTrailingZeros(playable);
+            playable &= playable - 1;
+            if (face < CardFace.WILD) {
+                moves[count++] = Move.play(face, CardColor.WILD);
+            } else {
+                for (CardColor color : PLAYABLE_COLORS) {
+                    moves[count++] = Move.play(face, color);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a move is legal for the player to move.
+     *
+     * @param move The encoded move
+     * @return true if legal
+     */
+    public boolean isLegal(int move) {
+        if (winner >= 0) {
+            return false;
+        }
+        if (Move.isDraw(move)) {
+            return true;
+        }
+        int face = Move.face(move);
+        if (face >= CardFace.WILD && Move.color(move) == CardColor.WILD) {
+            return false;
+        }
+        long allowed = pendingDraw > 0 ? rules.stackMask(topKey) : rules.legalMask(topKey);
+        return (handMasks[current] & allowed & CardFace.mask(face)) != 0;
+    }
+
+    /**
+     * Makes a move for the player to move. The move must be legal.
+     *
+     * @param move The encoded move
+     */
+    public void apply(int move) {
+        if (undoSize + FRAME_SIZE > undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+        }
+        int frame = undoSize;
+        undoStack[frame] = move;
+        undoStack[frame + 1] = topKey;
+        undoStack[frame + 2] = current;
+        undoStack[frame + 3] = direction;
+        undoStack[frame + 4] = pendingDraw;
+        undoStack[frame + 5] = winner;
+        undoStack[frame + 6] = 0;
+        undoStack[frame + 7] = -1;
+        undoSize += FRAME_SIZE;
+
+        int player = current;
+        if (Move.isDraw(move)) {
+            undoStack[frame + 6] = drawFor(player);
+            current = step(player, 1);
+            return;
+        }
+
+        int face = Move.face(move);
+        removeFromHand(player, face);
+        discardPile[discardSize++] = (byte) face;
+        topKey = CardFace.topKey(face, Move.color(move));
+
+        if (handSizes[player] == 0) {
+            winner = player;
+            return;
+        }
+
+        int rank = face < CardFace.WILD ? face % CardFace.RANKS_PER_COLOR : face;
+        switch (rank) {
+            case CardFace.SKIP_RANK:
+                current = step(player, 2);
+                break;
+            case CardFace.REVERSE_RANK:
+                direction = -direction;
+                current = playerCount == 2 ? player : step(player, 1);
+                break;
+            case CardFace.DRAW_TWO_RANK:
+                pendingDraw += 2;
+                current = step(player, 1);
+                break;
+            case CardFace.WILD_DRAW_FOUR:
+                pendingDraw += 4;
+                current = step(player, 1);
+                break;
+            default:
+                current = step(player, 1);
+                break;
+        }
+
+        int transition = rules.transition(face);
+        if ((transition & RuleSet.TRANSITION_SWAP_HANDS) != 0) {
+            int target = fewestCardsOpponent(player);
+            swapHands(player, target);
+            undoStack[frame + 7] = target;
+        }
+        if ((transition & RuleSet.TRANSITION_ROTATE_HANDS) != 0) {
+            rotateHands(direction);
+        }
+        if (transition != 0) {
+            handsHash = computeHandsHash();
+        }
+    }
+
+    /**
+     * Unmakes the last move made with apply().
+     */
+    public void undo() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        undoSize -= FRAME_SIZE;
+        int frame = undoSize;
+        int move = undoStack[frame];
+        int player = undoStack[frame + 2];
+
+        if (Move.isDraw(move)) {
+            int drawn = undoStack[frame + 6];
+            for (int i = 0; i < drawn; i++) {
+                removeFromHand(player, drawPile[drawSize++]);
+            }
+        } else {
+            int face = Move.face(move);
+            int transition = rules.transition(face);
+            // Hand transitions only happened if the move did not win
+            if ((transition & RuleSet.TRANSITION_ROTATE_HANDS) != 0 && winner < 0) {
+                rotateHands(-direction);
+            }
+            if (undoStack[frame + 7] >= 0) {
+                swapHands(player, undoStack[frame + 7]);
+            }
+            if (transition != 0) {
+                handsHash = computeHandsHash();
+            }
+            discardSize--;
+            addToHand(player, face);
+        }
+
+        topKey = undoStack[frame + 1];
+        current = player;
+        direction = undoStack[frame + 3];
+        pendingDraw = undoStack[frame + 4];
+        winner = undoStack[frame + 5];
+    }
+
+    /**
+     * Draws for a player: the pending penalty, or one card (or until
+     * playable, if the rules say so).
+     *
+     * @return Number of cards actually drawn
+     */
+    private int drawFor(int player) {
+        int drawn = 0;
+        if (pendingDraw > 0) {
+            for (int i = 0; i < pendingDraw && drawSize > 0; i++) {
+                addToHand(player, drawPile[--drawSize]);
+                drawn++;
+            }
+            pendingDraw = 0;
+            return drawn;
+        }
+
+        while (drawSize > 0) {
+            int face = drawPile[--drawSize];
+            addToHand(player, face);
+            drawn++;
+            if (!rules.drawsUntilPlayable() || rules.isLegal(face, topKey)) {
+                break;
+            }
+        }
+        return drawn;
+    }
+
+    private int step(int from, int steps) {
+        int index = from + direction * steps;
+        if (index >= playerCount) {
+            index -= playerCount;
+        } else if (index < 0) {
+            index += playerCount;
+        }
+        return index;
+    }
+
+    private int fewestCardsOpponent(int player) {
+        int target = -1;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (seat != player && (target < 0 || handSizes[seat] < handSizes[target])) {
+                target = seat;
+            }
+        }
+        return target;
+    }
+
+    private void swapHands(int a, int b) {
+        byte[] tmp = new byte[CardFace.COUNT];
+        System.arraycopy(hands, a * CardFace.COUNT, tmp, 0, CardFace.COUNT);
+        System.arraycopy(hands, b * CardFace.COUNT, hands, a * CardFace.COUNT, CardFace.COUNT);
+        System.arraycopy(tmp, 0, hands, b * CardFace.COUNT, CardFace.COUNT);
+
+        int size = handSizes[a];
+        handSizes[a] = handSizes[b];
+        handSizes[b] = size;
+
+        long mask = handMasks[a];
+        handMasks[a] = handMasks[b];
+        handMasks[b] = mask;
+    }
+
+    /**
+     * Moves every hand one seat along: with steps = 1 the hand of seat i
+     * goes to seat i + 1, with steps = -1 to seat i - 1.
+     */
+    private void rotateHands(int steps) {
+        int last = playerCount - 1;
+        byte[] tmp = new byte[CardFace.COUNT];
+        if (steps > 0) {
+            System.arraycopy(hands, last * CardFace.COUNT, tmp, 0, CardFace.COUNT);
+            System.arraycopy(hands, 0, hands, CardFace.COUNT, last * CardFace.COUNT);
+            System.arraycopy(tmp, 0, hands, 0, CardFace.COUNT);
+            int size = handSizes[last];
+            System.arraycopy(handSizes, 0, handSizes, 1, last);
+            handSizes[0] = size;
+            long mask = handMasks[last];
+            System.arraycopy(handMasks, 0, handMasks, 1, last);
+            handMasks[0] = mask;
+        } else {
+            System.arraycopy(hands, 0, tmp, 0, CardFace.COUNT);
+            System.arraycopy(hands, CardFace.COUNT, hands, 0, last * CardFace.COUNT);
+            System.arraycopy(tmp, 0, hands, last * CardFace.COUNT, CardFace.COUNT);
+            int size = handSizes[0];
+            System.arraycopy(handSizes, 1, handSizes, 0, last);
+            handSizes[last] = size;
+            long mask = handMasks[0];
+            System.arraycopy(handMasks, 1, handMasks, 0, last);
+            handMasks[last] = mask;
+        }
+    }
+
+    private void addToHand(int seat, int face) {
+        int slot = seat * CardFace.COUNT + face;
+        handsHash ^= Zobrist.handKey(seat, face, hands[slot]);
+        hands[slot]++;
+        handSizes[seat]++;
+        handMasks[seat] |= CardFace.mask(face);
+    }
+
+    private void removeFromHand(int seat, int face) {
+        int slot = seat * CardFace.COUNT + face;
+        if (--hands[slot] == 0) {
+            handMasks[seat] &= ~CardFace.mask(face);
+        }
+        handsHash ^= Zobrist.handKey(seat, face, hands[slot]);
+        handSizes[seat]--;
+    }
+
+    private long computeHandsHash() {
+        long h = 0;
+        for (int seat = 0; seat < playerCount; seat++) {
+            for (int face = 0; face < CardFace.COUNT; face++) {
+                int count = hands[seat * CardFace.COUNT + face];
+                for (int copy = 0; copy < count; copy++) {
+                    h ^= Zobrist.handKey(seat, face, copy);
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: hands, top card and active
+     * color, player to move, direction, pending draw and draw pile size.
+     *
+     * @return The 64-bit hash
+     */
+    public long getHash() {
+        return handsHash ^ Zobrist.topKey(topKey) ^ Zobrist.turnKey(current) ^
+                Zobrist.directionKey(direction > 0) ^ Zobrist.pendingKey(pendingDraw) ^
+                Zobrist.drawPileKey(drawSize);
+    }
+
+    // Getters
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getCurrentPlayer() {
+        return current;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * Gets how many cards of a face a seat holds.
+     *
+     * @param seat The seat index
+     * @param face The face number
+     * @return The card count
+     */
+    public int getHandCount(int seat, int face) {
+        return hands[seat * CardFace.COUNT + face];
+    }
+
+    public long getHandMask(int seat) {
+        return handMasks[seat];
+    }
+
+    public int getTopKey() {
+        return topKey;
+    }
+
+    public boolean isClockwise() {
+        return direction > 0;
+    }
+
+    public int getPendingDrawCount() {
+        return pendingDraw;
+    }
+
+    public int getDrawPileSize() {
+        return drawSize;
+    }
+
+    public int getDiscardPileSize() {
+        return discardSize;
+    }
+
+    /**
+     * Gets the winner, if the game is over.
+     *
+     * @return The winning seat, or -1 while the game is running
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public boolean isGameOver() {
+        return winner >= 0;
+    }
+}
@@ -9,26 +9,47 @@ import java.util.List;
  * 
  * Manages the current state of the UNO game.
  * Notifies observers when the state changes.
+ *
+ * Also keeps a 64-bit Zobrist hash of the position (hands, top card and
+ * active color, player to move, direction and pending draws), updated
+ * with a couple of XORs on every change so position identity is O(1).
+ * verifyHash() checks it against a full recompute; GameInvariants does
+ * so before every action when invariant checks are on, and the turn path
+ * itself never pays for it.
+ *
+ * Turn order and hand-size queries stay O(1) however many players sit at
+ * the table: seats are stepped with a branch instead of a modulo, and a
+ * histogram of hand sizes is kept up to date as cards move.
  */
 public class GameState {
+    /** Hand sizes from this value up share the last histogram bucket. */
+    public static final int HAND_SIZE_CAP = 16;
+
     private List<Player> players;
+    private int playerCount;
+    private int[] handSizeCounts;
     private int currentPlayerIndex;
     private boolean clockwise;
     private Card topCard;
     private int pendingDrawCount;
     private boolean colorChangeNeeded;
     private List<GameObserver> observers;
+    private int notificationHolds;
+    private boolean notificationHeld;
+    private long hash;
 
     /**
      * Constructor for GameState.
      */
     public GameState() {
         this.players = new ArrayList<>();
+        this.handSizeCounts = new int[HAND_SIZE_CAP + 1];
         this.currentPlayerIndex = 0;
         this.clockwise = true;
         this.pendingDrawCount = 0;
         this.colorChangeNeeded = false;
         this.observers = new ArrayList<>();
+        this.hash = Zobrist.turnKey(0);
     }
 
     /**
@@ -53,31 +74,71 @@ public class GameState {
      * Notifies all observers of a state change.
      */
     public void notifyObservers() {
+        if (notificationHolds > 0) {
+            notificationHeld = true;
+            return;
+        }
         for (GameObserver observer : observers) {
             observer.update(this);
         }
     }
 
+    /**
+     * Holds back observer notifications until resumeNotifications(), so a
+     * group of changes reaches the observers as a single update. Holds nest.
+     */
+    public void holdNotifications() {
+        notificationHolds++;
+    }
+
+    /**
+     * Releases one hold. When the last hold is released, observers are
+     * notified once if anything changed while they were held.
+     * 
+     * @param deliver false to drop the held notification, for example
+     *                when the changes were rolled back
+     */
+    public void resumeNotifications(boolean deliver) {
+        if (notificationHolds == 0) {
+            throw new IllegalStateException("Notifications are not held");
+        }
+        if (--notificationHolds == 0) {
+            boolean held = notificationHeld;
+            notificationHeld = false;
+            if (held && deliver) {
+                notifyObservers();
+            }
+        }
+    }
+
     /**
      * Advances to the next player's turn.
      */
     public void advanceTurn() {
-        if (clockwise) {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        } else {
-            currentPlayerIndex = (currentPlayerIndex - 1 + players.size()) % players.size();
-        }
+        int previous = currentPlayerIndex;
+        currentPlayerIndex = getNextPlayerIndex();
+        hash ^= Zobrist.turnKey(previous) ^ Zobrist.turnKey(currentPlayerIndex);
         notifyObservers();
     }
 
+    /**
+     * Moves the turn on by one seat without notifying observers, for card
+     * effects that skip a player. The advanceTurn() that ends the play
+     * notifies once, so observers never see the skipped player's turn.
+     */
+    public void skipTurn() {
+        setCurrentPlayerIndex(getNextPlayerIndex());
+    }
+
     /**
      * Reverses the direction of play.
      */
     public void reverseDirection() {
         clockwise = !clockwise;
+        hash ^= Zobrist.directionKey(false);
         // In a 2-player game, reverse acts like skip
-        if (players.size() == 2) {
-            advanceTurn();
+        if (playerCount == 2) {
+            skipTurn();
         }
     }
 
@@ -96,13 +157,137 @@ public class GameState {
      * @return The next player
      */
     public Player getNextPlayer() {
-        int nextIndex;
+        return players.get(getNextPlayerIndex());
+    }
+
+    /**
+     * Gets the seat that plays after the current one.
+     * 
+     * @return The next seat index
+     */
+    public int getNextPlayerIndex() {
         if (clockwise) {
-            nextIndex = (currentPlayerIndex + 1) % players.size();
-        } else {
-            nextIndex = (currentPlayerIndex - 1 + players.size()) % players.size();
+            int next = currentPlayerIndex + 1;
+            return next == playerCount ? 0 : next;
+        }
+        return currentPlayerIndex == 0 ? playerCount - 1 : currentPlayerIndex - 1;
+    }
+
+    /**
+     * Gets the seat that played before the current one.
+     * 
+     * @return The previous seat index
+     */
+    public int getPreviousPlayerIndex() {
+        if (clockwise) {
+            return currentPlayerIndex == 0 ? playerCount - 1 : currentPlayerIndex - 1;
+        }
+        int previous = currentPlayerIndex + 1;
+        return previous == playerCount ? 0 : previous;
+    }
+
+    /**
+     * Counts the players holding more than the given number of cards.
+     * 
+     * @param size A hand size below HAND_SIZE_CAP
+     * @return Number of larger hands
+     */
+    public int countHandsLargerThan(int size) {
+        if (size < 0 || size >= HAND_SIZE_CAP) {
+            throw new IllegalArgumentException("Hand size must be between 0 and " + (HAND_SIZE_CAP - 1));
+        }
+        int atMost = 0;
+        for (int i = 0; i <= size; i++) {
+            atMost += handSizeCounts[i];
+        }
+        return playerCount - atMost;
+    }
+
+    /**
+     * Gets the smallest hand held by anyone but the given seat.
+     * 
+     * @param excludedSeat The seat to leave out (usually the current player)
+     * @return The smallest hand size, capped at HAND_SIZE_CAP
+     */
+    public int getSmallestHandSize(int excludedSeat) {
+        int excludedBucket = Math.min(players.get(excludedSeat).getHandSize(), HAND_SIZE_CAP);
+        for (int size = 0; size < HAND_SIZE_CAP; size++) {
+            int count = handSizeCounts[size] - (size == excludedBucket ? 1 : 0);
+            if (count > 0) {
+                return size;
+            }
         }
-        return players.get(nextIndex);
+        return HAND_SIZE_CAP;
+    }
+
+    /**
+     * Sets the active color after a wild card is played.
+     * 
+     * @param color The chosen color
+     */
+    public void setActiveColor(CardColor color) {
+        hash ^= topCardKey(topCard);
+        topCard.setColor(color);
+        hash ^= topCardKey(topCard);
+    }
+
+    /**
+     * Gets the Zobrist hash of the current position. It leaves out the
+     * draw pile size, so it differs from GameSnapshot.getHash().
+     * 
+     * @return The hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the Zobrist hash from scratch by walking every hand.
+     * 
+     * @return The hash
+     */
+    public long computeHash() {
+        long full = topCardKey(topCard)
+                ^ Zobrist.turnKey(currentPlayerIndex)
+                ^ Zobrist.directionKey(clockwise)
+                ^ Zobrist.pendingKey(pendingDrawCount);
+        for (Player player : players) {
+            full ^= player.handHash();
+        }
+        return full;
+    }
+
+    /**
+     * Checks the incremental hash against a full recompute.
+     * 
+     * @throws IllegalStateException if they differ
+     */
+    public void verifyHash() {
+        long full = computeHash();
+        if (full != hash) {
+            throw new IllegalStateException(String.format(
+                    "Position hash out of sync: incremental %016x, recomputed %016x", hash, full));
+        }
+    }
+
+    /**
+     * Applies a Zobrist key change reported by a player's hand.
+     */
+    void updateHash(long keys) {
+        hash ^= keys;
+    }
+
+    /**
+     * Records a card entering or leaving a player's hand.
+     */
+    void handChanged(long keys, int oldSize, int newSize) {
+        hash ^= keys;
+        handSizeCounts[Math.min(oldSize, HAND_SIZE_CAP)]--;
+        handSizeCounts[Math.min(newSize, HAND_SIZE_CAP)]++;
+    }
+
+    private static long topCardKey(Card card) {
+        return card == null ? 0 : Zobrist.topKey(CardFace.topKey(card));
     }
 
     // Getters and Setters
@@ -112,6 +297,33 @@ public class GameState {
 
     public void setPlayers(List<Player> players) {
         this.players = players;
+        this.playerCount = players.size();
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).seatAt(this, seat);
+        }
+        rebuildIndexes();
+    }
+
+    /**
+     * Puts back the fields saved in a TableMemento. The hands have already
+     * been restored, so the hand-size counts and hash are rebuilt.
+     */
+    void restore(int currentPlayerIndex, boolean clockwise, Card topCard, int pendingDrawCount,
+            boolean colorChangeNeeded) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.clockwise = clockwise;
+        this.topCard = topCard;
+        this.pendingDrawCount = pendingDrawCount;
+        this.colorChangeNeeded = colorChangeNeeded;
+        rebuildIndexes();
+    }
+
+    private void rebuildIndexes() {
+        handSizeCounts = new int[HAND_SIZE_CAP + 1];
+        for (Player player : players) {
+            handSizeCounts[Math.min(player.getHandSize(), HAND_SIZE_CAP)]++;
+        }
+        hash = computeHash();
     }
 
     public int getCurrentPlayerIndex() {
@@ -119,6 +331,7 @@ public class GameState {
     }
 
     public void setCurrentPlayerIndex(int index) {
+        hash ^= Zobrist.turnKey(currentPlayerIndex) ^ Zobrist.turnKey(index);
         this.currentPlayerIndex = index;
     }
 
@@ -127,6 +340,7 @@ public class GameState {
     }
 
     public void setClockwise(boolean clockwise) {
+        hash ^= Zobrist.directionKey(this.clockwise) ^ Zobrist.directionKey(clockwise);
         this.clockwise = clockwise;
     }
 
@@ -135,6 +349,14 @@ public class GameState {
     }
 
     public void setTopCard(Card topCard) {
+        hash ^= topCardKey(this.topCard) ^ topCardKey(topCard);
+        // A wild only shows its chosen color while it is on top; left colored,
+        // it would come back from a reshuffle already showing that color
+        Card previous = this.topCard;
+        if (previous != null && previous != topCard
+                && (previous.getType() == CardType.WILD || previous.getType() == CardType.WILD_DRAW_FOUR)) {
+            previous.setColor(CardColor.WILD);
+        }
         this.topCard = topCard;
         notifyObservers();
     }
@@ -144,6 +366,7 @@ public class GameState {
     }
 
     public void setPendingDrawCount(int count) {
+        hash ^= Zobrist.pendingKey(pendingDrawCount) ^ Zobrist.pendingKey(count);
         this.pendingDrawCount = count;
     }
 
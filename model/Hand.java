@@ -0,0 +1,320 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Container for the cards held by a player.
+ *
+ * Keeps running counts by color, type and number value so that
+ * "has any playable card" can be answered in constant time against
+ * the top card. Cards are removed by swap-remove: the last card moves
+ * into the freed slot, so every other card keeps its index and the UI
+ * can keep showing the hand in slot order.
+ *
+ * The hand also tracks which faces (see CardFace) it holds as a bit mask,
+ * so legality against a compiled RuleSet mask is a single AND.
+ */
+public class Hand {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Card[] cards;
+    private byte[] faces;
+    private int size;
+
+    // Counts of non-wild cards per color, all cards per type,
+    // number cards per value (0-9) and cards per face
+    private int[] colorCounts;
+    private int[] typeCounts;
+    private int[] numberCounts;
+    private int[] faceCounts;
+    private long faceMask;
+
+    /**
+     * Constructor for Hand.
+     */
+    public Hand() {
+        this.cards = new Card[INITIAL_CAPACITY];
+        this.faces = new byte[INITIAL_CAPACITY];
+        this.size = 0;
+        this.colorCounts = new int[CardColor.values().length];
+        this.typeCounts = new int[CardType.values().length];
+        this.numberCounts = new int[10];
+        this.faceCounts = new int[CardFace.COUNT];
+        this.faceMask = 0;
+    }
+
+    /**
+     * Adds a card to the end of the hand.
+     *
+     * @param card The card to add
+     */
+    public void add(Card card) {
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
+            faces = Arrays.copyOf(faces, size * 2);
+        }
+        int face = CardFace.of(card);
+        cards[size] = card;
+        faces[size] = (byte) face;
+        size++;
+        count(card, face, 1);
+    }
+
+    /**
+     * Removes the card at the given index in constant time.
+     * The last card of the hand takes the freed slot.
+     *
+     * @param index The index of the card to remove
+     * @return The removed card
+     */
+    public Card remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid card index: " + index);
+        }
+        Card card = cards[index];
+        int face = faces[index];
+        int last = --size;
+        cards[index] = cards[last];
+        faces[index] = faces[last];
+        cards[last] = null;
+        count(card, face, -1);
+        return card;
+    }
+
+    /**
+     * Gets the card at the given index.
+     *
+     * @param index The index of the card
+     * @return The card at that index
+     */
+    public Card get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid card index: " + index);
+        }
+        return cards[index];
+    }
+
+    /**
+     * Gets the face number of the card at the given index.
+     *
+     * @param index The index of the card
+     * @return The face number
+     */
+    public int getFace(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid card index: " + index);
+        }
+        return faces[index];
+    }
+
+    /**
+     * Checks in constant time whether the hand holds any of the given faces.
+     *
+     * @param mask Mask of faces
+     * @return true if at least one card matches
+     */
+    public boolean containsAny(long mask) {
+        return (faceMask & mask) != 0;
+    }
+
+    /**
+     * Gets the indices of all cards whose face is in the given mask.
+     *
+     * @param mask Mask of faces
+     * @return List of matching card indices
+     */
+    public List<Integer> indicesOf(long mask) {
+        List<Integer> indices = new ArrayList<>();
+        if ((faceMask & mask) == 0) {
+            return indices;
+        }
+        for (int i = 0; i < size; i++) {
+            if ((mask & CardFace.mask(faces[i])) != 0) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Gets the index of the first card showing the given face.
+     *
+     * @param face The face number
+     * @return The index, or -1 if the hand holds no such card
+     */
+    public int indexOfFace(int face) {
+        if (faceCounts[face] == 0) {
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (faces[i] == face) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of cards showing the given face.
+     *
+     * @param face The face number
+     * @return Number of cards with that face
+     */
+    public int countFace(int face) {
+        return faceCounts[face];
+    }
+
+    /**
+     * Exchanges the entire contents of this hand with another in constant time.
+     *
+     * @param other The other hand
+     */
+    public void swapContents(Hand other) {
+        Card[] cardsTmp = cards;
+        cards = other.cards;
+        other.cards = cardsTmp;
+
+        byte[] facesTmp = faces;
+        faces = other.faces;
+        other.faces = facesTmp;
+
+        int sizeTmp = size;
+        size = other.size;
+        other.size = sizeTmp;
+
+        int[] countsTmp = colorCounts;
+        colorCounts = other.colorCounts;
+        other.colorCounts = countsTmp;
+
+        countsTmp = typeCounts;
+        typeCounts = other.typeCounts;
+        other.typeCounts = countsTmp;
+
+        countsTmp = numberCounts;
+        numberCounts = other.numberCounts;
+        other.numberCounts = countsTmp;
+
+        countsTmp = faceCounts;
+        faceCounts = other.faceCounts;
+        other.faceCounts = countsTmp;
+
+        long maskTmp = faceMask;
+        faceMask = other.faceMask;
+        other.faceMask = maskTmp;
+    }
+
+    /**
+     * Checks in constant time whether any card in the hand can be played
+     * on the given top card, following the standard matching rules.
+     *
+     * @param topCard The card on top of the discard pile
+     * @return true if at least one card can be played
+     */
+    public boolean hasPlayableOn(Card topCard) {
+        if (typeCounts[CardType.WILD.ordinal()] > 0 ||
+                typeCounts[CardType.WILD_DRAW_FOUR.ordinal()] > 0) {
+            return true;
+        }
+        if (colorCounts[topCard.getColor().ordinal()] > 0) {
+            return true;
+        }
+        switch (topCard.getType()) {
+            case NUMBER:
+                return numberCounts[topCard.getValue()] > 0;
+            case SKIP:
+            case REVERSE:
+            case DRAW_TWO:
+                return typeCounts[topCard.getType().ordinal()] > 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets the number of non-wild cards of the given color.
+     *
+     * @param color The color to count
+     * @return Number of cards of that color
+     */
+    public int countColor(CardColor color) {
+        return colorCounts[color.ordinal()];
+    }
+
+    /**
+     * Gets the number of cards of the given type.
+     *
+     * @param type The type to count
+     * @return Number of cards of that type
+     */
+    public int countType(CardType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Gets the number of number cards showing the given value.
+     *
+     * @param value The value to count (0-9)
+     * @return Number of number cards with that value
+     */
+    public int countNumber(int value) {
+        return numberCounts[value];
+    }
+
+    /**
+     * Copies the cards into a new list in slot order.
+     *
+     * @return List of the cards in the hand
+     */
+    public List<Card> toList() {
+        List<Card> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(cards[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Gets the set of faces held, one bit per face.
+     *
+     * @return Mask of faces (see CardFace)
+     */
+    public long getFaceMask() {
+        return faceMask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Updates the running counts for a card entering or leaving the hand.
+     *
+     * @param card  The card
+     * @param face  The face number of the card
+     * @param delta +1 when added, -1 when removed
+     */
+    private void count(Card card, int face, int delta) {
+        faceCounts[face] += delta;
+        if (faceCounts[face] == 0) {
+            faceMask &= ~CardFace.mask(face);
+        } else {
+            faceMask |= CardFace.mask(face);
+        }
+
+        CardType type = card.getType();
+        typeCounts[type.ordinal()] += delta;
+        if (type == CardType.WILD || type == CardType.WILD_DRAW_FOUR) {
+            return;
+        }
+        colorCounts[card.getColor().ordinal()] += delta;
+        if (type == CardType.NUMBER) {
+            numberCounts[card.getValue()] += delta;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+/**
+ * Compact integer encoding of a move, used by search code.
+ *
+ * 0 is a draw (or taking a pending penalty). Any other value encodes a
+ * card face to play and, for wilds, the color chosen with it.
+ */
+public final class Move {
+    public static final int DRAW = 0;
+
+    private static final int COLOR_SLOTS = CardColor.values().length;
+    private static final CardColor[] COLORS = CardColor.values();
+
+    /** Moves are numbered below COUNT, for tables indexed by move. */
+    public static final int COUNT = 1 + CardFace.COUNT * COLOR_SLOTS;
+
+    private Move() {
+    }
+
+    /**
+     * Encodes playing a face.
+     *
+     * @param face  The face number (see CardFace)
+     * @param color The color chosen for a wild; ignored for colored faces
+     * @return The encoded move
+     */
+    public static int play(int face, CardColor color) {
+        CardColor shown = face < CardFace.WILD ? CardFace.colorOf(face) : color;
+        return 1 + face * COLOR_SLOTS + shown.ordinal();
+    }
+
+    public static boolean isDraw(int move) {
+        return move == DRAW;
+    }
+
+    /**
+     * Gets the face played by a move.
+     *
+     * @param move A play move
+     * @return The face number
+     */
+    public static int face(int move) {
+        return (move - 1) / COLOR_SLOTS;
+    }
+
+    /**
+     * Gets the color a move leaves active.
+     *
+     * @param move A play move
+     * @return The card's color, or the chosen color for a wild
+     */
+    public static CardColor color(int move) {
+        return COLORS[(move - 1) % COLOR_SLOTS];
+    }
+
+    /**
+     * Describes a move for logs and debugging.
+     *
+     * @param move The encoded move
+     * @return Readable description
+     */
+    public static String toString(int move) {
+        if (isDraw(move)) {
+            return "Draw";
+        }
+        int face = face(move);
+        Card card = CardFace.newCard(face);
+        return face < CardFace.WILD ? card.toString() : card + " (" + color(move) + ")";
+    }
+}
@@ -9,8 +9,10 @@ import java.util.List;
  */
 public class Player {
     private final String name;
-    private final List<Card> hand;
+    private final Hand hand;
     private final boolean isHuman;
+    private GameState owner;
+    private int seat;
 
     /**
      * Constructor for Player.
@@ -21,7 +23,7 @@ public class Player {
     public Player(String name, boolean isHuman) {
         this.name = name;
         this.isHuman = isHuman;
-        this.hand = new ArrayList<>();
+        this.hand = new Hand();
     }
 
     /**
@@ -31,19 +33,26 @@ public class Player {
      */
     public void drawCard(Card card) {
         hand.add(card);
+        if (owner != null) {
+            int face = hand.getFace(hand.size() - 1);
+            owner.handChanged(Zobrist.handKey(seat, face, hand.countFace(face) - 1), hand.size() - 1, hand.size());
+        }
     }
 
     /**
      * Removes and returns a card from the player's hand.
+     * The last card in the hand moves into the freed position.
      * 
      * @param index The index of the card to play
      * @return The card that was played
      */
     public Card playCard(int index) {
-        if (index < 0 || index >= hand.size()) {
-            throw new IndexOutOfBoundsException("Invalid card index: " + index);
+        Card card = hand.remove(index);
+        if (owner != null) {
+            int face = CardFace.of(card);
+            owner.handChanged(Zobrist.handKey(seat, face, hand.countFace(face)), hand.size() + 1, hand.size());
         }
-        return hand.remove(index);
+        return card;
     }
 
     /**
@@ -53,12 +62,7 @@ public class Player {
      * @return true if the player has at least one valid card
      */
     public boolean hasValidCard(Card topCard) {
-        for (Card card : hand) {
-            if (card.canPlayOn(topCard)) {
-                return true;
-            }
-        }
-        return false;
+        return hand.hasPlayableOn(topCard);
     }
 
     /**
@@ -77,6 +81,74 @@ public class Player {
         return validIndices;
     }
 
+    /**
+     * Checks if the player holds any card whose face is in the given mask.
+     * 
+     * @param faceMask Mask of faces (see CardFace)
+     * @return true if at least one card matches
+     */
+    public boolean hasCardIn(long faceMask) {
+        return hand.containsAny(faceMask);
+    }
+
+    /**
+     * Gets the indices of all cards whose face is in the given mask.
+     * 
+     * @param faceMask Mask of faces (see CardFace)
+     * @return List of matching card indices
+     */
+    public List<Integer> getCardIndicesIn(long faceMask) {
+        return hand.indicesOf(faceMask);
+    }
+
+    /**
+     * Exchanges hands with another player.
+     * 
+     * @param other The other player
+     */
+    public void swapHandWith(Player other) {
+        long before = handHash() ^ other.handHash();
+        hand.swapContents(other.hand);
+        if (owner != null) {
+            owner.updateHash(before ^ handHash() ^ other.handHash());
+        }
+    }
+
+    /**
+     * Replaces the hand with the given cards, in slot order, without
+     * reporting to the game; the caller rebuilds the game's hash.
+     */
+    void restoreHand(List<Card> cards) {
+        while (!hand.isEmpty()) {
+            hand.remove(hand.size() - 1);
+        }
+        for (Card card : cards) {
+            hand.add(card);
+        }
+    }
+
+    /**
+     * Attaches this player to the seat of a game whose hash tracks its hand.
+     */
+    void seatAt(GameState owner, int seat) {
+        this.owner = owner;
+        this.seat = seat;
+    }
+
+    /**
+     * Computes the Zobrist keys of every card held, for this player's seat.
+     */
+    long handHash() {
+        long keys = 0;
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            int copies = hand.countFace(face);
+            for (int copy = 0; copy < copies; copy++) {
+                keys ^= Zobrist.handKey(seat, face, copy);
+            }
+        }
+        return keys;
+    }
+
     /**
      * Checks if the player has won (no cards left).
      * 
@@ -92,7 +164,48 @@ public class Player {
     }
 
     public List<Card> getHand() {
-        return new ArrayList<>(hand); // Return a copy to prevent external modification
+        return hand.toList(); // Return a copy to prevent external modification
+    }
+
+    /**
+     * Gets the card at the given index without copying the hand.
+     * 
+     * @param index The index of the card
+     * @return The card at that index
+     */
+    public Card getCard(int index) {
+        return hand.get(index);
+    }
+
+    /**
+     * Gets the face number of the card at the given index.
+     * 
+     * @param index The index of the card
+     * @return The face number (see CardFace)
+     */
+    public int getCardFace(int index) {
+        return hand.getFace(index);
+    }
+
+    /**
+     * Gets the set of faces in the hand, one bit per face.
+     * 
+     * @return Mask of faces (see CardFace)
+     */
+    public long getFaceMask() {
+        return hand.getFaceMask();
+    }
+
+    public int countColor(CardColor color) {
+        return hand.countColor(color);
+    }
+
+    public int countFace(int face) {
+        return hand.countFace(face);
+    }
+
+    public int countType(CardType type) {
+        return hand.countType(type);
     }
 
     public int getHandSize() {
@@ -0,0 +1,87 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memento Pattern - Memento
+ *
+ * Saved copy of a table (game state, every hand and both piles) that can
+ * be put back after a group of changes has to be undone.
+ *
+ * Capturing copies card references only, so it costs one pass over the
+ * cards of the table. Restoring also resets the color of wild cards back
+ * in a hand, and the random generator of the deck is not rewound: a
+ * reshuffle that is rolled back may come out differently next time.
+ */
+public final class TableMemento {
+    private final GameState state;
+    private final Deck deck;
+
+    private final List<List<Card>> hands;
+    private final List<Card> drawPile;
+    private final List<Card> discardPile;
+    private final int currentPlayerIndex;
+    private final boolean clockwise;
+    private final Card topCard;
+    private final CardColor topColor;
+    private final int pendingDrawCount;
+    private final boolean colorChangeNeeded;
+
+    private TableMemento(GameState state, Deck deck) {
+        this.state = state;
+        this.deck = deck;
+        this.hands = new ArrayList<>(state.getPlayers().size());
+        for (Player player : state.getPlayers()) {
+            hands.add(player.getHand());
+        }
+        this.drawPile = new ArrayList<>(deck.drawPileView());
+        this.discardPile = new ArrayList<>(deck.discardPileView());
+        this.currentPlayerIndex = state.getCurrentPlayerIndex();
+        this.clockwise = state.isClockwise();
+        this.topCard = state.getTopCard();
+        this.topColor = topCard == null ? null : topCard.getColor();
+        this.pendingDrawCount = state.getPendingDrawCount();
+        this.colorChangeNeeded = state.isColorChangeNeeded();
+    }
+
+    /**
+     * Saves a table.
+     *
+     * @param state The game state
+     * @param deck  The table's deck
+     * @return The memento
+     */
+    public static TableMemento capture(GameState state, Deck deck) {
+        return new TableMemento(state, deck);
+    }
+
+    /**
+     * Puts the table back as it was when captured. Observers are not
+     * notified.
+     */
+    public void restore() {
+        // Any wild may have been played and colored since the capture
+        List<Player> players = state.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            List<Card> hand = hands.get(seat);
+            clearWildColors(hand);
+            players.get(seat).restoreHand(hand);
+        }
+        clearWildColors(drawPile);
+        clearWildColors(discardPile);
+        deck.restorePiles(drawPile, discardPile);
+        if (topCard != null) {
+            topCard.setColor(topColor);
+        }
+        state.restore(currentPlayerIndex, clockwise, topCard, pendingDrawCount, colorChangeNeeded);
+    }
+
+    private static void clearWildColors(List<Card> cards) {
+        for (Card card : cards) {
+            if (card.getType() == CardType.WILD || card.getType() == CardType.WILD_DRAW_FOUR) {
+                card.setColor(CardColor.WILD);
+            }
+        }
+    }
+}
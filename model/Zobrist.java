@@ -0,0 +1,79 @@
+package model;
+
+/**
+ * Zobrist keys for hashing game positions.
+ *
+ * A position hash is the XOR of one key per feature: every card held
+ * (seat, face and which copy of that face it is), the top key of the
+ * discard pile, the player to move, the direction and the pending draw
+ * count. GameSnapshot.getHash() also mixes in the draw pile size; the
+ * incremental GameState hash does not, since the state has no deck, so
+ * the two hashes of one position differ. Changing one feature costs one
+ * or two XORs.
+ *
+ * Keys are derived on the fly with the SplitMix64 finalizer rather than
+ * stored, so there is no limit on seats or card copies (multi-deck shoes).
+ */
+public final class Zobrist {
+    private static final long HAND_SEED = 0x243F6A8885A308D3L;
+    private static final long TOP_SEED = 0x13198A2E03707344L;
+    private static final long TURN_SEED = 0xA4093822299F31D0L;
+    private static final long PENDING_SEED = 0x082EFA98EC4E6C89L;
+    private static final long DRAW_PILE_SEED = 0x452821E638D01377L;
+    private static final long COUNTERCLOCKWISE = mix(0xBE5466CF34E90C6CL);
+
+    private static final long[] TOP_KEYS = new long[CardFace.TOP_KEY_COUNT];
+
+    static {
+        for (int topKey = 0; topKey < TOP_KEYS.length; topKey++) {
+            TOP_KEYS[topKey] = mix(TOP_SEED + topKey);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of one card held by a seat.
+     *
+     * @param seat The seat index
+     * @param face The face number
+     * @param copy Which copy of the face this is (0 for the first)
+     * @return The key
+     */
+    public static long handKey(int seat, int face, int copy) {
+        return mix(HAND_SEED + (((long) seat * CardFace.COUNT + face) << 8) + copy);
+    }
+
+    public static long topKey(int topKey) {
+        return TOP_KEYS[topKey];
+    }
+
+    public static long turnKey(int seat) {
+        return mix(TURN_SEED + seat);
+    }
+
+    public static long pendingKey(int pendingDraw) {
+        return pendingDraw == 0 ? 0 : mix(PENDING_SEED + pendingDraw);
+    }
+
+    public static long drawPileKey(int size) {
+        return mix(DRAW_PILE_SEED + size);
+    }
+
+    /**
+     * Gets the key XORed in while play runs counterclockwise.
+     *
+     * @param clockwise The direction of play
+     * @return The key, or 0 for clockwise
+     */
+    public static long directionKey(boolean clockwise) {
+        return clockwise ? 0 : COUNTERCLOCKWISE;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,28 @@
+package model.rules;
+
+/**
+ * Enumeration of the optional house rules a table can enable.
+ */
+public enum HouseRule {
+    STACKING("Stack Draw Two and Wild Draw Four"),
+    JUMP_IN("Jump in with an identical card"),
+    SEVEN_SWAP("Seven swaps hands"),
+    ZERO_ROTATE("Zero rotates hands"),
+    DRAW_UNTIL_PLAYABLE("Draw until playable"),
+    FORCED_PLAY("Forced play of a drawn card");
+
+    private final String displayName;
+
+    HouseRule(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,185 @@
+package model.rules;
+
+import model.*;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The rules a table is played with.
+ *
+ * The enabled house rules are compiled once, when the table is created,
+ * into lookup tables indexed by face number and top key (see CardFace).
+ * Every legality question on the hot path is then a single array read
+ * and a bit test, whether or not any house rule is enabled.
+ */
+public class RuleSet {
+    /** Transition flag: the player swaps hands with an opponent. */
+    public static final int TRANSITION_SWAP_HANDS = 1;
+    /** Transition flag: every hand passes one seat in the direction of play. */
+    public static final int TRANSITION_ROTATE_HANDS = 2;
+
+    private static final RuleSet STANDARD = new RuleSet(EnumSet.noneOf(HouseRule.class));
+
+    private final Set<HouseRule> enabledRules;
+    private final long[] legalMasks;
+    private final long[] stackMasks;
+    private final long[] jumpInMasks;
+    private final int[] transitions;
+    private final boolean drawUntilPlayable;
+    private final boolean forcedPlay;
+
+    /**
+     * Constructor for RuleSet.
+     *
+     * @param enabledRules The house rules to enable
+     */
+    public RuleSet(Set<HouseRule> enabledRules) {
+        this.enabledRules = enabledRules.isEmpty()
+                ? Collections.unmodifiableSet(EnumSet.noneOf(HouseRule.class))
+                : Collections.unmodifiableSet(EnumSet.copyOf(enabledRules));
+        this.legalMasks = new long[CardFace.TOP_KEY_COUNT];
+        this.stackMasks = new long[CardFace.TOP_KEY_COUNT];
+        this.jumpInMasks = new long[CardFace.TOP_KEY_COUNT];
+        this.transitions = new int[CardFace.COUNT];
+        this.drawUntilPlayable = isEnabled(HouseRule.DRAW_UNTIL_PLAYABLE);
+        this.forcedPlay = isEnabled(HouseRule.FORCED_PLAY);
+        compile();
+    }
+
+    /**
+     * Gets the rule set without any house rules.
+     *
+     * @return The shared standard rule set
+     */
+    public static RuleSet standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Builds the lookup tables for the enabled rules.
+     * Base legality is taken from the cards' own canPlayOn rules.
+     */
+    private void compile() {
+        Card[] prototypes = new Card[CardFace.COUNT];
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            prototypes[face] = CardFace.newCard(face);
+        }
+
+        long drawTwoFaces = 0;
+        for (int face = 0; face < CardFace.WILD; face++) {
+            if (CardFace.typeOf(face) == CardType.DRAW_TWO) {
+                drawTwoFaces |= CardFace.mask(face);
+            }
+        }
+        long wildDrawFour = CardFace.mask(CardFace.WILD_DRAW_FOUR);
+
+        for (int topKey = 0; topKey < CardFace.TOP_KEY_COUNT; topKey++) {
+            int topFace = CardFace.faceOfTopKey(topKey);
+            Card topCard = CardFace.newCard(topFace);
+            topCard.setColor(CardFace.colorOfTopKey(topKey));
+
+            long legal = 0;
+            for (int face = 0; face < CardFace.COUNT; face++) {
+                if (prototypes[face].canPlayOn(topCard)) {
+                    legal |= CardFace.mask(face);
+                }
+            }
+            legalMasks[topKey] = legal;
+
+            if (isEnabled(HouseRule.STACKING)) {
+                if (topFace == CardFace.WILD_DRAW_FOUR) {
+                    stackMasks[topKey] = wildDrawFour;
+                } else if (CardFace.typeOf(topFace) == CardType.DRAW_TWO) {
+                    stackMasks[topKey] = drawTwoFaces | wildDrawFour;
+                }
+            }
+
+            if (isEnabled(HouseRule.JUMP_IN) && topFace < CardFace.WILD) {
+                jumpInMasks[topKey] = CardFace.mask(topFace);
+            }
+        }
+
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            int value = CardFace.valueOf(face);
+            if (value == 7 && isEnabled(HouseRule.SEVEN_SWAP)) {
+                transitions[face] |= TRANSITION_SWAP_HANDS;
+            } else if (value == 0 && isEnabled(HouseRule.ZERO_ROTATE)) {
+                transitions[face] |= TRANSITION_ROTATE_HANDS;
+            }
+        }
+    }
+
+    /**
+     * Checks if a house rule is enabled.
+     *
+     * @param rule The house rule
+     * @return true if enabled
+     */
+    public boolean isEnabled(HouseRule rule) {
+        return enabledRules.contains(rule);
+    }
+
+    /**
+     * Gets the faces that may be played on the given top card.
+     *
+     * @param topKey The top key of the discard pile
+     * @return Mask of legal faces
+     */
+    public long legalMask(int topKey) {
+        return legalMasks[topKey];
+    }
+
+    /**
+     * Checks if a face may be played on the given top card.
+     *
+     * @param face   The face number of the card to play
+     * @param topKey The top key of the discard pile
+     * @return true if the play is legal
+     */
+    public boolean isLegal(int face, int topKey) {
+        return (legalMasks[topKey] & CardFace.mask(face)) != 0;
+    }
+
+    /**
+     * Gets the faces that may be stacked onto a pending draw.
+     *
+     * @param topKey The top key of the discard pile
+     * @return Mask of stackable faces, 0 when stacking is disabled
+     */
+    public long stackMask(int topKey) {
+        return stackMasks[topKey];
+    }
+
+    /**
+     * Gets the faces that may be played out of turn.
+     *
+     * @param topKey The top key of the discard pile
+     * @return Mask of faces allowed to jump in, 0 when jump-in is disabled
+     */
+    public long jumpInMask(int topKey) {
+        return jumpInMasks[topKey];
+    }
+
+    /**
+     * Gets the extra transitions triggered by playing a face.
+     *
+     * @param face The face number of the played card
+     * @return Bitwise OR of TRANSITION_* flags, 0 for none
+     */
+    public int transition(int face) {
+        return transitions[face];
+    }
+
+    public boolean drawsUntilPlayable() {
+        return drawUntilPlayable;
+    }
+
+    public boolean forcesPlay() {
+        return forcedPlay;
+    }
+
+    public Set<HouseRule> getEnabledRules() {
+        return enabledRules;
+    }
+}
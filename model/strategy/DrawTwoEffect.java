@@ -4,15 +4,33 @@ import model.GameState;
 
 /**
  * Strategy Pattern - Concrete Strategy
+ * Flyweight Pattern - Shared stateless instance
  * 
  * Implements the Draw Two card effect.
  * Forces the next player to draw 2 cards and skip their turn.
  */
-public class DrawTwoEffect implements CardEffect {
+public final class DrawTwoEffect implements CardEffect {
+    private static final DrawTwoEffect INSTANCE = new DrawTwoEffect();
+
+    /**
+     * Private constructor for Flyweight pattern.
+     */
+    private DrawTwoEffect() {
+    }
+
+    /**
+     * Gets the shared instance of this effect.
+     * 
+     * @return The single DrawTwoEffect instance
+     */
+    public static DrawTwoEffect getInstance() {
+        return INSTANCE;
+    }
 
     @Override
     public void applyEffect(GameState state) {
-        state.setPendingDrawCount(2);
+        // Adds to any stacked penalty already pending
+        state.setPendingDrawCount(state.getPendingDrawCount() + 2);
     }
 
     @Override
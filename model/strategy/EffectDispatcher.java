@@ -0,0 +1,97 @@
+package model.strategy;
+
+import model.ActionCard;
+import model.Card;
+import model.CardType;
+import model.GameState;
+import model.WildCard;
+
+/**
+ * Dispatches card effects by card type.
+ * 
+ * Every standard effect is a shared flyweight, so the effect of a card is
+ * fully determined by its type. Switching on the type gives each branch a
+ * single, final receiver, which the JIT can inline, instead of one
+ * megamorphic call through Card.execute(). A card built with any other
+ * effect still gets it through Card.execute().
+ */
+public final class EffectDispatcher {
+
+    private EffectDispatcher() {
+    }
+
+    /**
+     * Gets the shared effect for a card type.
+     * 
+     * @param type The card type
+     * @return The effect, or null for number cards
+     */
+    public static CardEffect forType(CardType type) {
+        switch (type) {
+            case SKIP:
+                return SkipEffect.getInstance();
+            case REVERSE:
+                return ReverseEffect.getInstance();
+            case DRAW_TWO:
+                return DrawTwoEffect.getInstance();
+            case WILD:
+                return WildEffect.getInstance();
+            case WILD_DRAW_FOUR:
+                return WildDrawFourEffect.getInstance();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Applies the effect of a played card to the game state: by its type
+     * when it has the standard effect, through the card otherwise.
+     * 
+     * @param card  The played card
+     * @param state The current game state
+     */
+    public static void apply(Card card, GameState state) {
+        CardEffect effect;
+        if (card instanceof ActionCard) {
+            effect = ((ActionCard) card).getEffect();
+        } else if (card instanceof WildCard) {
+            effect = ((WildCard) card).getEffect();
+        } else {
+            return; // Number cards have no effect
+        }
+        if (effect == forType(card.getType())) {
+            apply(card.getType(), state);
+        } else {
+            card.execute(state);
+        }
+    }
+
+    /**
+     * Applies the standard effect of a card type to the game state.
+     * Number cards have no effect.
+     * 
+     * @param type  The type of the played card
+     * @param state The current game state
+     */
+    public static void apply(CardType type, GameState state) {
+        switch (type) {
+            case SKIP:
+                SkipEffect.getInstance().applyEffect(state);
+                break;
+            case REVERSE:
+                ReverseEffect.getInstance().applyEffect(state);
+                break;
+            case DRAW_TWO:
+                DrawTwoEffect.getInstance().applyEffect(state);
+                break;
+            case WILD:
+                WildEffect.getInstance().applyEffect(state);
+                break;
+            case WILD_DRAW_FOUR:
+                WildDrawFourEffect.getInstance().applyEffect(state);
+                break;
+            default:
+                break;
+        }
+    }
+}
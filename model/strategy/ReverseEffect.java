@@ -4,11 +4,28 @@ import model.GameState;
 
 /**
  * Strategy Pattern - Concrete Strategy
+ * Flyweight Pattern - Shared stateless instance
  * 
  * Implements the Reverse card effect.
  * Reverses the direction of play.
  */
-public class ReverseEffect implements CardEffect {
+public final class ReverseEffect implements CardEffect {
+    private static final ReverseEffect INSTANCE = new ReverseEffect();
+
+    /**
+     * Private constructor for Flyweight pattern.
+     */
+    private ReverseEffect() {
+    }
+
+    /**
+     * Gets the shared instance of this effect.
+     * 
+     * @return The single ReverseEffect instance
+     */
+    public static ReverseEffect getInstance() {
+        return INSTANCE;
+    }
 
     @Override
     public void applyEffect(GameState state) {
@@ -4,16 +4,33 @@ import model.GameState;
 
 /**
  * Strategy Pattern - Concrete Strategy
+ * Flyweight Pattern - Shared stateless instance
  * 
  * Implements the Skip card effect.
  * Skips the next player's turn.
  */
-public class SkipEffect implements CardEffect {
+public final class SkipEffect implements CardEffect {
+    private static final SkipEffect INSTANCE = new SkipEffect();
+
+    /**
+     * Private constructor for Flyweight pattern.
+     */
+    private SkipEffect() {
+    }
+
+    /**
+     * Gets the shared instance of this effect.
+     * 
+     * @return The single SkipEffect instance
+     */
+    public static SkipEffect getInstance() {
+        return INSTANCE;
+    }
 
     @Override
     public void applyEffect(GameState state) {
-        // Skip the next player by advancing the turn twice
-        state.advanceTurn();
+        // Skip the next player; the controller's advance then moves past them
+        state.skipTurn();
     }
 
     @Override
@@ -4,16 +4,34 @@ import model.GameState;
 
 /**
  * Strategy Pattern - Concrete Strategy
+ * Flyweight Pattern - Shared stateless instance
  * 
  * Implements the Wild Draw Four card effect.
  * Forces the next player to draw 4 cards, skip their turn,
  * and allows the current player to choose a new color.
  */
-public class WildDrawFourEffect implements CardEffect {
+public final class WildDrawFourEffect implements CardEffect {
+    private static final WildDrawFourEffect INSTANCE = new WildDrawFourEffect();
+
+    /**
+     * Private constructor for Flyweight pattern.
+     */
+    private WildDrawFourEffect() {
+    }
+
+    /**
+     * Gets the shared instance of this effect.
+     * 
+     * @return The single WildDrawFourEffect instance
+     */
+    public static WildDrawFourEffect getInstance() {
+        return INSTANCE;
+    }
 
     @Override
     public void applyEffect(GameState state) {
-        state.setPendingDrawCount(4);
+        // Adds to any stacked penalty already pending
+        state.setPendingDrawCount(state.getPendingDrawCount() + 4);
         state.setColorChangeNeeded(true);
     }
 
@@ -4,11 +4,28 @@ import model.GameState;
 
 /**
  * Strategy Pattern - Concrete Strategy
+ * Flyweight Pattern - Shared stateless instance
  * 
  * Implements the Wild card effect.
  * Allows the player to choose a new color.
  */
-public class WildEffect implements CardEffect {
+public final class WildEffect implements CardEffect {
+    private static final WildEffect INSTANCE = new WildEffect();
+
+    /**
+     * Private constructor for Flyweight pattern.
+     */
+    private WildEffect() {
+    }
+
+    /**
+     * Gets the shared instance of this effect.
+     * 
+     * @return The single WildEffect instance
+     */
+    public static WildEffect getInstance() {
+        return INSTANCE;
+    }
 
     @Override
     public void applyEffect(GameState state) {
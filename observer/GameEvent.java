@@ -0,0 +1,85 @@
+package observer;
+
+import model.CardFace;
+import model.Deck;
+import model.GameState;
+
+/**
+ * What a GameEventListener is told about the table when an event happens.
+ *
+ * The values a listener needs to interpret an event (the hand size of
+ * the seat that acted, the top card and the size of the discard pile)
+ * are copied when the event is fired. Events of a command batch reach
+ * the listeners only once the batch has been applied, and these copies
+ * still show the table as it was at each step. getState() is the live
+ * table and may already be further on.
+ */
+public final class GameEvent {
+    private final GameState state;
+    private final int seat;
+    private final int handSize;
+    private final int topKey;
+    private final int discardSize;
+
+    private GameEvent(GameState state, int seat, int handSize, int topKey, int discardSize) {
+        this.state = state;
+        this.seat = seat;
+        this.handSize = handSize;
+        this.topKey = topKey;
+        this.discardSize = discardSize;
+    }
+
+    /**
+     * Records an event as the table is now.
+     *
+     * @param state The game state
+     * @param deck  The table's deck
+     * @param seat  The index of the player the event is about
+     * @return The event
+     */
+    public static GameEvent capture(GameState state, Deck deck, int seat) {
+        return new GameEvent(state, seat, state.getPlayers().get(seat).getHandSize(),
+                CardFace.topKey(state.getTopCard()), deck.getDiscardPileSize());
+    }
+
+    /**
+     * Gets the live game state, which may have moved on since the event.
+     *
+     * @return The game state
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the size of the seat's hand right after the event.
+     *
+     * @return Number of cards
+     */
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * Gets the top card right after the event, with its color for a wild
+     * (see CardFace.topKey()).
+     *
+     * @return The top key
+     */
+    public int getTopKey() {
+        return topKey;
+    }
+
+    /**
+     * Gets the size of the discard pile right after the event.
+     *
+     * @return Number of cards
+     */
+    public int getDiscardSize() {
+        return discardSize;
+    }
+}
@@ -0,0 +1,61 @@
+package observer;
+
+import model.Card;
+import model.GameState;
+
+/**
+ * Observer Pattern - Event Listener Interface
+ * 
+ * Receives fine-grained game events from the GameController, as opposed
+ * to GameObserver which is only told that the state changed. Events are
+ * fired before the turn advances. Each one carries a GameEvent with the
+ * facts of the table at that moment, which hold even when the events of
+ * a command batch arrive after the batch. All methods default to doing
+ * nothing.
+ */
+public interface GameEventListener {
+    /**
+     * Called when a game starts.
+     * 
+     * @param state The game state
+     */
+    default void onGameStarted(GameState state) {
+    }
+
+    /**
+     * Called after a card has been played and placed on the discard pile.
+     * 
+     * @param event The event; its seat is the player who played
+     * @param card  The card played
+     */
+    default void onCardPlayed(GameEvent event, Card card) {
+    }
+
+    /**
+     * Called after a player has drawn cards.
+     * 
+     * @param event   The event; its seat is the player who drew
+     * @param count   The number of cards drawn
+     * @param penalty true if the cards were a Draw Two / Wild Draw Four penalty
+     */
+    default void onCardsDrawn(GameEvent event, int count, boolean penalty) {
+    }
+
+    /**
+     * Called when a player's turn ends without a play after they drew,
+     * either by passing or because the rules end the turn on a draw.
+     * 
+     * @param event The event; its seat is the player whose turn ended
+     */
+    default void onTurnPassed(GameEvent event) {
+    }
+
+    /**
+     * Called when a player has won. Nothing in a batch is applied after
+     * a win, so the live state is the table as the game ended.
+     * 
+     * @param event The event; its seat is the winning player
+     */
+    default void onGameOver(GameEvent event) {
+    }
+}
@@ -1,20 +1,27 @@
 package persistence;
 
+import controller.GameController;
 import model.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Singleton Pattern - Manages game save/load operations.
  * 
  * Handles file-based persistence of game state using simple text format.
+ * saveGame() writes the turn fields only (UNO_SAVE_V1); saveTable() writes
+ * a whole table, hands and piles included (UNO_SAVE_V2), and loadTable()
+ * brings it back running.
  */
 public class GameSaver {
     private static GameSaver instance;
     private static final String SAVE_DIRECTORY = "saves";
+    private static final String TABLE_HEADER = "UNO_SAVE_V2";
 
     /**
      * Private constructor for Singleton pattern.
@@ -107,6 +114,188 @@ public class GameSaver {
         }
     }
 
+    /**
+     * Saves a whole table to the save directory.
+     * 
+     * @param controller The table
+     * @param saveName   Optional custom save name
+     * @return true if save was successful
+     */
+    public boolean saveTable(GameController controller, String saveName) {
+        String fileName = generateFileName(saveName);
+        try {
+            writeTable(controller, Paths.get(SAVE_DIRECTORY, fileName));
+            System.out.println("Table saved successfully to: " + fileName);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to save table: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Loads a whole table from the save directory.
+     * 
+     * @param fileName The name of the save file
+     * @return The running table, or null if failed
+     */
+    public GameController loadTable(String fileName) {
+        try {
+            GameController controller = readTable(Paths.get(SAVE_DIRECTORY, fileName));
+            System.out.println("Table loaded successfully from: " + fileName);
+            return controller;
+        } catch (IOException e) {
+            System.err.println("Failed to load table: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a whole table to a file. The file is replaced in one step,
+     * so a crash never leaves half a save behind.
+     * 
+     * @param controller The table, which must be running
+     * @param file       The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTable(GameController controller, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, encodeTable(controller).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a table written by writeTable(). The table's random generator
+     * is seeded afresh; observers, listeners and AI strategies are not
+     * saved and must be attached again.
+     * 
+     * @param file The file to read
+     * @return The running table
+     * @throws IOException if the file cannot be read or is not a table save
+     */
+    public GameController readTable(Path file) throws IOException {
+        return decodeTable(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encodes a whole table in the UNO_SAVE_V2 text format. Cards are
+     * written as face numbers (see CardFace).
+     * 
+     * @param controller The table, which must be running
+     * @return The save text
+     */
+    public String encodeTable(GameController controller) {
+        if (!controller.isGameRunning()) {
+            throw new IllegalArgumentException("Only running tables can be saved");
+        }
+        GameState state = controller.getGameState();
+        Deck deck = controller.getDeck();
+
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(TABLE_HEADER).append("\n");
+        sb.append("HouseRules:").append(TableAssembler.houseRuleBits(controller.getRuleSet())).append("\n");
+        sb.append("Decks:").append(deck.getDeckCount()).append("\n");
+        sb.append("CurrentPlayerIndex:").append(state.getCurrentPlayerIndex()).append("\n");
+        sb.append("Clockwise:").append(state.isClockwise()).append("\n");
+        sb.append("PendingDrawCount:").append(state.getPendingDrawCount()).append("\n");
+        sb.append("ColorChangeNeeded:").append(state.isColorChangeNeeded()).append("\n");
+        sb.append("DrewThisTurn:").append(controller.hasDrawnThisTurn()).append("\n");
+        sb.append("TopColor:").append(state.getTopCard().getColor().name()).append("\n");
+        sb.append("Seed:").append(ThreadLocalRandom.current().nextLong()).append("\n");
+        for (Player player : state.getPlayers()) {
+            // Player:human:faces:name, with the name last as it may contain ':'
+            sb.append("Player:").append(player.isHuman()).append(':');
+            for (int i = 0; i < player.getHandSize(); i++) {
+                sb.append(i == 0 ? "" : ",").append(player.getCardFace(i));
+            }
+            sb.append(':').append(player.getName()).append("\n");
+        }
+        appendPile(sb.append("DrawPile:"), deck.drawPileView());
+        appendPile(sb.append("DiscardPile:"), deck.discardPileView());
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a table saved with encodeTable().
+     * 
+     * @param lines The lines of the save
+     * @return The running table
+     * @throws IOException if the lines are not a valid table save
+     */
+    public GameController decodeTable(List<String> lines) throws IOException {
+        if (lines.isEmpty() || !lines.get(0).equals(TABLE_HEADER)) {
+            throw new IOException("Not a " + TABLE_HEADER + " table save");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        List<Player> players = new ArrayList<>();
+        List<Card> drawPile = new ArrayList<>();
+        List<Card> discardPile = new ArrayList<>();
+        try {
+            for (String line : lines.subList(1, lines.size())) {
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String key = line.substring(0, colon);
+                String value = line.substring(colon + 1);
+                if (key.equals("Player")) {
+                    String[] parts = value.split(":", 3);
+                    Player player = new Player(parts[2], Boolean.parseBoolean(parts[0]));
+                    for (Card card : parseCards(parts[1])) {
+                        player.drawCard(card);
+                    }
+                    players.add(player);
+                } else if (key.equals("DrawPile")) {
+                    drawPile = parseCards(value);
+                } else if (key.equals("DiscardPile")) {
+                    discardPile = parseCards(value);
+                } else {
+                    fields.put(key, value);
+                }
+            }
+            if (players.isEmpty() || discardPile.isEmpty()) {
+                throw new IOException("Table save has no players or no discard pile");
+            }
+
+            return TableAssembler.assemble(players, drawPile, discardPile,
+                    Integer.parseInt(fields.get("Decks")),
+                    CardColor.valueOf(fields.get("TopColor")),
+                    Integer.parseInt(fields.get("CurrentPlayerIndex")),
+                    Boolean.parseBoolean(fields.get("Clockwise")),
+                    Integer.parseInt(fields.get("PendingDrawCount")),
+                    Boolean.parseBoolean(fields.get("ColorChangeNeeded")),
+                    Boolean.parseBoolean(fields.get("DrewThisTurn")),
+                    TableAssembler.ruleSetFor(Integer.parseInt(fields.get("HouseRules"))),
+                    Long.parseLong(fields.get("Seed")));
+        } catch (RuntimeException e) {
+            // Missing fields, bad numbers and unknown colors alike
+            throw new IOException("Corrupt table save: " + e, e);
+        }
+    }
+
+    private static void appendPile(StringBuilder sb, List<Card> pile) {
+        for (int i = 0; i < pile.size(); i++) {
+            sb.append(i == 0 ? "" : ",").append(CardFace.of(pile.get(i)));
+        }
+        sb.append("\n");
+    }
+
+    private static List<Card> parseCards(String faces) {
+        List<Card> cards = new ArrayList<>();
+        if (faces.isEmpty()) {
+            return cards;
+        }
+        for (String face : faces.split(",")) {
+            int number = Integer.parseInt(face);
+            if (number < 0 || number >= CardFace.COUNT) {
+                throw new IllegalArgumentException("Invalid card face: " + number);
+            }
+            cards.add(CardFace.newCard(number));
+        }
+        return cards;
+    }
+
     /**
      * Gets a list of available save files.
      * 
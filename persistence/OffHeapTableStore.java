@@ -0,0 +1,333 @@
+package persistence;
+
+import controller.GameController;
+import model.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Keeps idle tables outside the Java heap, one fixed 256-byte record each.
+ *
+ * A parked table costs no heap objects at all: its cards are stored as
+ * face bytes (see CardFace), hand by hand and then pile by pile, next to
+ * the few fields of the game state. Records live in direct buffers of
+ * RECORDS_PER_CHUNK records, allocated as the store fills up, so a
+ * million parked tables take 256 MB of native memory and nothing for the
+ * garbage collector to trace.
+ *
+ * A table is addressed by the handle park() returns. While a move is
+ * processed it is rehydrated into a live GameController, then written
+ * back with update() (or both at once with withTable()). Only the table
+ * itself is stored: observers, event listeners and AI strategies are
+ * attached again by whoever rehydrates it. The rehydrated table's random
+ * generator is seeded afresh at each park.
+ *
+ * Stored tables must have one deck and at most MAX_PLAYERS players, and
+ * must still be running. Different handles can be used from different
+ * threads at once; one handle must be used by one thread at a time.
+ *
+ * Record layout:
+ *   flags, player count, current seat, top color, pending (short),
+ *   house rules (short), seed (long), human seats (short), draw pile size,
+ *   discard pile size, hand sizes (MAX_PLAYERS bytes), player ids
+ *   (MAX_PLAYERS longs), then every card's face: hands in seat order,
+ *   the draw pile, and the discard pile with the top card last.
+ */
+public class OffHeapTableStore {
+    public static final int RECORD_SIZE = 256;
+    public static final int MAX_PLAYERS = 10;
+    public static final int RECORDS_PER_CHUNK = 4096;
+
+    private static final int FLAGS = 0;
+    private static final int PLAYER_COUNT = 1;
+    private static final int CURRENT = 2;
+    private static final int TOP_COLOR = 3;
+    private static final int PENDING = 4;
+    private static final int HOUSE_RULES = 6;
+    private static final int SEED = 8;
+    private static final int HUMAN_SEATS = 16;
+    private static final int DRAW_SIZE = 18;
+    private static final int DISCARD_SIZE = 19;
+    private static final int HAND_SIZES = 20;
+    private static final int PLAYER_IDS = 32;
+    private static final int CARDS = PLAYER_IDS + 8 * MAX_PLAYERS;
+
+    private static final int IN_USE = 1;
+    private static final int CLOCKWISE = 2;
+    private static final int COLOR_CHANGE_NEEDED = 4;
+    private static final int DREW_THIS_TURN = 8;
+
+    private static final CardColor[] COLORS = CardColor.values();
+
+    private final int capacity;
+    private final ByteBuffer[] chunks;
+
+    // Slot allocation, guarded by this
+    private final int[] freeSlots;
+    private int freeCount;
+    private int nextUnused;
+
+    /**
+     * Constructor for OffHeapTableStore.
+     *
+     * @param capacity Maximum number of parked tables
+     */
+    public OffHeapTableStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.chunks = new ByteBuffer[(capacity + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK];
+        this.freeSlots = new int[capacity];
+    }
+
+    /**
+     * Parks a table whose players are numbered by seat, from 1.
+     *
+     * @param controller The table
+     * @return The table's handle
+     */
+    public int park(GameController controller) {
+        return park(controller, null);
+    }
+
+    /**
+     * Parks a table. A rehydrated human is named "Player id" and an AI
+     * "AI id", as the matchmaker and GameManager name them.
+     *
+     * @param controller The table
+     * @param playerIds  The id of each seat, or null to number them from 1
+     * @return The table's handle
+     * @throws IllegalArgumentException if the table does not fit in a record
+     * @throws IllegalStateException if the store is full
+     */
+    public int park(GameController controller, long[] playerIds) {
+        checkFits(controller, playerIds);
+        int slot = allocate();
+        write(slot, controller, playerIds);
+        return slot;
+    }
+
+    /**
+     * Builds a live table from a parked one. The record stays reserved
+     * until released; write the table back with update() after the move.
+     *
+     * @param handle The table's handle
+     * @return A running controller for the table, with nothing attached
+     */
+    public GameController rehydrate(int handle) {
+        ByteBuffer chunk = chunkOf(handle);
+        int base = offsetOf(handle);
+        int flags = chunk.get(base + FLAGS);
+        if ((flags & IN_USE) == 0) {
+            throw new IllegalArgumentException("No table parked at " + handle);
+        }
+
+        int playerCount = chunk.get(base + PLAYER_COUNT);
+        int humanSeats = chunk.getShort(base + HUMAN_SEATS);
+        int position = base + CARDS;
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int seat = 0; seat < playerCount; seat++) {
+            long id = chunk.getLong(base + PLAYER_IDS + 8 * seat);
+            boolean human = (humanSeats & (1 << seat)) != 0;
+            Player player = new Player((human ? "Player " : "AI ") + id, human);
+            int handSize = chunk.get(base + HAND_SIZES + seat) & 0xFF;
+            for (int i = 0; i < handSize; i++) {
+                player.drawCard(CardFace.newCard(chunk.get(position++)));
+            }
+            players.add(player);
+        }
+
+        int drawSize = chunk.get(base + DRAW_SIZE) & 0xFF;
+        List<Card> drawPile = new ArrayList<>(drawSize);
+        for (int i = 0; i < drawSize; i++) {
+            drawPile.add(CardFace.newCard(chunk.get(position++)));
+        }
+        int discardSize = chunk.get(base + DISCARD_SIZE) & 0xFF;
+        List<Card> discardPile = new ArrayList<>(discardSize);
+        for (int i = 0; i < discardSize; i++) {
+            discardPile.add(CardFace.newCard(chunk.get(position++)));
+        }
+
+        return TableAssembler.assemble(players, drawPile, discardPile, 1,
+                COLORS[chunk.get(base + TOP_COLOR)],
+                chunk.get(base + CURRENT),
+                (flags & CLOCKWISE) != 0,
+                chunk.getShort(base + PENDING),
+                (flags & COLOR_CHANGE_NEEDED) != 0,
+                (flags & DREW_THIS_TURN) != 0,
+                TableAssembler.ruleSetFor(chunk.getShort(base + HOUSE_RULES)),
+                chunk.getLong(base + SEED));
+    }
+
+    /**
+     * Writes a rehydrated table back after a move. A table whose game is
+     * over is released instead.
+     *
+     * @param handle     The table's handle
+     * @param controller The table, as rehydrate() returned it
+     * @return true if the table is still parked, false if it was released
+     */
+    public boolean update(int handle, GameController controller) {
+        ByteBuffer chunk = chunkOf(handle);
+        int base = offsetOf(handle);
+        if ((chunk.get(base + FLAGS) & IN_USE) == 0) {
+            throw new IllegalArgumentException("No table parked at " + handle);
+        }
+        if (!controller.isGameRunning()) {
+            release(handle);
+            return false;
+        }
+
+        long[] playerIds = new long[chunk.get(base + PLAYER_COUNT)];
+        for (int seat = 0; seat < playerIds.length; seat++) {
+            playerIds[seat] = chunk.getLong(base + PLAYER_IDS + 8 * seat);
+        }
+        checkFits(controller, playerIds);
+        write(handle, controller, playerIds);
+        return true;
+    }
+
+    /**
+     * Rehydrates a table, applies a move to it and writes it back.
+     *
+     * @param handle The table's handle
+     * @param move   The move, given the live table
+     * @return What the move returned
+     */
+    public <T> T withTable(int handle, Function<GameController, T> move) {
+        GameController controller = rehydrate(handle);
+        T result = move.apply(controller);
+        update(handle, controller);
+        return result;
+    }
+
+    /**
+     * Frees a table's record.
+     *
+     * @param handle The table's handle
+     */
+    public synchronized void release(int handle) {
+        ByteBuffer chunk = chunkOf(handle);
+        int base = offsetOf(handle);
+        if ((chunk.get(base + FLAGS) & IN_USE) == 0) {
+            throw new IllegalArgumentException("No table parked at " + handle);
+        }
+        chunk.put(base + FLAGS, (byte) 0);
+        freeSlots[freeCount++] = handle;
+    }
+
+    /**
+     * Gets the number of parked tables.
+     *
+     * @return Parked table count
+     */
+    public synchronized int size() {
+        return nextUnused - freeCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the native memory allocated for records so far.
+     *
+     * @return Bytes of direct buffers
+     */
+    public synchronized long getAllocatedBytes() {
+        long chunkCount = (nextUnused + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK;
+        return chunkCount * RECORDS_PER_CHUNK * RECORD_SIZE;
+    }
+
+    private synchronized int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextUnused == capacity) {
+            throw new IllegalStateException("Table store is full (" + capacity + " tables)");
+        }
+        int slot = nextUnused++;
+        if (chunks[slot / RECORDS_PER_CHUNK] == null) {
+            chunks[slot / RECORDS_PER_CHUNK] = ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_SIZE);
+        }
+        return slot;
+    }
+
+    private ByteBuffer chunkOf(int handle) {
+        if (handle < 0 || handle >= capacity || chunks[handle / RECORDS_PER_CHUNK] == null) {
+            throw new IllegalArgumentException("Invalid table handle: " + handle);
+        }
+        return chunks[handle / RECORDS_PER_CHUNK];
+    }
+
+    private static int offsetOf(int handle) {
+        return (handle % RECORDS_PER_CHUNK) * RECORD_SIZE;
+    }
+
+    private static void checkFits(GameController controller, long[] playerIds) {
+        List<Player> players = controller.getGameState().getPlayers();
+        if (!controller.isGameRunning()) {
+            throw new IllegalArgumentException("Only running tables can be parked");
+        }
+        if (players.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Tables of more than " + MAX_PLAYERS + " players cannot be parked");
+        }
+        if (controller.getDeck().getDeckCount() != 1) {
+            throw new IllegalArgumentException("Only single-deck tables can be parked");
+        }
+        if (playerIds != null && playerIds.length != players.size()) {
+            throw new IllegalArgumentException("Expected " + players.size() + " player ids");
+        }
+    }
+
+    private void write(int slot, GameController controller, long[] playerIds) {
+        GameState state = controller.getGameState();
+        Deck deck = controller.getDeck();
+        List<Player> players = state.getPlayers();
+        List<Card> drawPile = deck.drawPileView();
+        List<Card> discardPile = deck.discardPileView();
+
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        int flags = IN_USE
+                | (state.isClockwise() ? CLOCKWISE : 0)
+                | (state.isColorChangeNeeded() ? COLOR_CHANGE_NEEDED : 0)
+                | (controller.hasDrawnThisTurn() ? DREW_THIS_TURN : 0);
+        int humanSeats = 0;
+
+        chunk.put(base + PLAYER_COUNT, (byte) players.size());
+        chunk.put(base + CURRENT, (byte) state.getCurrentPlayerIndex());
+        chunk.put(base + TOP_COLOR, (byte) state.getTopCard().getColor().ordinal());
+        chunk.putShort(base + PENDING, (short) state.getPendingDrawCount());
+        chunk.putShort(base + HOUSE_RULES, (short) TableAssembler.houseRuleBits(controller.getRuleSet()));
+        chunk.putLong(base + SEED, ThreadLocalRandom.current().nextLong());
+        chunk.put(base + DRAW_SIZE, (byte) drawPile.size());
+        chunk.put(base + DISCARD_SIZE, (byte) discardPile.size());
+
+        int position = base + CARDS;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (player.isHuman()) {
+                humanSeats |= 1 << seat;
+            }
+            chunk.putLong(base + PLAYER_IDS + 8 * seat, playerIds != null ? playerIds[seat] : seat + 1);
+            chunk.put(base + HAND_SIZES + seat, (byte) player.getHandSize());
+            for (int i = 0; i < player.getHandSize(); i++) {
+                chunk.put(position++, (byte) player.getCardFace(i));
+            }
+        }
+        for (Card card : drawPile) {
+            chunk.put(position++, (byte) CardFace.of(card));
+        }
+        for (Card card : discardPile) {
+            chunk.put(position++, (byte) CardFace.of(card));
+        }
+
+        chunk.putShort(base + HUMAN_SEATS, (short) humanSeats);
+        chunk.put(base + FLAGS, (byte) flags);
+    }
+}
@@ -0,0 +1,90 @@
+package persistence;
+
+import controller.GameController;
+import model.*;
+import model.rules.HouseRule;
+import model.rules.RuleSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds a running table back from stored parts, for the table stores.
+ */
+final class TableAssembler {
+    private static final HouseRule[] HOUSE_RULES = HouseRule.values();
+    private static final Map<Integer, RuleSet> RULE_SETS = new ConcurrentHashMap<>();
+
+    private TableAssembler() {
+    }
+
+    /**
+     * Assembles a table. The top card is the last card of the discard pile.
+     *
+     * @param players      The players, holding their hands, in seat order
+     * @param drawPile     The draw pile; the last card is drawn next
+     * @param discardPile  The discard pile; the last card is on top
+     * @param deckCount    Number of 108-card decks the piles came from
+     * @param topColor     The active color of the top card
+     * @param current      The current seat
+     * @param clockwise    The direction of play
+     * @param pending      Pending penalty cards
+     * @param colorNeeded  Whether a wild is waiting for a color
+     * @param drewThisTurn Whether the current player has drawn this turn
+     * @param ruleSet      The rules of the table
+     * @param seed         Seed for the table's random generator
+     * @return A running controller with nothing attached
+     */
+    static GameController assemble(List<Player> players, List<Card> drawPile, List<Card> discardPile,
+            int deckCount, CardColor topColor, int current, boolean clockwise, int pending, boolean colorNeeded,
+            boolean drewThisTurn, RuleSet ruleSet, long seed) {
+        Card topCard = discardPile.get(discardPile.size() - 1);
+        topCard.setColor(topColor);
+
+        GameState state = new GameState();
+        state.setPlayers(players);
+        state.setTopCard(topCard);
+        state.setCurrentPlayerIndex(current);
+        state.setClockwise(clockwise);
+        state.setPendingDrawCount(pending);
+        state.setColorChangeNeeded(colorNeeded);
+
+        Random random = new Random(seed);
+        Deck deck = new Deck(drawPile, discardPile, deckCount, random);
+        GameController controller = new GameController(state, deck, ruleSet, random);
+        controller.resumeGame(drewThisTurn);
+        return controller;
+    }
+
+    /**
+     * Packs a rule set's house rules into bits, one per HouseRule ordinal.
+     */
+    static int houseRuleBits(RuleSet ruleSet) {
+        int bits = 0;
+        for (HouseRule rule : ruleSet.getEnabledRules()) {
+            bits |= 1 << rule.ordinal();
+        }
+        return bits;
+    }
+
+    /**
+     * Gets the rule set for packed house rules, compiling each set once.
+     */
+    static RuleSet ruleSetFor(int bits) {
+        if (bits == 0) {
+            return RuleSet.standard();
+        }
+        return RULE_SETS.computeIfAbsent(bits, key -> {
+            Set<HouseRule> rules = EnumSet.noneOf(HouseRule.class);
+            for (HouseRule rule : HOUSE_RULES) {
+                if ((key & (1 << rule.ordinal())) != 0) {
+                    rules.add(rule);
+                }
+            }
+            return new RuleSet(rules);
+        });
+    }
+}
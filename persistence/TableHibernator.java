@@ -0,0 +1,404 @@
+package persistence;
+
+import controller.GameController;
+import model.Player;
+import stats.RunningStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hosts many tables in memory and hibernates inactive ones to disk.
+ *
+ * Live tables are kept in least-recently-used order. A background sweep
+ * hibernates every table that has been idle longer than the idle timeout,
+ * and, while the estimated memory of the live tables is over budget, the
+ * least recently used ones as well. Hibernated tables are written with
+ * GameSaver's UNO_SAVE_V2 format on the I/O threads and read back on the
+ * same threads when their next command arrives; every restore is timed
+ * (see getAverageRestoreMillis()).
+ *
+ * The file holds the game only, so a restored table is a new
+ * GameController without the observers, event listeners, seat
+ * strategies, endgame search setting or TurnClock of the one that was
+ * hibernated. Whatever the host attached to its tables it attaches again
+ * in onRestore(), which runs before any command sees the table.
+ *
+ * Commands go through submit(), or acquire() and release() around them.
+ * An acquired table is pinned and never hibernated. Commands for one
+ * table must not run concurrently; different tables are independent.
+ */
+public class TableHibernator implements AutoCloseable {
+    /** Estimated heap of a table without its cards and players. */
+    public static final long TABLE_BYTES = 4096;
+    public static final long CARD_BYTES = 40;
+    public static final long PLAYER_BYTES = 512;
+
+    private static final String FILE_SUFFIX = ".uno";
+
+    private final Path directory;
+    private final long memoryBudget;
+    private final long idleNanos;
+    private final GameSaver saver;
+    private final ExecutorService io;
+    private final ScheduledExecutorService sweeper;
+
+    // Guarded by this
+    private final Map<String, Entry> tables;
+    private final LinkedHashMap<String, Entry> live;
+    private long liveBytes;
+    private long evictions;
+    private final RunningStats restoreMillis;
+    private double maxRestoreMillis;
+    private volatile Consumer<GameController> restoreHook = controller -> { };
+
+    /**
+     * One hosted table, live or hibernated.
+     */
+    private static final class Entry {
+        final String id;
+        final Path file;
+        GameController controller; // null while hibernated
+        long bytes;
+        int pins;
+        long lastUsed;
+        CompletableFuture<Void> saved = CompletableFuture.completedFuture(null);
+        CompletableFuture<GameController> restoring;
+
+        Entry(String id, Path file) {
+            this.id = id;
+            this.file = file;
+        }
+    }
+
+    /**
+     * Constructor for TableHibernator.
+     *
+     * @param directory    Where hibernated tables are written
+     * @param memoryBudget Estimated bytes the live tables may use
+     * @param idleTimeout  How long a table may be idle before it hibernates
+     * @param unit         Unit of idleTimeout
+     * @param ioThreads    Threads writing and reading table files
+     * @throws IOException if the directory cannot be created
+     */
+    public TableHibernator(Path directory, long memoryBudget, long idleTimeout, TimeUnit unit, int ioThreads)
+            throws IOException {
+        if (memoryBudget <= 0 || idleTimeout <= 0 || ioThreads <= 0) {
+            throw new IllegalArgumentException("Budget, idle timeout and thread count must be positive");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+        this.idleNanos = unit.toNanos(idleTimeout);
+        this.saver = GameSaver.getInstance();
+        this.io = Executors.newFixedThreadPool(ioThreads, daemonThreads("table-io-"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("table-sweeper-"));
+        this.tables = new HashMap<>();
+        this.live = new LinkedHashMap<>(16, 0.75f, true);
+        this.restoreMillis = new RunningStats();
+
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(10), idleNanos / 4);
+        sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Starts hosting a table.
+     *
+     * @param id         The table's id
+     * @param controller The running table
+     */
+    public synchronized void add(String id, GameController controller) {
+        if (tables.containsKey(id)) {
+            throw new IllegalArgumentException("Table already hosted: " + id);
+        }
+        Entry entry = new Entry(id, directory.resolve(URLEncoder.encode(id, StandardCharsets.UTF_8) + FILE_SUFFIX));
+        entry.controller = controller;
+        entry.bytes = estimateBytes(controller);
+        entry.lastUsed = System.nanoTime();
+        tables.put(id, entry);
+        live.put(id, entry);
+        liveBytes += entry.bytes;
+        if (liveBytes > memoryBudget) {
+            sweeper.execute(this::sweep);
+        }
+    }
+
+    /**
+     * Sets what is done to every table read back from disk, to attach
+     * again what the host attaches to its tables. It runs on the I/O
+     * thread that restored the table, before any command sees it; if it
+     * throws, the restore fails and the next command tries again.
+     *
+     * @param hook Receives each restored table
+     */
+    public void onRestore(Consumer<GameController> hook) {
+        if (hook == null) {
+            throw new IllegalArgumentException("Restore hook cannot be null");
+        }
+        this.restoreHook = hook;
+    }
+
+    /**
+     * Runs a command on a table, restoring it first if it hibernated.
+     * The command runs on the calling thread if the table is live, or on
+     * the I/O thread that restored it.
+     *
+     * @param id      The table's id
+     * @param command The command, given the live table
+     * @return What the command returned
+     */
+    public <T> CompletableFuture<T> submit(String id, Function<GameController, T> command) {
+        return acquire(id).thenApply(command).whenComplete((result, error) -> release(id));
+    }
+
+    /**
+     * Pins a table in memory, restoring it if it hibernated. Every call
+     * must be followed by release(), even if the future fails.
+     *
+     * @param id The table's id
+     * @return The live table, once available
+     */
+    public synchronized CompletableFuture<GameController> acquire(String id) {
+        Entry entry = tables.get(id);
+        if (entry == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("No such table: " + id));
+        }
+        entry.pins++;
+        if (entry.controller != null) {
+            live.get(id); // Most recently used
+            return CompletableFuture.completedFuture(entry.controller);
+        }
+        if (entry.restoring == null) {
+            long start = System.nanoTime();
+            entry.restoring = entry.saved.thenApplyAsync(ignored -> restore(entry, start), io);
+        }
+        return entry.restoring;
+    }
+
+    /**
+     * Unpins a table after a command.
+     *
+     * @param id The table's id
+     */
+    public synchronized void release(String id) {
+        Entry entry = tables.get(id);
+        if (entry == null || entry.pins == 0) {
+            return;
+        }
+        entry.pins--;
+        entry.lastUsed = System.nanoTime();
+        if (entry.controller != null) {
+            long bytes = estimateBytes(entry.controller);
+            liveBytes += bytes - entry.bytes;
+            entry.bytes = bytes;
+            if (liveBytes > memoryBudget) {
+                sweeper.execute(this::sweep);
+            }
+        }
+    }
+
+    /**
+     * Stops hosting a table and deletes its file.
+     *
+     * @param id The table's id
+     */
+    public synchronized void remove(String id) {
+        Entry entry = tables.remove(id);
+        if (entry == null) {
+            return;
+        }
+        if (live.remove(id) != null) {
+            liveBytes -= entry.bytes;
+        }
+        entry.saved.whenCompleteAsync((ignored, error) -> {
+            try {
+                Files.deleteIfExists(entry.file);
+            } catch (IOException e) {
+                System.err.println("Failed to delete table file " + entry.file + ": " + e.getMessage());
+            }
+        }, io);
+    }
+
+    /**
+     * Hibernates idle tables, then least recently used ones while the
+     * live tables are over budget.
+     */
+    private void sweep() {
+        List<Entry> victims = new ArrayList<>();
+        List<GameController> controllers = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Entry entry : live.values()) {
+                if (entry.pins == 0 && (liveBytes > memoryBudget || now - entry.lastUsed >= idleNanos)) {
+                    victims.add(entry);
+                    controllers.add(entry.controller);
+                    entry.controller = null;
+                    liveBytes -= entry.bytes;
+                }
+            }
+            for (Entry entry : victims) {
+                live.remove(entry.id);
+                evictions++;
+            }
+            for (int i = 0; i < victims.size(); i++) {
+                Entry entry = victims.get(i);
+                GameController controller = controllers.get(i);
+                entry.saved = CompletableFuture.runAsync(() -> hibernate(entry, controller), io);
+            }
+        }
+    }
+
+    /**
+     * Writes a table to disk. If that fails the table is put back in memory.
+     */
+    private void hibernate(Entry entry, GameController controller) {
+        try {
+            saver.writeTable(controller, entry.file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to hibernate table " + entry.id + ", keeping it in memory: " + e.getMessage());
+            synchronized (this) {
+                if (tables.get(entry.id) == entry && entry.controller == null) {
+                    entry.controller = controller;
+                    live.put(entry.id, entry);
+                    liveBytes += entry.bytes;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a hibernated table back. Runs on an I/O thread.
+     */
+    private GameController restore(Entry entry, long start) {
+        synchronized (this) {
+            if (entry.controller != null) {
+                entry.restoring = null; // Its hibernation failed, so it never left
+                return entry.controller;
+            }
+        }
+
+        GameController controller;
+        try {
+            controller = saver.readTable(entry.file);
+            restoreHook.accept(controller);
+        } catch (IOException e) {
+            abandonRestore(entry);
+            throw new UncheckedIOException("Failed to restore table " + entry.id, e);
+        } catch (RuntimeException e) {
+            abandonRestore(entry);
+            throw e;
+        }
+
+        double millis = (System.nanoTime() - start) / 1e6;
+        synchronized (this) {
+            entry.controller = controller;
+            entry.restoring = null;
+            entry.bytes = estimateBytes(controller);
+            if (tables.get(entry.id) == entry) {
+                live.put(entry.id, entry);
+                liveBytes += entry.bytes;
+            }
+            restoreMillis.add(millis);
+            maxRestoreMillis = Math.max(maxRestoreMillis, millis);
+            if (liveBytes > memoryBudget) {
+                sweeper.execute(this::sweep);
+            }
+        }
+        return controller;
+    }
+
+    /**
+     * Leaves a table hibernated after a failed restore, so the next
+     * command tries again.
+     */
+    private synchronized void abandonRestore(Entry entry) {
+        entry.restoring = null;
+        entry.pins = 0;
+    }
+
+    /**
+     * Estimates the heap a live table takes.
+     *
+     * @param controller The table
+     * @return Estimated bytes
+     */
+    public static long estimateBytes(GameController controller) {
+        List<Player> players = controller.getGameState().getPlayers();
+        long cards = controller.getDeck().getDrawPileSize() + controller.getDeck().getDiscardPileSize();
+        for (Player player : players) {
+            cards += player.getHandSize();
+        }
+        return TABLE_BYTES + cards * CARD_BYTES + players.size() * PLAYER_BYTES;
+    }
+
+    public synchronized int getTableCount() {
+        return tables.size();
+    }
+
+    public synchronized int getLiveCount() {
+        return live.size();
+    }
+
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getRestoreCount() {
+        return restoreMillis.getCount();
+    }
+
+    public synchronized double getAverageRestoreMillis() {
+        return restoreMillis.getMean();
+    }
+
+    public synchronized double getMaxRestoreMillis() {
+        return maxRestoreMillis;
+    }
+
+    /**
+     * Stops the sweep and waits for pending writes. Live tables are not
+     * written out.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Table I/O did not finish within 30 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package stats;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable streaming quantile sketch in the style of KLL.
+ *
+ * Values enter a stack of compactors. When a compactor fills up it is
+ * sorted and every other item (starting at a random offset) is promoted
+ * to the next level with twice the weight. Lower levels get
+ * geometrically smaller capacities, so memory stays around a few times
+ * k items no matter how many values are added, and two sketches merge
+ * by concatenating their levels and compacting again.
+ *
+ * With k = 200 the rank error is typically below 1%.
+ */
+public class QuantileSketch {
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private int levelCount;
+    private long count;
+    private double min;
+    private double max;
+    private long randomState;
+
+    /**
+     * Constructor for QuantileSketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructor for QuantileSketch.
+     *
+     * @param k Capacity of the top compactor; larger is more accurate
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY);
+        }
+        this.k = k;
+        this.levels = new double[4][];
+        this.sizes = new int[4];
+        this.levels[0] = new double[k];
+        this.levelCount = 1;
+        this.count = 0;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.randomState = 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value The value
+     */
+    public void update(double value) {
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+
+        append(0, value);
+        if (sizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds all values seen by another sketch into this one.
+     * The other sketch is left unchanged.
+     *
+     * @param other The sketch to merge
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0 || other.min < min) {
+            min = other.min;
+        }
+        if (count == 0 || other.max > max) {
+            max = other.max;
+        }
+        count += other.count;
+
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        compress();
+    }
+
+    /**
+     * Estimates the value at the given quantile.
+     *
+     * @param q Quantile in [0, 1]
+     * @return The estimated value, or NaN if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+
+        int retained = 0;
+        for (int level = 0; level < levelCount; level++) {
+            retained += sizes[level];
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[n] = levels[level][i];
+                weights[n] = 1L << level;
+                n++;
+            }
+        }
+
+        // Sort indices by value, then walk the cumulative weight
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        double target = q * total;
+        long cumulative = 0;
+        for (int i = 0; i < n; i++) {
+            cumulative += weights[order[i]];
+            if (cumulative >= target) {
+                return values[order[i]];
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the number of values currently held, a measure of memory use.
+     *
+     * @return Retained item count
+     */
+    public int getRetainedCount() {
+        int retained = 0;
+        for (int level = 0; level < levelCount; level++) {
+            retained += sizes[level];
+        }
+        return retained;
+    }
+
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void append(int level, double value) {
+        double[] buffer = levels[level];
+        if (sizes[level] == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            levels[level] = buffer;
+        }
+        buffer[sizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[MIN_CAPACITY];
+        sizes[levelCount] = 0;
+        levelCount++;
+    }
+
+    /**
+     * Compacts every level that is over its capacity, from the bottom up.
+     */
+    private void compress() {
+        for (int level = 0; level < levelCount; level++) {
+            if (sizes[level] < capacity(level)) {
+                continue;
+            }
+            if (level + 1 == levelCount) {
+                addLevel();
+            }
+
+            double[] buffer = levels[level];
+            int size = sizes[level];
+            Arrays.sort(buffer, 0, size);
+
+            // An odd item out stays behind at this level
+            int start = size % 2;
+            int offset = nextBit();
+            for (int i = start + offset; i < size; i += 2) {
+                append(level + 1, buffer[i]);
+            }
+            sizes[level] = start;
+        }
+    }
+
+    private int nextBit() {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return (int) (randomState & 1);
+    }
+}
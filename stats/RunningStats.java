@@ -0,0 +1,60 @@
+package stats;
+
+/**
+ * Mergeable running mean and variance (Welford's algorithm, combined
+ * with Chan's formula when merging).
+ */
+public class RunningStats {
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Adds all values seen by another instance into this one.
+     *
+     * @param other The statistics to merge
+     */
+    public void merge(RunningStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the sample variance.
+     *
+     * @return The variance, or 0 with fewer than two values
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
@@ -0,0 +1,182 @@
+package stats;
+
+import model.Card;
+import model.CardColor;
+import model.CardFace;
+import model.CardType;
+import model.GameState;
+import model.Player;
+import observer.GameEvent;
+import observer.GameEventListener;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Live aggregates over a stream of games, fed by game events.
+ *
+ * Tracks the mean and variance of game length, wins per seat, a quantile
+ * sketch of the hand sizes left when a game is won, and how often each
+ * card type and color is played. Memory depends only on the table size
+ * and sketch accuracy, never on the number of games.
+ *
+ * An aggregator is not thread-safe. Give each worker thread its own
+ * and combine them at the end with merge().
+ */
+public class StreamingAggregator implements GameEventListener {
+    private final RunningStats gameLength;
+    private final QuantileSketch handsAtWin;
+    private final long[][] playHeatmap;
+    private long[] gamesBySeat;
+    private long[] winsBySeat;
+    private int turn;
+
+    /**
+     * Constructor for StreamingAggregator.
+     */
+    public StreamingAggregator() {
+        this.gameLength = new RunningStats();
+        this.handsAtWin = new QuantileSketch();
+        this.playHeatmap = new long[CardType.values().length][CardColor.values().length];
+        this.gamesBySeat = new long[0];
+        this.winsBySeat = new long[0];
+    }
+
+    @Override
+    public void onGameStarted(GameState state) {
+        turn = 0;
+        int seats = state.getPlayers().size();
+        ensureSeats(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            gamesBySeat[seat]++;
+        }
+    }
+
+    @Override
+    public void onCardPlayed(GameEvent event, Card card) {
+        turn++;
+        // The color the card had when played: a wild's is chosen later
+        CardColor color = CardFace.colorOfTopKey(event.getTopKey());
+        playHeatmap[card.getType().ordinal()][color.ordinal()]++;
+    }
+
+    @Override
+    public void onCardsDrawn(GameEvent event, int count, boolean penalty) {
+        turn++;
+    }
+
+    @Override
+    public void onGameOver(GameEvent event) {
+        int winnerSeat = event.getSeat();
+        gameLength.add(turn);
+        ensureSeats(winnerSeat + 1);
+        winsBySeat[winnerSeat]++;
+
+        List<Player> players = event.getState().getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (seat != winnerSeat) {
+                handsAtWin.update(players.get(seat).getHandSize());
+            }
+        }
+    }
+
+    /**
+     * Adds everything another aggregator has seen into this one.
+     *
+     * @param other The aggregator to merge
+     */
+    public void merge(StreamingAggregator other) {
+        gameLength.merge(other.gameLength);
+        handsAtWin.merge(other.handsAtWin);
+        for (int type = 0; type < playHeatmap.length; type++) {
+            for (int color = 0; color < playHeatmap[type].length; color++) {
+                playHeatmap[type][color] += other.playHeatmap[type][color];
+            }
+        }
+        ensureSeats(other.gamesBySeat.length);
+        for (int seat = 0; seat < other.gamesBySeat.length; seat++) {
+            gamesBySeat[seat] += other.gamesBySeat[seat];
+            winsBySeat[seat] += other.winsBySeat[seat];
+        }
+    }
+
+    private void ensureSeats(int seats) {
+        if (seats > gamesBySeat.length) {
+            gamesBySeat = Arrays.copyOf(gamesBySeat, seats);
+            winsBySeat = Arrays.copyOf(winsBySeat, seats);
+        }
+    }
+
+    /**
+     * Gets the number of finished games.
+     *
+     * @return Game count
+     */
+    public long getGameCount() {
+        return gameLength.getCount();
+    }
+
+    /**
+     * Gets the running statistics of game length, in actions.
+     *
+     * @return Mean and variance of game length
+     */
+    public RunningStats getGameLength() {
+        return gameLength;
+    }
+
+    /**
+     * Estimates a quantile of the opponents' hand sizes when a game is won.
+     *
+     * @param q Quantile in [0, 1]
+     * @return Estimated hand size
+     */
+    public double handSizeAtWinQuantile(double q) {
+        return handsAtWin.quantile(q);
+    }
+
+    /**
+     * Gets the fraction of games won from a seat.
+     *
+     * @param seat The seat index
+     * @return Win rate, or 0 if the seat has not played
+     */
+    public double winRate(int seat) {
+        if (seat >= gamesBySeat.length || gamesBySeat[seat] == 0) {
+            return 0;
+        }
+        return (double) winsBySeat[seat] / gamesBySeat[seat];
+    }
+
+    /**
+     * Gets the Wilson score interval of a seat's win rate.
+     *
+     * @param seat The seat index
+     * @param z    The normal quantile for the confidence level (1.96 for 95%)
+     * @return { lower bound, upper bound }
+     */
+    public double[] winRateInterval(int seat, double z) {
+        if (seat >= gamesBySeat.length || gamesBySeat[seat] == 0) {
+            return new double[] { 0, 1 };
+        }
+        double n = gamesBySeat[seat];
+        double p = winsBySeat[seat] / n;
+        double z2 = z * z;
+        double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double margin = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / (1 + z2 / n);
+        return new double[] { center - margin, center + margin };
+    }
+
+    /**
+     * Gets how often each card type was played in each color.
+     * Wilds are counted under CardColor.WILD.
+     *
+     * @return Copy of the counts indexed by [CardType ordinal][CardColor ordinal]
+     */
+    public long[][] getPlayHeatmap() {
+        long[][] copy = new long[playHeatmap.length][];
+        for (int type = 0; type < playHeatmap.length; type++) {
+            copy[type] = playHeatmap[type].clone();
+        }
+        return copy;
+    }
+}
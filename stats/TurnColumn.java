@@ -0,0 +1,51 @@
+package stats;
+
+/**
+ * Enumeration of the columns stored in a turn statistics file.
+ *
+ * Each column is written per chunk as its own compressed block, so a
+ * query only decompresses the columns it reads. Columns whose values
+ * mostly grow row over row are delta-encoded before compression.
+ */
+public enum TurnColumn {
+    GAME(4, true),
+    TURN(4, true),
+    SEAT(2, false),
+    ACTION(1, false),
+    FACE(1, false),
+    DRAWN(2, false),
+    HAND_SIZE(2, false),
+    STRATEGY(1, false);
+
+    /** Action code: the seat took part in a new game (one row per seat). */
+    public static final int ACTION_JOIN = 0;
+    /** Action code: a card was played. */
+    public static final int ACTION_PLAY = 1;
+    /** Action code: cards were drawn by choice. */
+    public static final int ACTION_DRAW = 2;
+    /** Action code: cards were drawn as a penalty. */
+    public static final int ACTION_PENALTY = 3;
+    /** Action code: the seat won; TURN holds the game length in actions. */
+    public static final int ACTION_WIN = 4;
+
+    private final int width;
+    private final boolean deltaEncoded;
+
+    TurnColumn(int width, boolean deltaEncoded) {
+        this.width = width;
+        this.deltaEncoded = deltaEncoded;
+    }
+
+    /**
+     * Gets the number of bytes used per value before compression.
+     *
+     * @return Width in bytes (1, 2 or 4)
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isDeltaEncoded() {
+        return deltaEncoded;
+    }
+}
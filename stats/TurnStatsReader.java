@@ -0,0 +1,348 @@
+package stats;
+
+import model.CardFace;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and aggregates a statistics file written by TurnStatsSink.
+ *
+ * Chunks are memory-mapped one at a time and only the requested columns
+ * are inflated, into primitive arrays that are reused across chunks.
+ * Aggregations are plain loops over those arrays.
+ */
+public class TurnStatsReader implements Closeable {
+    private static final TurnColumn[] COLUMNS = TurnColumn.values();
+
+    /**
+     * Receives the decoded columns of one chunk.
+     */
+    public interface ChunkVisitor {
+        /**
+         * Called once per chunk.
+         *
+         * @param columns Decoded values indexed by TurnColumn ordinal;
+         *                only the requested columns are filled in
+         * @param rows    Number of rows in the chunk
+         */
+        void visit(int[][] columns, int rows);
+    }
+
+    private final FileChannel channel;
+    private final int[][] columns;
+    private final Inflater inflater;
+    private byte[] raw;
+
+    /**
+     * Opens a statistics file for reading.
+     *
+     * @param file The file to read
+     * @throws IOException if the file cannot be opened or is not a statistics file
+     */
+    public TurnStatsReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        checkHeader(channel);
+        this.columns = new int[COLUMNS.length][];
+        this.inflater = new Inflater();
+        this.raw = new byte[TurnStatsSink.CHUNK_ROWS * 4];
+    }
+
+    /**
+     * Verifies the magic and column layout at the start of a file.
+     *
+     * @param channel The open file
+     * @throws IOException if the header does not match
+     */
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TurnStatsSink.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Truncated statistics file header");
+            }
+        }
+        header.flip();
+        byte[] magic = new byte[TurnStatsSink.MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, TurnStatsSink.MAGIC) || header.getInt() != COLUMNS.length) {
+            throw new IOException("Not a statistics file of this version");
+        }
+    }
+
+    /**
+     * Visits every chunk of the file, decoding the given columns.
+     *
+     * @param visitor The chunk visitor
+     * @param wanted  The columns to decode
+     * @throws IOException if the file is corrupt or cannot be read
+     */
+    public void scan(ChunkVisitor visitor, TurnColumn... wanted) throws IOException {
+        boolean[] decode = new boolean[COLUMNS.length];
+        for (TurnColumn column : wanted) {
+            decode[column.ordinal()] = true;
+            if (columns[column.ordinal()] == null) {
+                columns[column.ordinal()] = new int[TurnStatsSink.CHUNK_ROWS];
+            }
+        }
+
+        int chunkHeaderSize = 4 + 4 * COLUMNS.length;
+        long position = TurnStatsSink.HEADER_SIZE;
+        long size = channel.size();
+        while (position < size) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkHeaderSize);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int rows = header.getInt();
+            int[] lengths = new int[COLUMNS.length];
+            long payload = 0;
+            for (int i = 0; i < COLUMNS.length; i++) {
+                lengths[i] = header.getInt();
+                payload += lengths[i];
+            }
+            position += chunkHeaderSize;
+
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, payload);
+            int offset = 0;
+            for (TurnColumn column : COLUMNS) {
+                int length = lengths[column.ordinal()];
+                if (decode[column.ordinal()]) {
+                    ByteBuffer block = chunk.slice(offset, length);
+                    decompress(column, block, rows, columns[column.ordinal()]);
+                }
+                offset += length;
+            }
+            position += payload;
+
+            visitor.visit(columns, rows);
+        }
+    }
+
+    /**
+     * Inflates one column block and decodes it into values.
+     */
+    private void decompress(TurnColumn column, ByteBuffer block, int rows, int[] values) throws IOException {
+        int rawLength = rows * column.getWidth();
+        inflater.reset();
+        inflater.setInput(block);
+        try {
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated " + column + " column");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt " + column + " column", e);
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(raw, 0, rawLength).order(ByteOrder.LITTLE_ENDIAN);
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            int value;
+            switch (column.getWidth()) {
+                case 1:
+                    value = in.get();
+                    break;
+                case 2:
+                    value = in.getShort();
+                    break;
+                default:
+                    value = in.getInt();
+                    break;
+            }
+            if (column.isDeltaEncoded()) {
+                value += previous;
+                previous = value;
+            }
+            values[row] = value;
+        }
+    }
+
+    /**
+     * Gets the highest game number in the file.
+     *
+     * @return The game number, or -1 for a file with no rows
+     * @throws IOException if the file cannot be read
+     */
+    public int maxGameId() throws IOException {
+        int[] max = { -1 };
+        scan((cols, rows) -> {
+            int[] games = cols[TurnColumn.GAME.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                max[0] = Math.max(max[0], games[row]);
+            }
+        }, TurnColumn.GAME);
+        return max[0];
+    }
+
+    /**
+     * Counts the rows with the given action code.
+     *
+     * @param action One of the TurnColumn.ACTION_* codes
+     * @return Number of rows
+     * @throws IOException if the file cannot be read
+     */
+    public long countActions(int action) throws IOException {
+        long[] count = new long[1];
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            long n = 0;
+            for (int row = 0; row < rows; row++) {
+                if (actions[row] == action) {
+                    n++;
+                }
+            }
+            count[0] += n;
+        }, TurnColumn.ACTION);
+        return count[0];
+    }
+
+    /**
+     * Counts the cards played per face.
+     *
+     * @return Counts indexed by face number (see CardFace)
+     * @throws IOException if the file cannot be read
+     */
+    public long[] cardsPlayedByFace() throws IOException {
+        long[] counts = new long[CardFace.COUNT];
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            int[] faces = cols[TurnColumn.FACE.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                if (actions[row] == TurnColumn.ACTION_PLAY) {
+                    counts[faces[row]]++;
+                }
+            }
+        }, TurnColumn.ACTION, TurnColumn.FACE);
+        return counts;
+    }
+
+    /**
+     * Gets the fraction of actions in which a card was played.
+     *
+     * @return Cards played per turn, or 0 for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    public double cardsPlayedPerTurn() throws IOException {
+        long[] counts = new long[2];
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                int action = actions[row];
+                if (action == TurnColumn.ACTION_PLAY) {
+                    counts[0]++;
+                    counts[1]++;
+                } else if (action == TurnColumn.ACTION_DRAW || action == TurnColumn.ACTION_PENALTY) {
+                    counts[1]++;
+                }
+            }
+        }, TurnColumn.ACTION);
+        return counts[1] == 0 ? 0 : (double) counts[0] / counts[1];
+    }
+
+    /**
+     * Gets the mean hand size after each play or draw.
+     *
+     * @return Mean hand size, or 0 for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    public double meanHandSize() throws IOException {
+        long[] sums = new long[2];
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            int[] sizes = cols[TurnColumn.HAND_SIZE.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                int action = actions[row];
+                if (action != TurnColumn.ACTION_JOIN && action != TurnColumn.ACTION_WIN) {
+                    sums[0] += sizes[row];
+                    sums[1]++;
+                }
+            }
+        }, TurnColumn.ACTION, TurnColumn.HAND_SIZE);
+        return sums[1] == 0 ? 0 : (double) sums[0] / sums[1];
+    }
+
+    /**
+     * Gets the fraction of games won from each seat.
+     *
+     * @return Win rates indexed by seat
+     * @throws IOException if the file cannot be read
+     */
+    public double[] winRateBySeat() throws IOException {
+        return winRate(TurnColumn.SEAT);
+    }
+
+    /**
+     * Gets the fraction of games won by each strategy id.
+     *
+     * @return Win rates indexed by strategy id
+     * @throws IOException if the file cannot be read
+     */
+    public double[] winRateByStrategy() throws IOException {
+        return winRate(TurnColumn.STRATEGY);
+    }
+
+    private double[] winRate(TurnColumn key) throws IOException {
+        long[][] counts = { new long[0], new long[0] }; // games joined, games won
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            int[] keys = cols[key.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                int action = actions[row];
+                int slot = action == TurnColumn.ACTION_JOIN ? 0 : action == TurnColumn.ACTION_WIN ? 1 : -1;
+                if (slot < 0) {
+                    continue;
+                }
+                int k = keys[row];
+                if (k >= counts[slot].length) {
+                    counts[0] = Arrays.copyOf(counts[0], k + 1);
+                    counts[1] = Arrays.copyOf(counts[1], k + 1);
+                }
+                counts[slot][k]++;
+            }
+        }, TurnColumn.ACTION, key);
+
+        double[] rates = new double[counts[0].length];
+        for (int k = 0; k < rates.length; k++) {
+            rates[k] = counts[0][k] == 0 ? 0 : (double) counts[1][k] / counts[0][k];
+        }
+        return rates;
+    }
+
+    /**
+     * Builds a histogram of game lengths, in actions.
+     *
+     * @param bucketWidth Width of each bucket
+     * @param buckets     Number of buckets; the last one also holds longer games
+     * @return Game counts per bucket
+     * @throws IOException if the file cannot be read
+     */
+    public long[] gameLengthHistogram(int bucketWidth, int buckets) throws IOException {
+        long[] histogram = new long[buckets];
+        scan((cols, rows) -> {
+            int[] actions = cols[TurnColumn.ACTION.ordinal()];
+            int[] turns = cols[TurnColumn.TURN.ordinal()];
+            for (int row = 0; row < rows; row++) {
+                if (actions[row] == TurnColumn.ACTION_WIN) {
+                    histogram[Math.min(turns[row] / bucketWidth, buckets - 1)]++;
+                }
+            }
+        }, TurnColumn.ACTION, TurnColumn.TURN);
+        return histogram;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+}
@@ -0,0 +1,240 @@
+package stats;
+
+import model.Card;
+import model.CardFace;
+import model.GameState;
+import model.Player;
+import observer.GameEvent;
+import observer.GameEventListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Records one row of facts per game action into a columnar statistics file.
+ *
+ * Rows are buffered in one primitive array per column and written out in
+ * chunks of CHUNK_ROWS. Within a chunk every column is stored as its own
+ * deflate-compressed block, so readers can map the file and decompress
+ * only the columns a query needs (see TurnStatsReader).
+ *
+ * File layout: the 8-byte magic "UNOSTAT1" and the column count, followed
+ * by chunks. Each chunk starts with its row count and the compressed
+ * length of every column, then the column blocks in TurnColumn order.
+ * All integers are little-endian.
+ *
+ * A sink is not thread-safe; give each worker thread its own file.
+ */
+public class TurnStatsSink implements GameEventListener, Closeable {
+    public static final int CHUNK_ROWS = 1 << 16;
+
+    static final byte[] MAGIC = "UNOSTAT1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_SIZE = MAGIC.length + 4;
+
+    private static final TurnColumn[] COLUMNS = TurnColumn.values();
+
+    private final FileChannel channel;
+    private final int[][] columns;
+    private int rows;
+
+    private final Deflater deflater;
+    private final ByteBuffer raw;
+    private byte[] compressed;
+
+    private int[] seatStrategies;
+    private int gameId;
+    private int turn;
+
+    /**
+     * Opens a statistics file for appending, creating it if needed.
+     * Games are numbered on from the highest game already in the file.
+     *
+     * @param file The file to write to
+     * @throws IOException if the file cannot be opened or is not a statistics file
+     */
+    public TurnStatsSink(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.columns = new int[COLUMNS.length][CHUNK_ROWS];
+        this.rows = 0;
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.raw = ByteBuffer.allocate(CHUNK_ROWS * 4).order(ByteOrder.LITTLE_ENDIAN);
+        this.compressed = new byte[CHUNK_ROWS];
+        this.seatStrategies = new int[0];
+        this.gameId = -1;
+
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC).putInt(COLUMNS.length).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } else {
+            try (TurnStatsReader reader = new TurnStatsReader(file)) {
+                this.gameId = reader.maxGameId();
+            }
+        }
+        channel.position(channel.size());
+    }
+
+    /**
+     * Tags a seat with the id of the strategy playing it.
+     * Used for win-rate-by-strategy queries; seats default to 0.
+     *
+     * @param seat       The seat index
+     * @param strategyId The strategy id (0-127)
+     */
+    public void setSeatStrategy(int seat, int strategyId) {
+        if (seat >= seatStrategies.length) {
+            seatStrategies = Arrays.copyOf(seatStrategies, seat + 1);
+        }
+        seatStrategies[seat] = strategyId;
+    }
+
+    @Override
+    public void onGameStarted(GameState state) {
+        gameId++;
+        turn = 0;
+        List<Player> players = state.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            append(TurnColumn.ACTION_JOIN, seat, -1, 0, players.get(seat).getHandSize());
+        }
+    }
+
+    @Override
+    public void onCardPlayed(GameEvent event, Card card) {
+        turn++;
+        append(TurnColumn.ACTION_PLAY, event.getSeat(), CardFace.of(card), 0, event.getHandSize());
+    }
+
+    @Override
+    public void onCardsDrawn(GameEvent event, int count, boolean penalty) {
+        turn++;
+        append(penalty ? TurnColumn.ACTION_PENALTY : TurnColumn.ACTION_DRAW, event.getSeat(), -1, count,
+                event.getHandSize());
+    }
+
+    @Override
+    public void onGameOver(GameEvent event) {
+        append(TurnColumn.ACTION_WIN, event.getSeat(), -1, 0, 0);
+    }
+
+    /**
+     * Buffers one row, writing a chunk when the buffer is full.
+     */
+    private void append(int action, int seat, int face, int drawn, int handSize) {
+        int row = rows;
+        columns[TurnColumn.GAME.ordinal()][row] = gameId;
+        columns[TurnColumn.TURN.ordinal()][row] = turn;
+        columns[TurnColumn.SEAT.ordinal()][row] = seat;
+        columns[TurnColumn.ACTION.ordinal()][row] = action;
+        columns[TurnColumn.FACE.ordinal()][row] = face;
+        columns[TurnColumn.DRAWN.ordinal()][row] = drawn;
+        columns[TurnColumn.HAND_SIZE.ordinal()][row] = handSize;
+        columns[TurnColumn.STRATEGY.ordinal()][row] = seat < seatStrategies.length ? seatStrategies[seat] : 0;
+        rows = row + 1;
+
+        if (rows == CHUNK_ROWS) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write statistics chunk", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered rows as one chunk.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+
+        ByteBuffer chunkHeader = ByteBuffer.allocate(4 + 4 * COLUMNS.length).order(ByteOrder.LITTLE_ENDIAN);
+        chunkHeader.putInt(rows);
+        ByteBuffer[] blocks = new ByteBuffer[COLUMNS.length + 1];
+        blocks[0] = chunkHeader;
+
+        for (TurnColumn column : COLUMNS) {
+            byte[] block = compress(column, columns[column.ordinal()]);
+            chunkHeader.putInt(block.length);
+            blocks[column.ordinal() + 1] = ByteBuffer.wrap(block);
+        }
+        chunkHeader.flip();
+
+        long remaining = 0;
+        for (ByteBuffer block : blocks) {
+            remaining += block.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(blocks);
+        }
+        rows = 0;
+    }
+
+    /**
+     * Encodes and deflates one column of the buffered rows.
+     */
+    private byte[] compress(TurnColumn column, int[] values) {
+        raw.clear();
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            int value = values[row];
+            if (column.isDeltaEncoded()) {
+                int delta = value - previous;
+                previous = value;
+                value = delta;
+            }
+            switch (column.getWidth()) {
+                case 1:
+                    raw.put((byte) value);
+                    break;
+                case 2:
+                    raw.putShort((short) value);
+                    break;
+                default:
+                    raw.putInt(value);
+                    break;
+            }
+        }
+
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, raw.position());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return Arrays.copyOf(compressed, length);
+    }
+
+    /**
+     * Flushes any buffered rows and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package tools;
+
+import model.*;
+import model.strategy.EffectDispatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Micro-benchmark comparing effect dispatch through Card.execute()
+ * (one call site shared by three Card subclasses and five effects)
+ * with EffectDispatcher.apply(Card, GameState), the type-keyed flyweight
+ * dispatch GameController uses, including its check that the card has
+ * the standard effect.
+ *
+ * Run with the JIT's inlining report to see both paths being compiled:
+ *
+ * java -XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining tools.EffectDispatchBenchmark
+ *
+ * In the report, every applyEffect() under EffectDispatcher::apply shows as
+ * "inline (hot)", while Card::execute is reported as a megamorphic virtual call.
+ */
+public class EffectDispatchBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int PLAYS_PER_ROUND = 20_000_000;
+
+    public static void main(String[] args) {
+        GameState state = new GameState();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            players.add(new Player("Bench " + (i + 1), false));
+        }
+        state.setPlayers(players);
+
+        // One card of every face, in face order, so every branch is hot
+        Card[] cards = new Card[CardFace.COUNT];
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            cards[face] = CardFace.newCard(face);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runVirtual(state, cards);
+            runDispatched(state, cards);
+        }
+
+        long virtualNanos = 0;
+        long dispatchedNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            virtualNanos += runVirtual(state, cards);
+            dispatchedNanos += runDispatched(state, cards);
+        }
+
+        double plays = (double) PLAYS_PER_ROUND * MEASURED_ROUNDS;
+        System.out.printf("Card.execute():            %.2f ns/play%n", virtualNanos / plays);
+        System.out.printf("EffectDispatcher.apply():  %.2f ns/play%n", dispatchedNanos / plays);
+    }
+
+    private static long runVirtual(GameState state, Card[] cards) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PLAYS_PER_ROUND; i++) {
+            cards[i % cards.length].execute(state);
+            state.setPendingDrawCount(0);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runDispatched(GameState state, Card[] cards) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PLAYS_PER_ROUND; i++) {
+            EffectDispatcher.apply(cards[i % cards.length], state);
+            state.setPendingDrawCount(0);
+        }
+        return System.nanoTime() - start;
+    }
+}
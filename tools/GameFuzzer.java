@@ -0,0 +1,310 @@
+package tools;
+
+import controller.GameController;
+import controller.GameInvariants;
+import controller.GameManager;
+import controller.command.GameCommand;
+import model.CardColor;
+import model.GameState;
+import model.Player;
+import model.rules.HouseRule;
+import model.rules.RuleSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays random streams of legal and illegal actions through
+ * GameController and checks GameInvariants after every one of them.
+ *
+ * java tools.GameFuzzer [games] [firstSeed] [actionsPerGame] [threads]
+ *
+ * Each game's table (players, house rules, shuffle) and its action script
+ * come from its seed, so any failure can be replayed; the seeds are
+ * shared out between worker threads, one game per thread at a time. A failing game is
+ * shrunk before it is reported: the script is cut after the failing
+ * action, the table is made smaller and simpler, and runs of actions are
+ * removed for as long as the game still fails the same way. Only the
+ * first failure of each kind is shrunk; later ones just print their seed.
+ */
+public class GameFuzzer {
+    private static final CardColor[] COLORS = CardColor.values();
+    private static final HouseRule[] HOUSE_RULES = HouseRule.values();
+
+    // Actions, in the low 4 bits of a script entry. The rest (0 to 2) are
+    // AI moves, weighted up so games make progress between random actions
+    private static final int PLAY_TURN = 3;
+    private static final int PLAY = 4;
+    private static final int DRAW = 5;
+    private static final int PASS = 6;
+    private static final int CHOOSE_COLOR = 7;
+    private static final int JUMP_IN = 8;
+    private static final int DRAW_CARD = 9;
+    private static final int SUBMIT = 10;
+    private static final int SELECT_COLOR = 11;
+    private static final int ACTION_COUNT = 12;
+
+    /**
+     * A table to fuzz: players, house rules and the seed of its shuffles.
+     */
+    private static final class Table {
+        final int players;
+        final int houseRules;
+        final long seed;
+
+        Table(int players, int houseRules, long seed) {
+            this.players = players;
+            this.houseRules = houseRules;
+            this.seed = seed;
+        }
+
+        @Override
+        public String toString() {
+            return players + " players, rules " + ruleSet(houseRules).getEnabledRules() + ", deal seed " + seed;
+        }
+    }
+
+    /**
+     * How a script failed: the action that failed and what was thrown.
+     */
+    private static final class Failure {
+        final int action;
+        final RuntimeException error;
+
+        Failure(int action, RuntimeException error) {
+            this.action = action;
+            this.error = error;
+        }
+
+        /** Failures of the same kind: same exception type and message up to the first number. */
+        String signature() {
+            String message = String.valueOf(error.getMessage());
+            int digit = 0;
+            while (digit < message.length() && !Character.isDigit(message.charAt(digit))) {
+                digit++;
+            }
+            return error.getClass().getName() + ": " + message.substring(0, digit);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int actionsPerGame = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        LongAdder actions = new LongAdder();
+        AtomicInteger failures = new AtomicInteger();
+        Set<String> reported = ConcurrentHashMap.newKeySet();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int worker = 0; worker < threads; worker++) {
+            long first = firstSeed + worker;
+            workers.execute(() -> {
+                for (long seed = first; seed < firstSeed + games; seed += threads) {
+                    Random random = new Random(seed);
+                    Table table = new Table(2 + random.nextInt(9), random.nextInt(1 << HOUSE_RULES.length), seed);
+                    int[] script = new int[actionsPerGame];
+                    for (int i = 0; i < script.length; i++) {
+                        script[i] = random.nextInt();
+                    }
+
+                    int[] played = new int[1];
+                    Failure failure = run(table, script, played);
+                    actions.add(played[0]);
+                    if (failure != null) {
+                        failures.incrementAndGet();
+                        if (reported.add(failure.signature())) {
+                            report(seed, table, script, failure);
+                        } else {
+                            System.out.println("FAIL seed " + seed + ": " + failure.error.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d games, %,d actions in %.1f s on %d threads (%,.0f actions/s), %d failing%n",
+                games, actions.sum(), seconds, threads, actions.sum() / seconds, failures.get());
+    }
+
+    /**
+     * Plays a script on a fresh table, checking the invariants after every action.
+     *
+     * @param table  The table
+     * @param script The actions
+     * @param played Receives the number of actions played
+     * @return The failure, or null if the game ran clean
+     */
+    private static Failure run(Table table, int[] script, int[] played) {
+        GameController controller;
+        try {
+            controller = GameManager.createHeadlessTable(table.players, ruleSet(table.houseRules), table.seed);
+            controller.setEndgameSearch(false); // Time-budgeted, so not replayable
+            GameInvariants.check(controller);
+        } catch (RuntimeException e) {
+            return new Failure(-1, e);
+        }
+
+        int i = 0;
+        try {
+            for (; i < script.length && controller.isGameRunning(); i++) {
+                act(controller, script[i]);
+                GameInvariants.check(controller);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return new Failure(i, e);
+        } finally {
+            played[0] = i;
+        }
+    }
+
+    /**
+     * Performs one scripted action. The low bits pick the action and the
+     * rest its arguments, which are often out of range on purpose.
+     */
+    private static void act(GameController controller, int action) {
+        GameState state = controller.getGameState();
+        Player player = state.getCurrentPlayer();
+        int op = (action & 0xF) % ACTION_COUNT;
+        int arg = action >>> 4;
+
+        switch (op) {
+            case PLAY_TURN:
+                controller.playTurn(arg % (player.getHandSize() + 3) - 2);
+                break;
+            case PLAY:
+                controller.play(arg % (player.getHandSize() + 1));
+                break;
+            case DRAW:
+                controller.draw();
+                break;
+            case PASS:
+                controller.pass();
+                break;
+            case CHOOSE_COLOR:
+                controller.chooseColor(COLORS[arg % COLORS.length]);
+                break;
+            case JUMP_IN: {
+                int seat = arg % state.getPlayers().size();
+                controller.jumpIn(seat, (arg >>> 4) % (state.getPlayers().get(seat).getHandSize() + 1));
+                break;
+            }
+            case DRAW_CARD:
+                controller.drawCard();
+                break;
+            case SUBMIT:
+                controller.submit(batch(arg, player.getHandSize()));
+                break;
+            case SELECT_COLOR:
+                if (state.isColorChangeNeeded()) {
+                    controller.selectColor(COLORS[arg % 4]);
+                }
+                break;
+            default:
+                controller.makeAIMove();
+                break;
+        }
+    }
+
+    private static List<GameCommand> batch(int arg, int handSize) {
+        Random random = new Random(arg);
+        List<GameCommand> commands = new ArrayList<>();
+        int size = 1 + random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    commands.add(GameCommand.play(random.nextInt(handSize + 1)));
+                    break;
+                case 1:
+                    commands.add(GameCommand.draw());
+                    break;
+                case 2:
+                    commands.add(GameCommand.pass());
+                    break;
+                default:
+                    commands.add(GameCommand.chooseColor(COLORS[random.nextInt(COLORS.length)]));
+                    break;
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Shrinks a failing game and prints the smallest replay found.
+     */
+    private static synchronized void report(long seed, Table table, int[] script, Failure failure) {
+        String signature = failure.signature();
+        int[] smallest = Arrays.copyOf(script, failure.action + 1);
+
+        // A smaller, simpler table
+        Table shrunk = table;
+        for (int players = 2; players < shrunk.players; players++) {
+            Table candidate = new Table(players, shrunk.houseRules, shrunk.seed);
+            if (failsAlike(candidate, smallest, signature)) {
+                shrunk = candidate;
+                break;
+            }
+        }
+        for (HouseRule rule : HOUSE_RULES) {
+            int bit = 1 << rule.ordinal();
+            if ((shrunk.houseRules & bit) != 0) {
+                Table candidate = new Table(shrunk.players, shrunk.houseRules & ~bit, shrunk.seed);
+                if (failsAlike(candidate, smallest, signature)) {
+                    shrunk = candidate;
+                }
+            }
+        }
+
+        // Fewer actions: remove runs of halving length while it still fails
+        for (int run = Math.max(1, smallest.length / 2); run >= 1; run /= 2) {
+            for (int from = 0; from + run <= smallest.length; ) {
+                int[] candidate = new int[smallest.length - run];
+                System.arraycopy(smallest, 0, candidate, 0, from);
+                System.arraycopy(smallest, from + run, candidate, from, smallest.length - from - run);
+                if (failsAlike(shrunk, candidate, signature)) {
+                    smallest = candidate;
+                } else {
+                    from += run;
+                }
+            }
+        }
+
+        Failure last = run(shrunk, smallest, new int[1]);
+        System.out.println("FAIL seed " + seed + " (" + table + ") at action " + failure.action);
+        System.out.println("  " + failure.error);
+        System.out.println("  Shrunk to " + smallest.length + " actions on " + shrunk + ":");
+        System.out.println("  " + Arrays.toString(smallest));
+        if (last != null) {
+            System.out.println("  " + last.error);
+        }
+    }
+
+    private static boolean failsAlike(Table table, int[] script, String signature) {
+        Failure failure = run(table, script, new int[1]);
+        return failure != null && failure.signature().equals(signature);
+    }
+
+    private static RuleSet ruleSet(int houseRules) {
+        Set<HouseRule> rules = EnumSet.noneOf(HouseRule.class);
+        for (HouseRule rule : HOUSE_RULES) {
+            if ((houseRules & (1 << rule.ordinal())) != 0) {
+                rules.add(rule);
+            }
+        }
+        return new RuleSet(rules);
+    }
+}
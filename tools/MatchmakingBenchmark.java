@@ -0,0 +1,112 @@
+package tools;
+
+import matchmaking.LobbyTicket;
+import matchmaking.Matchmaker;
+import matchmaking.TableLauncher;
+import model.rules.RuleSet;
+import stats.QuantileSketch;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput benchmark for the matchmaker.
+ *
+ * java tools.MatchmakingBenchmark [joinThreads] [joinsPerThread] [tableSize]
+ *
+ * Join threads add players with normally distributed ratings as fast as
+ * they can while one thread forms tables in a loop, as a lobby service
+ * would. Reports joins per second, tables per second and how long players
+ * waited, then times the hand-off of formed tables to GameManager.
+ */
+public class MatchmakingBenchmark {
+    private static final int BAND_WIDTH = 100;
+    private static final int BAND_COUNT = 30;
+    private static final long MAX_WAIT_MILLIS = 50;
+    private static final int LAUNCHED_TABLES = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int joinsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int tableSize = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        QuantileSketch waitMillis = new QuantileSketch();
+        Matchmaker matchmaker = new Matchmaker(tableSize, BAND_WIDTH, BAND_COUNT,
+                MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS, tables -> {
+                    long now = System.nanoTime();
+                    for (LobbyTicket[] table : tables) {
+                        for (LobbyTicket ticket : table) {
+                            waitMillis.update((now - ticket.getJoinedAt()) / 1e6);
+                        }
+                    }
+                });
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong nextId = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            Thread joiner = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long id = nextId.getAndAdd(joinsPerThread);
+                for (int i = 0; i < joinsPerThread; i++) {
+                    int rating = (int) Math.max(0, 1500 + random.nextGaussian() * 300);
+                    matchmaker.join(id + i, rating);
+                }
+                done.countDown();
+            }, "joiner-" + t);
+            joiner.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        while (done.getCount() > 0) {
+            matchmaker.formTables();
+        }
+        long joinNanos = System.nanoTime() - begin;
+
+        // Serve the stragglers, who need the wait limit to pass
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS * (Matchmaker.MAX_BAND_SPREAD + 2));
+        while (matchmaker.getWaitingCount() >= 2 && System.nanoTime() < deadline) {
+            matchmaker.formTables();
+        }
+        long totalNanos = System.nanoTime() - begin;
+
+        long joins = (long) threads * joinsPerThread;
+        System.out.printf("Joins:   %,d from %d threads in %.0f ms (%,.0f joins/s)%n",
+                joins, threads, joinNanos / 1e6, joins / (joinNanos / 1e9));
+        System.out.printf("Tables:  %,d of %d seated in %.0f ms (%,.0f tables/s), %,d players left waiting%n",
+                matchmaker.getTablesFormed(), tableSize, totalNanos / 1e6,
+                matchmaker.getTablesFormed() / (totalNanos / 1e9), matchmaker.getWaitingCount());
+        System.out.printf("Waited:  p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                waitMillis.quantile(0.5), waitMillis.quantile(0.99), waitMillis.getMax());
+
+        benchmarkLaunch(tableSize);
+    }
+
+    /**
+     * Times forming tables and starting a game for each of them.
+     */
+    private static void benchmarkLaunch(int tableSize) {
+        TableLauncher launcher = new TableLauncher(RuleSet.standard(), 1L, (seats, controller) -> { });
+        Matchmaker matchmaker = new Matchmaker(tableSize, BAND_WIDTH, BAND_COUNT,
+                MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS, launcher);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LAUNCHED_TABLES * tableSize; i++) {
+            matchmaker.join(i, (int) Math.max(0, 1500 + random.nextGaussian() * 300));
+        }
+
+        long begin = System.nanoTime();
+        matchmaker.formTables();
+        long nanos = System.nanoTime() - begin;
+        System.out.printf("Launch:  %,d tables dealt and started in %.0f ms (%,.0f tables/s)%n",
+                launcher.getTableCount(), nanos / 1e6, launcher.getTableCount() / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,130 @@
+package tools;
+
+import ai.HeuristicStrategy;
+import controller.GameController;
+import controller.GameManager;
+import controller.command.GameCommand;
+import controller.seat.AISeat;
+import controller.seat.RemoteSeat;
+import controller.seat.Seat;
+import controller.seat.SeatThreads;
+import controller.seat.TableRunner;
+import controller.seat.TurnView;
+import model.CardColor;
+import model.CardFace;
+import model.rules.RuleSet;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many tables at once, each played by two AI seats and two remote
+ * seats whose simulated clients answer after a random think time and now
+ * and then too late.
+ *
+ * java tools.SeatBenchmark [tables] [thinkMillis] [timeoutMillis]
+ *
+ * Reports how long the tables took, how many seat decisions timed out,
+ * and the most threads alive at once, which stays small on a JVM with
+ * virtual threads.
+ */
+public class SeatBenchmark {
+    private static final double LATE_ANSWERS = 0.01;
+
+    public static void main(String[] args) throws InterruptedException {
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int thinkMillis = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int timeoutMillis = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        ScheduledExecutorService clients = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "clients");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorService threads = SeatThreads.newExecutor("table-");
+        AISeat ai = new AISeat(new HeuristicStrategy());
+
+        List<TableRunner> runners = new ArrayList<>();
+        for (int i = 0; i < tables; i++) {
+            GameController controller = GameManager.createHeadlessTable(4, RuleSet.standard(), i);
+            controller.setEndgameSearch(false);
+            List<Seat> seats = new ArrayList<>();
+            for (int seat = 0; seat < 4; seat++) {
+                seats.add(seat % 2 == 0 ? ai : remoteSeat(clients, thinkMillis, timeoutMillis));
+            }
+            runners.add(new TableRunner(controller, seats, timeoutMillis, TimeUnit.MILLISECONDS, threads));
+        }
+
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (TableRunner runner : runners) {
+            running.add(threads.submit(runner));
+        }
+        for (Future<?> table : running) {
+            try {
+                table.get();
+            } catch (ExecutionException e) {
+                System.err.println("Table failed: " + e.getCause());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        threads.shutdown();
+        clients.shutdownNow();
+
+        long decisions = 0;
+        long timeouts = 0;
+        long rejections = 0;
+        long fallbacks = 0;
+        int finished = 0;
+        for (TableRunner runner : runners) {
+            decisions += runner.getDecisionCount();
+            timeouts += runner.getTimeoutCount();
+            rejections += runner.getRejectionCount();
+            fallbacks += runner.getFallbackCount();
+            finished += runner.getController().isGameRunning() ? 0 : 1;
+        }
+        System.out.printf("%s threads: %,d of %,d tables finished in %.1f s%n",
+                SeatThreads.isVirtual() ? "Virtual" : "Platform", finished, tables, seconds);
+        System.out.printf("Decisions: %,d, rejected %,d, timeouts %,d, played for seats %,d%n",
+                decisions, rejections, timeouts, fallbacks);
+        System.out.printf("Peak threads: %,d%n", ManagementFactory.getThreadMXBean().getPeakThreadCount());
+    }
+
+    /**
+     * A remote seat whose client answers from the view after a think time.
+     */
+    private static RemoteSeat remoteSeat(ScheduledExecutorService clients, int thinkMillis, int timeoutMillis) {
+        RemoteSeat[] seat = new RemoteSeat[1];
+        seat[0] = new RemoteSeat(turn -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = random.nextDouble() < LATE_ANSWERS ? timeoutMillis * 2L : random.nextInt(thinkMillis + 1);
+            List<GameCommand> answer = answer(turn);
+            clients.schedule(() -> seat[0].submit(turn.getId(), answer), delay, TimeUnit.MILLISECONDS);
+        });
+        return seat[0];
+    }
+
+    /**
+     * A simple client: plays the first playable card, else draws.
+     */
+    private static List<GameCommand> answer(TurnView turn) {
+        if (turn.isColorChangeNeeded()) {
+            return List.of(GameCommand.chooseColor(CardColor.BLUE));
+        }
+        for (int i = 0; i < turn.getHandSize(); i++) {
+            if (turn.isPlayable(i)) {
+                return turn.getHandFace(i) >= CardFace.WILD
+                        ? List.of(GameCommand.play(i), GameCommand.chooseColor(CardColor.RED))
+                        : List.of(GameCommand.play(i));
+            }
+        }
+        return List.of(turn.hasDrawnThisTurn() ? GameCommand.pass() : GameCommand.draw());
+    }
+}
@@ -0,0 +1,41 @@
+package tools;
+
+import ai.HeuristicWeights;
+import ai.SelfPlayTrainer;
+import model.rules.RuleSet;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for tuning the heuristic AI by self-play.
+ *
+ * java tools.SelfPlayTraining [generations] [players] [seed] [checkpointDir] [resumeGeneration]
+ *
+ * Checkpoints go to checkpointDir (default "training"). To resume, pass the
+ * generation to continue from; the run starts from checkpointDir/latest.weights.
+ */
+public class SelfPlayTraining {
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        Path directory = Paths.get(args.length > 3 ? args[3] : "training");
+        int from = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        HeuristicWeights start = from > 0
+                ? HeuristicWeights.load(directory.resolve("latest.weights"))
+                : HeuristicWeights.defaults();
+
+        try (SelfPlayTrainer trainer = new SelfPlayTrainer(RuleSet.standard(), players, seed)) {
+            trainer.setCheckpointDirectory(directory);
+            trainer.setGenerationListener((generation, matchScore, fairShare, accepted, nanos) ->
+                    System.out.printf("Generation %d: candidate scored %.3f vs current (fair share %.3f), %s, %.1f s%n",
+                            generation, matchScore, fairShare, accepted ? "accepted" : "rejected", nanos / 1e9));
+            HeuristicWeights trained = trainer.train(start, from, from + generations);
+            System.out.println("Trained: " + trained);
+            System.out.printf("Win rate vs defaults: %.3f%n",
+                    trainer.evaluate(trained, HeuristicWeights.defaults(), 4000, seed ^ 0x5DEECE66DL));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package tools;
+
+import controller.GameController;
+import controller.GameManager;
+import model.rules.RuleSet;
+import persistence.OffHeapTableStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Parks a large number of idle tables off-heap and plays moves on random
+ * ones, as a server hosting mostly idle tables would.
+ *
+ * java -Xmx256m -XX:MaxDirectMemorySize=512m tools.TableStoreBenchmark [tables] [moves]
+ *
+ * Reports the heap used with every table parked, the native memory the
+ * records take, and the time to rehydrate, move and park a table again.
+ */
+public class TableStoreBenchmark {
+    private static final int DISTINCT_TABLES = 1000;
+
+    public static void main(String[] args) {
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        Random random = new Random(1);
+
+        // A pool of games in progress to park copies of
+        List<GameController> games = new ArrayList<>();
+        for (int i = 0; games.size() < DISTINCT_TABLES; i++) {
+            GameController game = GameManager.createHeadlessTable(2 + random.nextInt(5), RuleSet.standard(), i);
+            game.setEndgameSearch(false);
+            int turns = random.nextInt(20);
+            for (int turn = 0; turn < turns && game.isGameRunning(); turn++) {
+                game.makeAIMove();
+            }
+            if (game.isGameRunning()) {
+                games.add(game);
+            }
+        }
+
+        long heapBefore = usedHeap();
+        OffHeapTableStore store = new OffHeapTableStore(tables);
+        long start = System.nanoTime();
+        for (int i = 0; i < tables; i++) {
+            store.park(games.get(i % games.size()));
+        }
+        long parkNanos = System.nanoTime() - start;
+        games.clear();
+        long heapAfter = usedHeap();
+
+        System.out.printf("Parked:  %,d tables in %.0f ms (%.2f us/table)%n",
+                store.size(), parkNanos / 1e6, parkNanos / 1e3 / tables);
+        System.out.printf("Memory:  %,d KB off-heap, heap %+,d KB%n",
+                store.getAllocatedBytes() / 1024, (heapAfter - heapBefore) / 1024);
+
+        int played = 0;
+        int finished = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < moves && store.size() > 0; i++) {
+            int handle = random.nextInt(tables);
+            try {
+                GameController game = store.rehydrate(handle);
+                game.setEndgameSearch(false);
+                game.makeAIMove();
+                if (!store.update(handle, game)) {
+                    finished++;
+                }
+                played++;
+            } catch (IllegalArgumentException e) {
+                // That table's game is over and its record was released
+            }
+        }
+        long moveNanos = System.nanoTime() - start;
+        System.out.printf("Moves:   %,d in %.0f ms (%.2f us per rehydrate, move and park), %,d games finished%n",
+                played, moveNanos / 1e6, moveNanos / 1e3 / played, finished);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,137 @@
+package tools;
+
+import controller.GameController;
+import controller.GameManager;
+import controller.timer.Timeout;
+import controller.timer.TimingWheel;
+import controller.timer.TurnClock;
+import model.Player;
+import model.rules.RuleSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the TimingWheel behind the turn clocks, then lets idle tables
+ * be played by their clocks alone.
+ *
+ * java tools.TurnClockBenchmark [deadlines] [tables] [timeoutMillis] [seconds]
+ *
+ * The first part schedules millions of turn deadlines spread over the
+ * default turn timeout on a simulated clock, cancels most of them as
+ * moves would, and runs the wheel to the end, checking that every
+ * remaining deadline fired once, never early and at most a tick late.
+ * The second part seats nobody at the tables: every step of every game
+ * is played when its clock runs out, so the time between steps shows how
+ * late the clocks run on a loaded table thread.
+ */
+public class TurnClockBenchmark {
+    private static final long TICK_MILLIS = 10;
+    private static final double CANCELLED = 0.9;
+
+    public static void main(String[] args) throws InterruptedException {
+        int deadlines = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int tables = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int timeoutMillis = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        benchmarkWheel(deadlines);
+        benchmarkTables(tables, timeoutMillis, seconds);
+    }
+
+    private static void benchmarkWheel(int deadlines) {
+        long[] now = new long[1];
+        TimingWheel wheel = new TimingWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, () -> now[0]);
+        long span = TimeUnit.SECONDS.toNanos(TurnClock.DEFAULT_TIMEOUT_SECONDS);
+        long tickNanos = wheel.getTickNanos();
+        Random random = new Random(1);
+
+        long[] due = new long[deadlines];
+        long[] fired = new long[deadlines];
+        int[] runs = new int[deadlines];
+        Timeout[] timeouts = new Timeout[deadlines];
+        long start = System.nanoTime();
+        for (int i = 0; i < deadlines; i++) {
+            int id = i;
+            due[i] = (long) (random.nextDouble() * span);
+            timeouts[i] = wheel.schedule(() -> {
+                fired[id] = now[0];
+                runs[id]++;
+            }, due[i], TimeUnit.NANOSECONDS);
+        }
+        long scheduled = System.nanoTime();
+        int cancelled = 0;
+        for (int i = 0; i < deadlines; i++) {
+            if (random.nextDouble() < CANCELLED && timeouts[i].cancel()) {
+                cancelled++;
+            }
+        }
+        long cancelEnd = System.nanoTime();
+        int expired = 0;
+        for (now[0] = 0; now[0] <= span + tickNanos; now[0] += tickNanos) {
+            expired += wheel.advance();
+        }
+        long end = System.nanoTime();
+
+        int early = 0;
+        int twice = 0;
+        long maxLate = 0;
+        for (int i = 0; i < deadlines; i++) {
+            if (timeouts[i].isExpired()) {
+                early += fired[i] < due[i] ? 1 : 0;
+                twice += runs[i] != 1 ? 1 : 0;
+                maxLate = Math.max(maxLate, fired[i] - due[i]);
+            } else {
+                twice += runs[i] != 0 ? 1 : 0;
+            }
+        }
+        System.out.printf("Wheel: %,d deadlines, schedule %.0f ns, cancel %.0f ns (%,d), expire %.0f ns (%,d)%n",
+                deadlines, (scheduled - start) / (double) deadlines,
+                (cancelEnd - scheduled) / (double) Math.max(cancelled, 1), cancelled,
+                (end - cancelEnd) / (double) Math.max(expired, 1), expired);
+        System.out.printf("  %s: %d early, %d run wrongly, %d left, latest %.1f ms after its deadline%n",
+                expired + cancelled == deadlines && early == 0 && twice == 0 && wheel.size() == 0 ? "OK" : "FAILED",
+                early, twice, wheel.size(), maxLate / 1e6);
+    }
+
+    private static void benchmarkTables(int tables, int timeoutMillis, int seconds) throws InterruptedException {
+        TimingWheel wheel = new TimingWheel(TICK_MILLIS, TimeUnit.MILLISECONDS);
+        wheel.start("turn-clock");
+        ExecutorService tableThread = Executors.newSingleThreadExecutor();
+
+        List<TurnClock> clocks = new ArrayList<>();
+        List<GameController> controllers = new ArrayList<>();
+        tableThread.execute(() -> {
+            for (int i = 0; i < tables; i++) {
+                List<Player> players = new ArrayList<>();
+                for (int seat = 0; seat < 4; seat++) {
+                    players.add(new Player("Player " + (seat + 1), true));
+                }
+                GameController controller = GameManager.createTable(players, RuleSet.standard(), i);
+                controller.setEndgameSearch(false);
+                controllers.add(controller);
+                clocks.add(new TurnClock(controller, wheel, timeoutMillis, TimeUnit.MILLISECONDS, tableThread));
+            }
+        });
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        tableThread.execute(() -> clocks.forEach(TurnClock::close));
+        wheel.close();
+        Thread.sleep(TICK_MILLIS); // Lets a last advance hand over its tasks
+        tableThread.shutdown();
+        tableThread.awaitTermination(1, TimeUnit.MINUTES);
+
+        long autoPlays = 0;
+        int finished = 0;
+        for (int i = 0; i < clocks.size(); i++) {
+            autoPlays += clocks.get(i).getAutoPlayCount();
+            finished += controllers.get(i).isGameRunning() ? 0 : 1;
+        }
+        System.out.printf("Tables: %,d idle tables, %,d steps played by the clock in %d s, %,d games finished%n",
+                clocks.size(), autoPlays, seconds, finished);
+        System.out.printf("  A step every %.1f ms per table for a %d ms turn timeout and %d ms ticks%n",
+                clocks.size() * seconds * 1000.0 / Math.max(autoPlays, 1), timeoutMillis, TICK_MILLIS);
+    }
+}
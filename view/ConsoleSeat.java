@@ -0,0 +1,73 @@
+package view;
+
+import controller.command.GameCommand;
+import controller.seat.Seat;
+import controller.seat.TurnView;
+import model.CardColor;
+import model.CardFace;
+import java.util.List;
+
+/**
+ * A human seat at the console, written as plain blocking prompts on top
+ * of InputHandler. Reading System.in cannot be interrupted, so run the
+ * table without a turn timeout when a console seat plays.
+ */
+public class ConsoleSeat implements Seat {
+    private final InputHandler inputHandler;
+
+    /**
+     * Constructor for ConsoleSeat.
+     *
+     * @param inputHandler Reads the player's answers
+     */
+    public ConsoleSeat(InputHandler inputHandler) {
+        this.inputHandler = inputHandler;
+    }
+
+    @Override
+    public List<GameCommand> decide(TurnView turn) {
+        if (turn.getAttempt() > 0) {
+            System.out.println("That move is not allowed. Try again.");
+        }
+        if (turn.isColorChangeNeeded()) {
+            return List.of(GameCommand.chooseColor(inputHandler.getColorChoice()));
+        }
+
+        if (turn.hasDrawnThisTurn()) {
+            int last = turn.getHandSize() - 1;
+            if (last >= 0 && turn.isPlayable(last)) {
+                System.out.println("You drew " + CardFace.newCard(turn.getHandFace(last)));
+                if (inputHandler.getYesNo("Play it?")) {
+                    return play(turn, last);
+                }
+            } else {
+                System.out.println("You cannot play the card you drew.");
+            }
+            return List.of(GameCommand.pass());
+        }
+
+        showHand(turn);
+        int choice = inputHandler.getCardChoice(turn.getHandSize());
+        return choice == -1 ? List.of(GameCommand.draw()) : play(turn, choice);
+    }
+
+    private List<GameCommand> play(TurnView turn, int index) {
+        if (turn.getHandFace(index) >= CardFace.WILD) {
+            CardColor color = inputHandler.getColorChoice();
+            return List.of(GameCommand.play(index), GameCommand.chooseColor(color));
+        }
+        return List.of(GameCommand.play(index));
+    }
+
+    private static void showHand(TurnView turn) {
+        System.out.println("\nTop card: " + CardFace.newCard(CardFace.faceOfTopKey(turn.getTopKey()))
+                + " (" + turn.getActiveColor() + ")");
+        if (turn.getPendingDrawCount() > 0) {
+            System.out.println("Draw " + turn.getPendingDrawCount() + " cards, or stack on it if you can.");
+        }
+        for (int i = 0; i < turn.getHandSize(); i++) {
+            System.out.println("  " + (i + 1) + ". " + CardFace.newCard(turn.getHandFace(i))
+                    + (turn.isPlayable(i) ? "  *" : ""));
+        }
+    }
+}
@@ -3,130 +3,359 @@ package view;
 import controller.GameController;
 import model.*;
 import observer.GameObserver;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Observer Pattern - Observer
- * 
+ *
  * Console-based view for the UNO game.
  * Automatically updates when the game state changes.
+ *
+ * Each frame (table, players and the current turn's hand) is laid out
+ * into reused line buffers and compared with the frame on screen. Only
+ * the lines that changed are redrawn, using ANSI cursor moves, and the
+ * whole update goes out in one write that bypasses System.out's
+ * per-line locking and flushing. Frames whose position hash is unchanged
+ * are not drawn at all. The cursor moves address terminal rows, so they
+ * only hold while the frame and the prompts under it fit on the screen.
+ * The height is read once, and again through terminalResized(); a frame
+ * taller than that is printed below the output like plain text and left
+ * to scroll, and the next frame that fits clears the screen once.
+ *
+ * The outermost update() runs the turn loop. Notifications fired while a
+ * turn is being played return at once and the loop redraws after the
+ * turn, so one turn draws at most one frame and long games no longer
+ * recurse through update().
  */
 public class ConsoleView implements GameObserver {
+    private static final String ESC = "\u001B[";
+    private static final String RESET = "\u001B[0m";
+    private static final String RULE = "═══════════════════════════════════════════════════════════";
+    private static final String THIN_RULE = "───────────────────────────────────────────────────────────";
+    private static final int DEFAULT_ROWS = 24;
+    private static final int PROMPT_ROWS = 10; // Prompts printed under the frame in one turn, at most
+
     private final GameController controller;
     private final InputHandler inputHandler;
+    private final FileOutputStream out;
+    private final CharsetEncoder encoder;
+    private ByteBuffer bytes;
+
+    // Frame being built, frame on screen, and the output buffer
+    private final List<String> lines;
+    private final List<String> shownLines;
+    private final StringBuilder frame;
+    private long shownKey;
+    private boolean onScreen;
+    private boolean inPlace;
+    private int terminalRows;
+    private boolean playingTurn;
 
     /**
      * Constructor for ConsoleView.
-     * 
+     *
      * @param controller The game controller
      */
     public ConsoleView(GameController controller) {
         this.controller = controller;
         this.inputHandler = new InputHandler();
+        this.out = new FileOutputStream(FileDescriptor.out);
+        this.encoder = consoleCharset().newEncoder();
+        this.bytes = ByteBuffer.allocate(8192);
+        this.lines = new ArrayList<>();
+        this.shownLines = new ArrayList<>();
+        this.frame = new StringBuilder(4096);
+        this.terminalRows = terminalRows();
     }
 
     /**
      * Observer pattern update method.
      * Called when the game state changes.
-     * 
+     *
      * @param state The updated game state
      */
     @Override
     public void update(GameState state) {
-        clearScreen();
-        displayGameState(state);
+        if (playingTurn) {
+            return; // The turn loop below redraws once the turn is over
+        }
+
+        playingTurn = true;
+        try {
+            while (true) {
+                render(state);
+
+                // Check for winner
+                Player winner = controller.getWinner();
+                if (winner != null) {
+                    displayWinner(winner);
+                    return;
+                }
+                if (!controller.isGameRunning()) {
+                    return;
+                }
+
+                // Handle current player's turn
+                Player currentPlayer = state.getCurrentPlayer();
+
+                if (currentPlayer.isHuman()) {
+                    handleHumanTurn(currentPlayer, state);
+                } else {
+                    handleAITurn(currentPlayer, state);
+                }
+            }
+        } finally {
+            playingTurn = false;
+        }
+    }
 
-        // Check for winner
-        Player winner = controller.getWinner();
-        if (winner != null) {
-            displayWinner(winner);
+    /**
+     * Draws the frame for the current state, unless it is already shown.
+     *
+     * @param state The game state
+     */
+    private void render(GameState state) {
+        long key = state.getHash() * 31 + controller.getDeck().getDrawPileSize();
+        if (onScreen && key == shownKey) {
             return;
         }
 
-        // Handle current player's turn
+        lines.clear();
+        layoutGameState(state);
         Player currentPlayer = state.getCurrentPlayer();
+        if (controller.getWinner() == null) {
+            layoutTurnHeader(currentPlayer);
+            if (currentPlayer.isHuman()) {
+                layoutHand(currentPlayer, state);
+            }
+        }
 
-        if (currentPlayer.isHuman()) {
-            handleHumanTurn(currentPlayer, state);
+        frame.setLength(0);
+        boolean fits = lines.size() + PROMPT_ROWS <= terminalRows;
+        if (!fits) {
+            // Taller than the screen: no row can be addressed reliably, so
+            // print it under the last output and let the terminal scroll
+            frame.append('\n');
+            for (String line : lines) {
+                frame.append(line).append('\n');
+            }
         } else {
-            handleAITurn(currentPlayer, state);
+            if (!inPlace) {
+                frame.append(ESC).append("H").append(ESC).append("2J");
+                shownLines.clear();
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                if (i >= shownLines.size() || !lines.get(i).equals(shownLines.get(i))) {
+                    frame.append(ESC).append(i + 1).append(";1H").append(lines.get(i)).append(ESC).append('K');
+                }
+            }
+            // Park the cursor under the frame and erase what is left of the last turn
+            frame.append(ESC).append(lines.size() + 1).append(";1H").append(ESC).append('J');
+        }
+        write(frame);
+
+        shownLines.clear();
+        shownLines.addAll(lines);
+        shownKey = key;
+        onScreen = true;
+        inPlace = fits; // A frame that scrolled cannot be updated in place
+    }
+
+    /**
+     * Reads the terminal height again, for a terminal that was resized.
+     * The next frame is drawn in full.
+     */
+    public void terminalResized() {
+        terminalRows = terminalRows();
+        onScreen = false;
+        inPlace = false;
+    }
+
+    /**
+     * Gets the height of the terminal, from LINES or stty, or
+     * DEFAULT_ROWS when neither is available.
+     *
+     * @return Number of rows
+     */
+    private static int terminalRows() {
+        try {
+            String lines = System.getenv("LINES");
+            if (lines != null) {
+                return Integer.parseInt(lines.trim());
+            }
+            Process stty = new ProcessBuilder("stty", "size")
+                    .redirectInput(new File("/dev/tty"))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            String size = new String(stty.getInputStream().readAllBytes(), Charset.defaultCharset()).trim();
+            if (stty.waitFor() == 0 && !size.isEmpty()) {
+                return Integer.parseInt(size.split("\\s+")[0]);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // No terminal to ask, as on Windows or with redirected output
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return DEFAULT_ROWS;
+    }
+
+    /**
+     * Writes a frame to the terminal with a single system call.
+     *
+     * @param text The frame
+     */
+    private void write(CharSequence text) {
+        System.out.flush(); // Keep earlier prompts ahead of the frame
+
+        int needed = (int) (text.length() * encoder.maxBytesPerChar()) + 1;
+        if (bytes.capacity() < needed) {
+            bytes = ByteBuffer.allocate(Math.max(needed, bytes.capacity() * 2));
+        }
+        bytes.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(text), bytes, true);
+        encoder.flush(bytes);
+
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+        } catch (IOException e) {
+            System.err.println("Failed to draw the console: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the charset System.out encodes with, so frames and the
+     * messages printed between them match.
+     *
+     * @return The console charset
+     */
+    private static Charset consoleCharset() {
+        String name = System.getProperty("sun.stdout.encoding", System.getProperty("native.encoding"));
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
         }
     }
 
     /**
-     * Displays the current game state.
-     * 
+     * Lays out the table: top card, direction, players and draw pile.
+     *
      * @param state The game state
      */
-    private void displayGameState(GameState state) {
-        System.out.println("═══════════════════════════════════════════════════════════");
-        System.out.println("                        UNO GAME                           ");
-        System.out.println("═══════════════════════════════════════════════════════════");
-        System.out.println();
+    private void layoutGameState(GameState state) {
+        lines.add(RULE);
+        lines.add("                        UNO GAME                           ");
+        lines.add(RULE);
+        lines.add("");
 
         // Display top card
         Card topCard = state.getTopCard();
-        System.out.println("Top Card: " + getColoredCard(topCard));
-        System.out.println("Direction: " + state.getDirectionSymbol());
-        System.out.println();
+        lines.add("Top Card: " + getColoredCard(topCard));
+        lines.add("Direction: " + state.getDirectionSymbol());
+        lines.add("");
 
         // Display all players
-        System.out.println("Players:");
+        lines.add("Players:");
         List<Player> players = state.getPlayers();
         for (int i = 0; i < players.size(); i++) {
             Player player = players.get(i);
             String marker = (i == state.getCurrentPlayerIndex()) ? ">>> " : "    ";
-            System.out.println(marker + player.getName() + ": " + player.getHandSize() + " cards");
+            lines.add(marker + player.getName() + ": " + player.getHandSize() + " cards");
         }
-        System.out.println();
+        lines.add("");
 
         // Display deck info
-        System.out.println("Draw Pile: " + controller.getDeck().getDrawPileSize() + " cards");
-        System.out.println();
+        lines.add("Draw Pile: " + controller.getDeck().getDrawPileSize() + " cards");
+        lines.add("");
+    }
+
+    /**
+     * Lays out the banner of the current turn.
+     *
+     * @param player The current player
+     */
+    private void layoutTurnHeader(Player player) {
+        lines.add(THIN_RULE);
+        lines.add(player.getName() + "'s Turn" + (player.isHuman() ? "" : " (AI)"));
+        lines.add(THIN_RULE);
     }
 
     /**
-     * Displays a player's hand.
-     * 
-     * @param player  The player
-     * @param topCard The top card to check validity against
+     * Lays out a player's hand, marking the cards that can be played: on
+     * the top card, or onto a pending penalty when one is waiting.
+     *
+     * @param player The player
+     * @param state  The game state
      */
-    private void displayHand(Player player, Card topCard) {
-        System.out.println(player.getName() + "'s Hand:");
-        List<Card> hand = player.getHand();
+    private void layoutHand(Player player, GameState state) {
+        lines.add(player.getName() + "'s Hand:");
+        long playable = playableMask(state);
 
-        for (int i = 0; i < hand.size(); i++) {
-            Card card = hand.get(i);
-            boolean canPlay = card.canPlayOn(topCard);
+        for (int i = 0; i < player.getHandSize(); i++) {
+            boolean canPlay = (playable & CardFace.mask(player.getCardFace(i))) != 0;
             String status = canPlay ? "[✓]" : "[ ]";
-            System.out.println("  " + (i + 1) + ". " + status + " " + getColoredCard(card));
+            lines.add("  " + (i + 1) + ". " + status + " " + getColoredCard(player.getCard(i)));
         }
-        System.out.println();
+        lines.add("");
+    }
+
+    /**
+     * Gets the faces the current player may play: any legal card, or only
+     * stackable ones while a penalty is pending.
+     */
+    private long playableMask(GameState state) {
+        int topKey = CardFace.topKey(state.getTopCard());
+        return state.getPendingDrawCount() > 0
+                ? controller.getRuleSet().stackMask(topKey)
+                : controller.getRuleSet().legalMask(topKey);
+    }
+
+    private static boolean holdsAny(Player player, long faces) {
+        for (int i = 0; i < player.getHandSize(); i++) {
+            if ((faces & CardFace.mask(player.getCardFace(i))) != 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Handles a human player's turn.
-     * 
+     *
      * @param player The current player
      * @param state  The game state
      */
     private void handleHumanTurn(Player player, GameState state) {
-        System.out.println("───────────────────────────────────────────────────────────");
-        System.out.println(player.getName() + "'s Turn");
-        System.out.println("───────────────────────────────────────────────────────────");
-
-        // Check for pending draw
-        if (state.getPendingDrawCount() > 0) {
-            System.out.println("You must draw " + state.getPendingDrawCount() + " cards!");
+        // Check for pending draw: take it, or stack a marked card on it
+        int pending = state.getPendingDrawCount();
+        if (pending > 0 && !holdsAny(player, playableMask(state))) {
+            System.out.println("You must draw " + pending + " cards!");
             inputHandler.waitForEnter();
             controller.playTurn(-1);
             return;
         }
-
-        displayHand(player, state.getTopCard());
+        if (pending > 0) {
+            System.out.println("Stack a marked card, or enter 0 to draw " + pending + " cards.");
+        }
 
         // Get player's choice
         int choice = inputHandler.getCardChoice(player.getHandSize());
+        if (pending > 0 && choice != -1 && (playableMask(state) & CardFace.mask(player.getCardFace(choice))) == 0) {
+            // Anything but a stackable card would take the penalty
+            System.out.println("Invalid play! Only a marked card can be stacked.");
+            inputHandler.waitForEnter();
+            return;
+        }
 
         // Attempt to play the card
         boolean success = controller.playTurn(choice);
@@ -147,26 +376,22 @@ public class ConsoleView implements GameObserver {
 
     /**
      * Handles an AI player's turn.
-     * 
+     *
      * @param player The current player
      * @param state  The game state
      */
     private void handleAITurn(Player player, GameState state) {
-        System.out.println("───────────────────────────────────────────────────────────");
-        System.out.println(player.getName() + "'s Turn (AI)");
-        System.out.println("───────────────────────────────────────────────────────────");
+        int pending = state.getPendingDrawCount();
+        int cardIndex = controller.makeAIMove();
 
-        // Check for pending draw
-        if (state.getPendingDrawCount() > 0) {
-            System.out.println(player.getName() + " draws " + state.getPendingDrawCount() + " cards!");
-        } else {
-            int cardIndex = controller.makeAIMove();
-
-            if (cardIndex == -1) {
-                System.out.println(player.getName() + " draws a card.");
+        if (cardIndex == -1) {
+            if (pending > 0) {
+                System.out.println(player.getName() + " draws " + pending + " cards!");
             } else {
-                System.out.println(player.getName() + " plays a card.");
+                System.out.println(player.getName() + " draws a card.");
             }
+        } else {
+            System.out.println(player.getName() + " plays a card.");
         }
 
         System.out.println();
@@ -175,30 +400,29 @@ public class ConsoleView implements GameObserver {
 
     /**
      * Displays the winner.
-     * 
+     *
      * @param winner The winning player
      */
     private void displayWinner(Player winner) {
         System.out.println();
-        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println(RULE);
         System.out.println("                    🎉 GAME OVER! 🎉                       ");
-        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println(RULE);
         System.out.println();
         System.out.println("           " + winner.getName() + " WINS!");
         System.out.println();
-        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println(RULE);
     }
 
     /**
      * Gets a colored representation of a card for console display.
-     * 
+     *
      * @param card The card
      * @return Colored string representation
      */
     private String getColoredCard(Card card) {
         // ANSI color codes
         String colorCode = "";
-        String reset = "\u001B[0m";
 
         switch (card.getColor()) {
             case RED:
@@ -218,17 +442,7 @@ public class ConsoleView implements GameObserver {
                 break;
         }
 
-        return colorCode + card.toString() + reset;
-    }
-
-    /**
-     * Clears the console screen.
-     */
-    private void clearScreen() {
-        // Print multiple newlines to simulate clearing
-        for (int i = 0; i < 50; i++) {
-            System.out.println();
-        }
+        return colorCode + card.toString() + RESET;
     }
 
     /**
@@ -1,5 +1,6 @@
 package view;
 
+import controller.GameManager;
 import java.util.Scanner;
 import model.CardColor;
 
@@ -84,20 +85,22 @@ public class InputHandler {
     /**
      * Gets the number of players for the game.
      * 
-     * @return The number of players (2-10)
+     * @return The number of players (2-100)
      */
     public int getPlayerCount() {
+        int min = GameManager.MIN_PLAYERS;
+        int max = GameManager.MAX_PLAYERS;
         while (true) {
-            System.out.print("Enter number of players (2-10): ");
+            System.out.print("Enter number of players (" + min + "-" + max + "): ");
             try {
                 String input = scanner.nextLine().trim();
                 int count = Integer.parseInt(input);
 
-                if (count >= 2 && count <= 10) {
+                if (count >= min && count <= max) {
                     return count;
                 }
 
-                System.out.println("Invalid number. Please enter a number between 2 and 10.");
+                System.out.println("Invalid number. Please enter a number between " + min + " and " + max + ".");
             } catch (NumberFormatException e) {
                 System.out.println("Invalid input. Please enter a number.");
             }
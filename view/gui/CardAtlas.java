@@ -0,0 +1,262 @@
+package view.gui;
+
+import model.CardColor;
+import model.CardFace;
+import model.CardType;
+
+import javax.swing.Icon;
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Every card face, drawn once.
+ *
+ * The 54 faces (see CardFace) are rasterized when the atlas is built into
+ * one image, once as they are and once dimmed for cards that cannot be
+ * played, so painting a card is a single image copy with no shapes or
+ * text layout. Faces sit at column face % 13 and row face / 13, the
+ * dimmed ones FACE_ROWS rows further down. On a screen the image is
+ * created compatible with it, which lets Java2D keep a copy in video
+ * memory and draw cards from there; unlike a VolatileImage it never needs
+ * redrawing after the video memory is lost. Build and use an atlas on the
+ * event dispatch thread.
+ */
+public final class CardAtlas {
+    public static final int CARD_WIDTH = 80;
+    public static final int CARD_HEIGHT = 120;
+
+    private static final String FONT = "Arial";
+    private static final int COLUMNS = CardFace.RANKS_PER_COLOR;
+    private static final int FACE_ROWS = (CardFace.COUNT + COLUMNS - 1) / COLUMNS;
+    private static final Color DIMMED = new Color(0, 0, 0, 150);
+    private static final CardColor[] WILD_COLORS = {
+            CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
+
+    private final int cardWidth;
+    private final int cardHeight;
+    private final Image image;
+    private final Icon[] icons;
+
+    /**
+     * Constructor for CardAtlas, with cards of the default size.
+     */
+    public CardAtlas() {
+        this(CARD_WIDTH, CARD_HEIGHT);
+    }
+
+    /**
+     * Constructor for CardAtlas. Draws all the faces.
+     *
+     * @param cardWidth  Width of a card in pixels
+     * @param cardHeight Height of a card in pixels
+     */
+    public CardAtlas(int cardWidth, int cardHeight) {
+        if (cardWidth < 16 || cardHeight < 16) {
+            throw new IllegalArgumentException("Cards must be at least 16 pixels: " + cardWidth + "x" + cardHeight);
+        }
+        this.cardWidth = cardWidth;
+        this.cardHeight = cardHeight;
+
+        int width = COLUMNS * cardWidth;
+        int height = 2 * FACE_ROWS * cardHeight;
+        BufferedImage atlas = GraphicsEnvironment.isHeadless()
+                ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+        boolean symbols = new Font(FONT, Font.BOLD, cardHeight / 3).canDisplayUpTo("⊘⇄") < 0;
+        Graphics2D g = atlas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            paintFace(g, face, symbols, column(face) * cardWidth, row(face, false) * cardHeight);
+        }
+
+        // The dimmed copies: the faces again, darkened where they are opaque
+        int facesHeight = FACE_ROWS * cardHeight;
+        g.drawImage(atlas, 0, facesHeight, width, 2 * facesHeight, 0, 0, width, facesHeight, null);
+        g.setComposite(AlphaComposite.SrcAtop);
+        g.setColor(DIMMED);
+        g.fillRect(0, facesHeight, width, facesHeight);
+        g.dispose();
+        this.image = atlas;
+
+        this.icons = new Icon[CardFace.COUNT];
+        for (int face = 0; face < CardFace.COUNT; face++) {
+            icons[face] = new FaceIcon(face);
+        }
+    }
+
+    private static int column(int face) {
+        return face % COLUMNS;
+    }
+
+    private static int row(int face, boolean dimmed) {
+        return face / COLUMNS + (dimmed ? FACE_ROWS : 0);
+    }
+
+    private void paintFace(Graphics2D g, int face, boolean symbols, int x, int y) {
+        int arc = cardWidth / 5;
+        int border = Math.max(3, cardWidth / 16);
+        boolean wild = face >= CardFace.WILD;
+        Color color = wild ? Color.BLACK : colorOf(CardFace.colorOf(face));
+
+        g.setColor(Color.WHITE);
+        g.fillRoundRect(x, y, cardWidth, cardHeight, arc, arc);
+        g.setColor(color);
+        g.fillRoundRect(x + border, y + border, cardWidth - 2 * border, cardHeight - 2 * border,
+                arc - border, arc - border);
+
+        // The tilted oval in the middle, in the four colors on a wild
+        Graphics2D oval = (Graphics2D) g.create();
+        oval.translate(x + cardWidth / 2.0, y + cardHeight / 2.0);
+        oval.rotate(Math.toRadians(-30));
+        double rx = cardWidth * 0.36;
+        double ry = cardHeight * 0.36;
+        if (wild) {
+            for (int quarter = 0; quarter < WILD_COLORS.length; quarter++) {
+                oval.setColor(colorOf(WILD_COLORS[quarter]));
+                oval.fill(new Arc2D.Double(-rx, -ry, 2 * rx, 2 * ry, 90 * quarter, 90, Arc2D.PIE));
+            }
+        } else {
+            oval.setColor(Color.WHITE);
+            oval.fill(new Ellipse2D.Double(-rx, -ry, 2 * rx, 2 * ry));
+        }
+        oval.dispose();
+
+        String label = label(face, symbols);
+        Font big = new Font(FONT, Font.BOLD, cardHeight / (label.length() > 1 ? 4 : 3));
+        drawCentered(g, label, big, wild ? Color.WHITE : color, wild,
+                x + cardWidth / 2, y + cardHeight / 2);
+
+        // Corner labels, the lower one upside down
+        Font small = new Font(FONT, Font.BOLD, cardHeight / (label.length() > 1 ? 10 : 8));
+        int inset = border + cardWidth / 10;
+        drawCentered(g, label, small, Color.WHITE, false, x + inset, y + inset + cardHeight / 24);
+        Graphics2D turned = (Graphics2D) g.create();
+        turned.rotate(Math.PI, x + cardWidth - inset, y + cardHeight - inset - cardHeight / 24);
+        drawCentered(turned, label, small, Color.WHITE, false,
+                x + cardWidth - inset, y + cardHeight - inset - cardHeight / 24);
+        turned.dispose();
+    }
+
+    private static void drawCentered(Graphics2D g, String text, Font font, Color color, boolean shadow,
+            int centerX, int centerY) {
+        g.setFont(font);
+        FontMetrics metrics = g.getFontMetrics();
+        int x = centerX - metrics.stringWidth(text) / 2;
+        int y = centerY + (metrics.getAscent() - metrics.getDescent()) / 2;
+        if (shadow) {
+            g.setColor(Color.BLACK);
+            g.drawString(text, x + 2, y + 2);
+        }
+        g.setColor(color);
+        g.drawString(text, x, y);
+    }
+
+    /**
+     * Gets the text printed on a face: its number or the symbol of its
+     * action, in plain letters where the font has no symbols.
+     */
+    private static String label(int face, boolean symbols) {
+        CardType type = CardFace.typeOf(face);
+        switch (type) {
+            case NUMBER:
+                return String.valueOf(CardFace.valueOf(face));
+            case SKIP:
+                return symbols ? "⊘" : "S";
+            case REVERSE:
+                return symbols ? "⇄" : "R";
+            case DRAW_TWO:
+                return "+2";
+            case WILD_DRAW_FOUR:
+                return "+4";
+            default:
+                return "W";
+        }
+    }
+
+    /**
+     * Draws a card.
+     *
+     * @param g      Where to draw
+     * @param face   The card's face (see CardFace)
+     * @param dimmed Whether to draw it darkened, for a card that cannot be played
+     * @param x      Left edge
+     * @param y      Top edge
+     */
+    public void draw(Graphics g, int face, boolean dimmed, int x, int y) {
+        int sx = column(face) * cardWidth;
+        int sy = row(face, dimmed) * cardHeight;
+        g.drawImage(image, x, y, x + cardWidth, y + cardHeight, sx, sy, sx + cardWidth, sy + cardHeight, null);
+    }
+
+    /**
+     * Gets a face as an icon, for labels and buttons.
+     *
+     * @param face The face (see CardFace)
+     * @return A shared icon drawing from the atlas
+     */
+    public Icon icon(int face) {
+        return icons[face];
+    }
+
+    public int getCardWidth() {
+        return cardWidth;
+    }
+
+    public int getCardHeight() {
+        return cardHeight;
+    }
+
+    /**
+     * Gets the color the GUI paints a card color in.
+     *
+     * @param color The card color
+     * @return The paint color
+     */
+    public static Color colorOf(CardColor color) {
+        switch (color) {
+            case RED:
+                return new Color(231, 76, 60);
+            case BLUE:
+                return new Color(52, 152, 219);
+            case GREEN:
+                return new Color(46, 204, 113);
+            case YELLOW:
+                return new Color(243, 156, 18);
+            case WILD:
+                return new Color(155, 89, 182);
+            default:
+                return Color.GRAY;
+        }
+    }
+
+    /**
+     * A face of the atlas as an icon.
+     */
+    private final class FaceIcon implements Icon {
+        private final int face;
+
+        FaceIcon(int face) {
+            this.face = face;
+        }
+
+        @Override
+        public void paintIcon(Component component, Graphics g, int x, int y) {
+            draw(g, face, false, x, y);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return cardWidth;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return cardHeight;
+        }
+    }
+}
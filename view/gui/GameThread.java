@@ -0,0 +1,85 @@
+package view.gui;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The thread that owns the table in GUI mode.
+ *
+ * Everything that reads or changes the GameController (the player's
+ * clicks, the AI's moves, saving) is posted here as a message and run in
+ * order on this one thread, so the event dispatch thread never waits on
+ * game logic, however long an AI thinks. Observers are notified on this
+ * thread too and hand the EDT an immutable RenderSnapshot instead of the
+ * live state. The thread can serve as the table executor of a
+ * controller.timer.TurnClock.
+ */
+public final class GameThread implements Executor, AutoCloseable {
+    private final ScheduledExecutorService queue;
+    private volatile Thread thread;
+
+    /**
+     * Constructor for GameThread.
+     *
+     * @param name Name of the thread
+     */
+    public GameThread(String name) {
+        this.queue = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread created = new Thread(task, name);
+            created.setDaemon(true); // The EDT keeps the application alive
+            thread = created;
+            return created;
+        });
+    }
+
+    /**
+     * Posts a message to run after those already queued.
+     *
+     * @param message The message
+     */
+    @Override
+    public void execute(Runnable message) {
+        queue.execute(() -> run(message));
+    }
+
+    /**
+     * Posts a message to run once a delay is over.
+     *
+     * @param message The message
+     * @param delay   The delay
+     * @param unit    Unit of delay
+     */
+    public void schedule(Runnable message, long delay, TimeUnit unit) {
+        queue.schedule(() -> run(message), delay, unit);
+    }
+
+    private static void run(Runnable message) {
+        try {
+            message.run();
+        } catch (RuntimeException e) {
+            // A failed message must not stop the game thread
+            System.err.println("Game thread message failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Checks if the caller is the game thread.
+     *
+     * @return true on the game thread
+     */
+    public boolean isGameThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Stops the thread once the current message is done; queued messages
+     * are dropped.
+     */
+    @Override
+    public void close() {
+        queue.shutdownNow();
+    }
+}
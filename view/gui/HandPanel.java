@@ -0,0 +1,286 @@
+package view.gui;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A hand of cards, painted from a CardAtlas.
+ *
+ * Cards are laid out side by side and overlap as much as needed to fit
+ * the width, so a 50-card hand stays on screen. The card under the mouse
+ * is lifted, and clicking a playable card reports its index. Every change
+ * repaints only the rectangles of the cards it touches: a new hand only
+ * the cards that differ, a hover only the two cards it moves between.
+ * When cards leave or join the hand, the ones that keep their place in
+ * it slide to their new positions, each frame repainting only the span
+ * that moves. Use on the event dispatch thread.
+ */
+public class HandPanel extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    /** Space between cards when there is room, and how high the hovered card rises. */
+    public static final int GAP = 10;
+    public static final int LIFT = 16;
+    private static final int FRAME_MILLIS = 16;
+    private static final float SLIDE = 0.35f; // Share of the way covered each frame
+
+    private final transient CardAtlas atlas;
+    private final transient IntConsumer onPlay;
+    private final Timer slider;
+
+    private int[] faces = new int[0];
+    private boolean[] playable = new boolean[0];
+    private float[] x = new float[0];  // Where each card is drawn now
+    private int[] targetX = new int[0];
+    private int hovered = -1;
+
+    /**
+     * Constructor for HandPanel.
+     *
+     * @param atlas  The card images
+     * @param onPlay Receives the index of each playable card clicked
+     */
+    public HandPanel(CardAtlas atlas, IntConsumer onPlay) {
+        this.atlas = atlas;
+        this.onPlay = onPlay;
+        this.slider = new Timer(FRAME_MILLIS, e -> slide());
+        setOpaque(true);
+        setBackground(new Color(20, 20, 40));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHovered(cardAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHovered(-1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = cardAt(e.getX(), e.getY());
+                if (index >= 0 && playable[index]) {
+                    onPlay.accept(index);
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    /**
+     * Shows a hand. Cards at the start and end of the hand that are the
+     * same as before keep their identity and slide into place; the
+     * others are drawn where they belong at once.
+     *
+     * @param newFaces    The cards' faces, in hand order
+     * @param newPlayable Whether each card can be played; the others are dimmed
+     */
+    public void setHand(int[] newFaces, boolean[] newPlayable) {
+        int count = newFaces.length;
+        int kept = Math.min(faces.length, count);
+        int prefix = 0;
+        while (prefix < kept && faces[prefix] == newFaces[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < kept - prefix && faces[faces.length - 1 - suffix] == newFaces[count - 1 - suffix]) {
+            suffix++;
+        }
+
+        int[] newTargets = layout(count);
+        float[] newX = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (i < prefix) {
+                newX[i] = x[i];
+            } else if (i >= count - suffix) {
+                newX[i] = x[faces.length - count + i];
+            } else {
+                newX[i] = newTargets[i];
+            }
+        }
+
+        // Damage: every card that is not drawn exactly as before
+        Rectangle damage = hovered >= 0 ? cardBounds(Math.round(x[hovered])) : null;
+        for (int i = 0; i < faces.length; i++) {
+            boolean same = i < prefix && i < count && playable[i] == newPlayable[i] && x[i] == newTargets[i];
+            if (!same) {
+                damage = union(damage, cardBounds(Math.round(x[i])));
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            boolean same = i < prefix && playable[i] == newPlayable[i] && x[i] == newTargets[i];
+            if (!same) {
+                damage = union(damage, cardBounds(Math.round(newX[i])));
+            }
+        }
+
+        this.faces = Arrays.copyOf(newFaces, count);
+        this.playable = Arrays.copyOf(newPlayable, count);
+        this.x = newX;
+        this.targetX = newTargets;
+        this.hovered = -1;
+        if (damage != null) {
+            repaint(damage);
+        }
+        if (!slider.isRunning() && !inPlace()) {
+            slider.start();
+        }
+    }
+
+    /**
+     * Places count cards across the current width.
+     *
+     * @return Left edge of each card
+     */
+    private int[] layout(int count) {
+        int[] left = new int[count];
+        if (count == 0) {
+            return left;
+        }
+        Insets insets = getInsets();
+        int cardWidth = atlas.getCardWidth();
+        int room = Math.max(cardWidth, getWidth() - insets.left - insets.right);
+        int step = count == 1 ? 0 : Math.min(cardWidth + GAP, (room - cardWidth) / (count - 1));
+        int start = insets.left + (room - cardWidth - step * (count - 1)) / 2;
+        for (int i = 0; i < count; i++) {
+            left[i] = start + i * step;
+        }
+        return left;
+    }
+
+    private boolean inPlace() {
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] != targetX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One animation frame: moves the sliding cards toward their places
+     * and repaints the span they cover before and after.
+     */
+    private void slide() {
+        Rectangle damage = null;
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] == targetX[i]) {
+                continue;
+            }
+            damage = union(damage, cardBounds(Math.round(x[i])));
+            float step = (targetX[i] - x[i]) * SLIDE;
+            x[i] = Math.abs(targetX[i] - x[i]) < 1f ? targetX[i] : x[i] + step;
+            damage = union(damage, cardBounds(Math.round(x[i])));
+        }
+        if (damage != null) {
+            repaint(damage);
+        } else {
+            slider.stop();
+        }
+    }
+
+    private void setHovered(int index) {
+        if (index == hovered) {
+            return;
+        }
+        if (hovered >= 0) {
+            repaint(cardBounds(Math.round(x[hovered])));
+        }
+        hovered = index;
+        if (hovered >= 0) {
+            repaint(cardBounds(Math.round(x[hovered])));
+        }
+        setCursor(Cursor.getPredefinedCursor(
+                index >= 0 && playable[index] ? Cursor.HAND_CURSOR : Cursor.DEFAULT_CURSOR));
+    }
+
+    /**
+     * Finds the card at a point: the topmost, since each card overlaps
+     * the one before it.
+     *
+     * @return The card's index, or -1
+     */
+    private int cardAt(int px, int py) {
+        for (int i = faces.length - 1; i >= 0; i--) {
+            if (cardBounds(Math.round(x[i])).contains(px, py)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the area a card can cover, lifted or not.
+     */
+    private Rectangle cardBounds(int left) {
+        return new Rectangle(left, getInsets().top, atlas.getCardWidth(), atlas.getCardHeight() + LIFT);
+    }
+
+    private static Rectangle union(Rectangle damage, Rectangle bounds) {
+        if (damage == null) {
+            return bounds;
+        }
+        damage.add(bounds);
+        return damage;
+    }
+
+    /**
+     * Moves every card to its place for the current width at once.
+     */
+    private void relayout() {
+        targetX = layout(faces.length);
+        for (int i = 0; i < x.length; i++) {
+            x[i] = targetX[i];
+        }
+        repaint();
+    }
+
+    @Override
+    public void setBounds(int left, int top, int width, int height) {
+        boolean resized = width != getWidth() || height != getHeight();
+        super.setBounds(left, top, width, height);
+        if (resized) {
+            relayout();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        int count = Math.max(faces.length, 1);
+        int width = count * (atlas.getCardWidth() + GAP) - GAP;
+        return new Dimension(insets.left + width + insets.right,
+                insets.top + atlas.getCardHeight() + LIFT + insets.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int top = getInsets().top;
+        int cardWidth = atlas.getCardWidth();
+        for (int i = 0; i < faces.length; i++) {
+            int left = Math.round(x[i]);
+            if (left + cardWidth <= clip.x || left >= clip.x + clip.width) {
+                continue; // Outside the damage
+            }
+            atlas.draw(g, faces[i], !playable[i], left, i == hovered ? top : top + LIFT);
+        }
+    }
+}
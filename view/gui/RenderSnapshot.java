@@ -0,0 +1,204 @@
+package view.gui;
+
+import controller.GameController;
+import model.Card;
+import model.CardColor;
+import model.CardFace;
+import model.GameState;
+import model.Player;
+import model.rules.RuleSet;
+
+/**
+ * What the GUI shows of the table at one moment.
+ *
+ * Captured on the game thread and read on the event dispatch thread, so
+ * it holds copies only: nothing in it is shared with the live game. The
+ * hand is the current player's when a human is to play, and empty on AI
+ * turns. A wild's color is chosen after the turn has passed on, so
+ * whether a human owes a color is kept apart from whose turn it is.
+ * Snapshots are numbered; commands from the GUI carry the number
+ * of the snapshot they were made on and are dropped if the table has
+ * changed since.
+ */
+public final class RenderSnapshot {
+    private final long version;
+    private final String currentPlayerName;
+    private final boolean humanTurn;
+    private final int topFace;
+    private final CardColor topColor;
+    private final String topLabel;
+    private final String directionSymbol;
+    private final int drawPileSize;
+    private final int[] handFaces;
+    private final boolean[] playable;
+    private final boolean colorChangeNeeded;
+    private final boolean humanChoosingColor;
+    private final boolean gameRunning;
+    private final String winnerName;
+
+    private RenderSnapshot(long version, GameController controller) {
+        GameState state = controller.getGameState();
+        Player current = state.getCurrentPlayer();
+        Card top = state.getTopCard();
+        this.version = version;
+        this.currentPlayerName = current.getName();
+        this.humanTurn = current.isHuman();
+        this.topFace = CardFace.of(top);
+        this.topColor = top.getColor();
+        this.topLabel = top.toString();
+        this.directionSymbol = state.getDirectionSymbol();
+        this.drawPileSize = controller.getDeck().getDrawPileSize();
+        this.colorChangeNeeded = state.isColorChangeNeeded();
+        int chooser = controller.getColorChooserSeat();
+        this.humanChoosingColor = chooser >= 0 && state.getPlayers().get(chooser).isHuman();
+        this.gameRunning = controller.isGameRunning();
+        Player winner = controller.getWinner();
+        this.winnerName = winner != null ? winner.getName() : null;
+
+        // Flagged as play() would judge them, as in TurnView
+        int handSize = humanTurn ? current.getHandSize() : 0;
+        this.handFaces = new int[handSize];
+        this.playable = new boolean[handSize];
+        int topKey = CardFace.topKey(top);
+        RuleSet rules = controller.getRuleSet();
+        long legal;
+        if (colorChangeNeeded) {
+            legal = 0;
+        } else if (state.getPendingDrawCount() > 0) {
+            legal = rules.stackMask(topKey);
+        } else {
+            legal = rules.legalMask(topKey);
+        }
+        boolean drewThisTurn = controller.hasDrawnThisTurn();
+        for (int i = 0; i < handSize; i++) {
+            handFaces[i] = current.getCardFace(i);
+            playable[i] = (legal & CardFace.mask(handFaces[i])) != 0
+                    && (!drewThisTurn || i == handSize - 1);
+        }
+    }
+
+    /**
+     * Copies what the GUI shows of a table. Call on the thread that owns
+     * the table.
+     *
+     * @param controller The table
+     * @param version    Number of the snapshot
+     * @return The snapshot
+     */
+    public static RenderSnapshot capture(GameController controller, long version) {
+        return new RenderSnapshot(version, controller);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getCurrentPlayerName() {
+        return currentPlayerName;
+    }
+
+    /**
+     * Checks if a human is to play, and so whether the hand is shown.
+     *
+     * @return true on a human turn
+     */
+    public boolean isHumanTurn() {
+        return humanTurn;
+    }
+
+    public int getTopFace() {
+        return topFace;
+    }
+
+    /**
+     * Gets the color of the top card, the chosen one for a wild.
+     *
+     * @return The active color
+     */
+    public CardColor getTopColor() {
+        return topColor;
+    }
+
+    public String getTopLabel() {
+        return topLabel;
+    }
+
+    public String getDirectionSymbol() {
+        return directionSymbol;
+    }
+
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    public int getHandSize() {
+        return handFaces.length;
+    }
+
+    /**
+     * Gets a card of the shown hand.
+     *
+     * @param index Index in the hand
+     * @return The card's face (see CardFace)
+     */
+    public int getHandFace(int index) {
+        return handFaces[index];
+    }
+
+    /**
+     * Gets the shown hand.
+     *
+     * @return A copy of the cards' faces (see CardFace), in hand order
+     */
+    public int[] getHandFaces() {
+        return handFaces.clone();
+    }
+
+    /**
+     * Checks if play() would accept a card of the shown hand now: never
+     * while a color is owed, only stackable cards while a penalty is
+     * pending, and only the drawn card after a draw.
+     *
+     * @param index Index in the hand
+     * @return true if playable
+     */
+    public boolean isPlayable(int index) {
+        return playable[index];
+    }
+
+    /**
+     * Gets which cards of the shown hand play() would accept now.
+     *
+     * @return A copy of the flags, in hand order
+     */
+    public boolean[] getPlayable() {
+        return playable.clone();
+    }
+
+    public boolean isColorChangeNeeded() {
+        return colorChangeNeeded;
+    }
+
+    /**
+     * Checks if a human played the wild that is waiting for a color, and
+     * so whether to ask for one. That player is no longer the current one.
+     *
+     * @return true if a human owes a color
+     */
+    public boolean isHumanChoosingColor() {
+        return humanChoosingColor;
+    }
+
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    /**
+     * Gets the winner's name.
+     *
+     * @return The name, or null while nobody has won
+     */
+    public String getWinnerName() {
+        return winnerName;
+    }
+}
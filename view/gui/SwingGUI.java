@@ -6,35 +6,99 @@ import observer.GameObserver;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
-import java.util.List;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Observer Pattern - Observer
  * 
  * Swing-based graphical user interface for the UNO game.
  * Automatically updates when the game state changes.
+ * 
+ * The table belongs to the GUI's GameThread: the game is started there,
+ * the player's actions are posted there and the AI moves there, so the
+ * event dispatch thread only ever paints. Each change of the table is
+ * copied into a RenderSnapshot on the game thread; the EDT draws the
+ * latest one and skips any it was too busy to show. The frame and its
+ * card atlas are built on the EDT too, by open().
  */
 public class SwingGUI extends JFrame implements GameObserver {
+    /** Pause before an AI moves, so its play can be followed. */
+    public static final long AI_DELAY_MILLIS = 1500;
+
     private GameController controller;
+    private final GameThread gameThread;
+    private final AtomicReference<RenderSnapshot> latest = new AtomicReference<>();
+
+    // Game thread only
+    private long version;
+    private boolean aiMovePending;
+
+    // EDT only
+    private RenderSnapshot shown;
+    private boolean askingColor;
+
+    private CardAtlas atlas;
     private JPanel mainPanel;
     private JPanel centerPanel;
     private JPanel handPanel;
+    private JLabel handLabel;
+    private HandPanel handView;
     private JLabel topCardLabel;
     private JLabel currentPlayerLabel;
     private JLabel statusLabel;
     private JButton drawButton;
 
-    public SwingGUI(GameController controller) {
+    private SwingGUI(GameController controller) {
         this.controller = controller;
+        this.gameThread = new GameThread("game");
         initializeUI();
     }
 
+    /**
+     * Builds and shows a GUI for a table on the event dispatch thread,
+     * waiting for it from any other thread.
+     * 
+     * @param controller The table
+     * @return The GUI
+     * @throws IllegalStateException if the wait is interrupted
+     */
+    public static SwingGUI open(GameController controller) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return new SwingGUI(controller);
+        }
+        SwingGUI[] gui = new SwingGUI[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> gui[0] = new SwingGUI(controller));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while opening the GUI", e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Could not open the GUI", e.getCause());
+        }
+        return gui[0];
+    }
+
+    /**
+     * Gets the thread that owns the table; every call into the controller
+     * goes through it.
+     * 
+     * @return The game thread
+     */
+    public GameThread getGameThread() {
+        return gameThread;
+    }
+
     private void initializeUI() {
         setTitle("🎴 UNO Game 🎴");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1200, 800);
         setLocationRelativeTo(null);
+        atlas = new CardAtlas();
 
         // Main panel with gradient background
         mainPanel = new JPanel(new BorderLayout(10, 10));
@@ -120,135 +184,125 @@ public class SwingGUI extends JFrame implements GameObserver {
     }
 
     private JPanel createHandPanel() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
         panel.setBackground(new Color(20, 20, 40));
         panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
-        return panel;
-    }
 
-    @Override
-    public void update(GameState state) {
-        SwingUtilities.invokeLater(() -> {
-            // Check for winner
-            Player winner = controller.getWinner();
-            if (winner != null) {
-                showWinnerDialog(winner);
-                return;
-            }
-
-            // Update display
-            updateGameDisplay(state);
+        handLabel = new JLabel("Your Hand: ");
+        handLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        handLabel.setForeground(Color.WHITE);
 
-            // Handle AI turns
-            Player currentPlayer = state.getCurrentPlayer();
-            if (!currentPlayer.isHuman() && controller.isGameRunning()) {
-                Timer timer = new Timer(1500, e -> controller.makeAIMove());
-                timer.setRepeats(false);
-                timer.start();
+        // Cards are painted from the atlas; a click plays from the hand on screen
+        handView = new HandPanel(atlas, index -> {
+            if (shown != null && shown.isHumanTurn()) {
+                handleCardPlay(shown.getVersion(), index);
             }
         });
-    }
 
-    private void updateGameDisplay(GameState state) {
-        // Update current player
-        Player currentPlayer = state.getCurrentPlayer();
-        currentPlayerLabel.setText("Current Player: " + currentPlayer.getName());
+        panel.add(handLabel, BorderLayout.NORTH);
+        panel.add(handView, BorderLayout.CENTER);
+        return panel;
+    }
 
-        // Update top card
-        Card topCard = state.getTopCard();
-        topCardLabel.setText("  Top Card: " + topCard.toString() + "  ");
-        topCardLabel.setBackground(getCardColor(topCard.getColor()));
+    /**
+     * Called on the game thread: copies the table for the EDT and lines
+     * up the AI's move.
+     */
+    @Override
+    public void update(GameState state) {
+        RenderSnapshot snapshot = RenderSnapshot.capture(controller, ++version);
+        if (latest.getAndSet(snapshot) == null) {
+            SwingUtilities.invokeLater(this::renderLatest);
+        }
 
-        // Update status
-        statusLabel.setText("Direction: " + state.getDirectionSymbol() +
-                " | Draw Pile: " + controller.getDeck().getDrawPileSize() + " cards");
+        // Handle AI turns, once any wild has its color
+        if (!snapshot.isHumanTurn() && snapshot.isGameRunning() && !snapshot.isColorChangeNeeded()
+                && !aiMovePending) {
+            aiMovePending = true;
+            gameThread.schedule(() -> {
+                aiMovePending = false;
+                GameState current = controller.getGameState();
+                if (controller.isGameRunning() && !current.isColorChangeNeeded()
+                        && !current.getCurrentPlayer().isHuman()) {
+                    controller.makeAIMove();
+                }
+            }, AI_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
 
-        // Update player hand
-        if (currentPlayer.isHuman()) {
-            updatePlayerHand(currentPlayer, topCard);
-        } else {
-            handPanel.removeAll();
-            JLabel aiLabel = new JLabel("AI Player's Turn - Please wait...");
-            aiLabel.setFont(new Font("Arial", Font.BOLD, 18));
-            aiLabel.setForeground(Color.ORANGE);
-            handPanel.add(aiLabel);
+    private void renderLatest() {
+        RenderSnapshot snapshot = latest.getAndSet(null);
+        if (snapshot == null) {
+            return;
         }
+        shown = snapshot;
 
-        handPanel.revalidate();
-        handPanel.repaint();
-    }
+        // Check for winner
+        if (snapshot.getWinnerName() != null) {
+            showWinnerDialog(snapshot.getWinnerName());
+            return;
+        }
 
-    private void updatePlayerHand(Player player, Card topCard) {
-        handPanel.removeAll();
+        // Update display
+        updateGameDisplay(snapshot);
 
-        JLabel handLabel = new JLabel("Your Hand: ");
-        handLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        handLabel.setForeground(Color.WHITE);
-        handPanel.add(handLabel);
-
-        List<Card> hand = player.getHand();
-        for (int i = 0; i < hand.size(); i++) {
-            final int index = i;
-            Card card = hand.get(i);
-            JButton cardButton = createCardButton(card, index, topCard);
-            handPanel.add(cardButton);
+        // A wild a human just played needs its color; the turn has passed on
+        if (!snapshot.isHumanChoosingColor()) {
+            askingColor = false;
+        } else if (!askingColor) {
+            askingColor = true;
+            showColorPicker(snapshot.getVersion());
         }
     }
 
-    private JButton createCardButton(Card card, int index, Card topCard) {
-        JButton button = new JButton(card.toString());
-        button.setFont(new Font("Arial", Font.BOLD, 14));
-        button.setBackground(getCardColor(card.getColor()));
-        button.setForeground(Color.WHITE);
-        button.setFocusPainted(false);
-        button.setBorderPainted(false);
-        button.setPreferredSize(new Dimension(120, 60));
+    private void updateGameDisplay(RenderSnapshot snapshot) {
+        // Update current player
+        currentPlayerLabel.setText("Current Player: " + snapshot.getCurrentPlayerName());
 
-        boolean canPlay = card.canPlayOn(topCard);
-        button.setEnabled(canPlay);
+        // Update top card
+        topCardLabel.setText("  Top Card: " + snapshot.getTopLabel() + "  ");
+        topCardLabel.setIcon(atlas.icon(snapshot.getTopFace()));
+        topCardLabel.setBackground(CardAtlas.colorOf(snapshot.getTopColor()));
 
-        if (!canPlay) {
-            button.setBackground(Color.GRAY);
-        }
+        // Update status
+        statusLabel.setText("Direction: " + snapshot.getDirectionSymbol() +
+                " | Draw Pile: " + snapshot.getDrawPileSize() + " cards");
 
-        if (canPlay) {
-            button.addActionListener(e -> handleCardPlay(index));
-            button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        // Update player hand
+        if (snapshot.isHumanTurn()) {
+            handLabel.setText("Your Hand: ");
+            handLabel.setForeground(Color.WHITE);
+        } else {
+            handLabel.setText("AI Player's Turn - Please wait...");
+            handLabel.setForeground(Color.ORANGE);
         }
-
-        return button;
+        handView.setHand(snapshot.getHandFaces(), snapshot.getPlayable());
     }
 
-    private Color getCardColor(CardColor color) {
-        switch (color) {
-            case RED:
-                return new Color(231, 76, 60);
-            case BLUE:
-                return new Color(52, 152, 219);
-            case GREEN:
-                return new Color(46, 204, 113);
-            case YELLOW:
-                return new Color(243, 156, 18);
-            case WILD:
-                return new Color(155, 89, 182);
-            default:
-                return Color.GRAY;
-        }
+    /**
+     * Runs a player's command on the game thread, unless the table has
+     * changed since the snapshot it was made on.
+     */
+    private void post(long snapshotVersion, Runnable command) {
+        gameThread.execute(() -> {
+            if (snapshotVersion == version) {
+                command.run();
+            }
+        });
     }
 
-    private void handleCardPlay(int index) {
-        boolean success = controller.playTurn(index);
-
-        if (success && controller.getGameState().isColorChangeNeeded()) {
-            showColorPicker();
-        }
+    private void handleCardPlay(long snapshotVersion, int index) {
+        // A wild's color is asked for once the snapshot shows it is needed
+        post(snapshotVersion, () -> controller.playTurn(index));
     }
 
     private void handleDrawCard() {
-        controller.playTurn(-1);
+        if (shown != null && shown.isHumanTurn()) {
+            post(shown.getVersion(), () -> controller.playTurn(-1));
+        }
     }
 
-    private void showColorPicker() {
+    private void showColorPicker(long snapshotVersion) {
         Object[] options = { "Red", "Blue", "Green", "Yellow" };
         int choice = JOptionPane.showOptionDialog(
                 this,
@@ -262,20 +316,25 @@ public class SwingGUI extends JFrame implements GameObserver {
 
         if (choice >= 0) {
             CardColor[] colors = { CardColor.RED, CardColor.BLUE, CardColor.GREEN, CardColor.YELLOW };
-            controller.selectColor(colors[choice]);
+            post(snapshotVersion, () -> controller.selectColor(colors[choice]));
+        } else {
+            // Closed without a choice: the wild still needs a color
+            askingColor = false;
+            latest.compareAndSet(null, shown);
+            SwingUtilities.invokeLater(this::renderLatest);
         }
     }
 
-    private void showWinnerDialog(Player winner) {
+    private void showWinnerDialog(String winnerName) {
         JOptionPane.showMessageDialog(
                 this,
-                "🎉 " + winner.getName() + " WINS! 🎉\n\nCongratulations!",
+                "🎉 " + winnerName + " WINS! 🎉\n\nCongratulations!",
                 "Game Over",
                 JOptionPane.INFORMATION_MESSAGE);
         System.exit(0);
     }
 
     public void start() {
-        update(controller.getGameState());
+        gameThread.execute(() -> update(controller.getGameState()));
     }
 }
@@ -0,0 +1,210 @@
+package view.spectator;
+
+import controller.GameController;
+import model.CardFace;
+import model.GameState;
+import model.Player;
+import observer.GameObserver;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Observer Pattern - Observer
+ *
+ * Fans a table's updates out to any number of spectators without letting
+ * them slow the table down.
+ *
+ * On every state change the public part of the state (top card, turn,
+ * direction, pending draws, pile and hand sizes, never the cards in
+ * hand) is compared with the last update and the difference is encoded
+ * once into an immutable SpectatorFrame shared by all clients. A keyframe
+ * of the full state is encoded at most once per update, and only when a
+ * client needs one: a client that has just joined, or a slow client whose
+ * bounded queue overflowed (see SpectatorClient).
+ *
+ * Frame layout, big-endian:
+ *   keyframe: kind, sequence (long), top key, seat, flags, pending (short),
+ *             draw pile (short), seat count, hand sizes (short each)
+ *   delta:    kind, sequence (long), changed-field mask, the changed fields
+ *             in keyframe order, changed hand count, (seat, hand size) pairs
+ */
+public class SpectatorBroadcaster implements GameObserver {
+    static final int FIELD_TOP = 1;
+    static final int FIELD_SEAT = 2;
+    static final int FIELD_FLAGS = 4;
+    static final int FIELD_PENDING = 8;
+    static final int FIELD_DRAW_PILE = 16;
+
+    static final int FLAG_CLOCKWISE = 1;
+    static final int FLAG_CHOOSING_COLOR = 2;
+
+    private static final int HEADER_SIZE = 1 + 8;
+
+    private final GameController controller;
+    private final List<SpectatorClient> clients;
+
+    // Last broadcast state
+    private boolean started;
+    private long sequence;
+    private int topKey;
+    private int seat;
+    private int flags;
+    private int pending;
+    private int drawPile;
+    private int[] handSizes;
+    private int[] changedSeats;
+    private SpectatorFrame keyframe;
+
+    /**
+     * Constructor for SpectatorBroadcaster.
+     *
+     * @param controller The controller of the table to broadcast
+     */
+    public SpectatorBroadcaster(GameController controller) {
+        this.controller = controller;
+        this.clients = new CopyOnWriteArrayList<>();
+        this.handSizes = new int[0];
+        this.changedSeats = new int[0];
+    }
+
+    /**
+     * Adds a spectator. Its first frame is a keyframe of the current state.
+     *
+     * @param client The spectator's queue
+     */
+    public synchronized void addClient(SpectatorClient client) {
+        clients.add(client);
+        if (started) {
+            client.reset(keyframe());
+        }
+    }
+
+    /**
+     * Removes a spectator and closes its queue.
+     *
+     * @param client The spectator's queue
+     */
+    public void removeClient(SpectatorClient client) {
+        clients.remove(client);
+        client.close();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Encodes what changed and queues it for every spectator.
+     *
+     * @param state The current game state
+     */
+    @Override
+    public synchronized void update(GameState state) {
+        List<Player> players = state.getPlayers();
+        int newTop = CardFace.topKey(state.getTopCard());
+        int newSeat = state.getCurrentPlayerIndex();
+        int newFlags = (state.isClockwise() ? FLAG_CLOCKWISE : 0)
+                | (state.isColorChangeNeeded() ? FLAG_CHOOSING_COLOR : 0);
+        int newPending = state.getPendingDrawCount();
+        int newDrawPile = controller.getDeck().getDrawPileSize();
+
+        if (!started || players.size() != handSizes.length) {
+            // First update, or a new table layout: everyone restarts from a keyframe
+            started = true;
+            sequence++;
+            topKey = newTop;
+            seat = newSeat;
+            flags = newFlags;
+            pending = newPending;
+            drawPile = newDrawPile;
+            handSizes = new int[players.size()];
+            changedSeats = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                handSizes[i] = players.get(i).getHandSize();
+            }
+            keyframe = null;
+            SpectatorFrame frame = keyframe();
+            for (SpectatorClient client : clients) {
+                client.reset(frame);
+            }
+            return;
+        }
+
+        int mask = (newTop != topKey ? FIELD_TOP : 0)
+                | (newSeat != seat ? FIELD_SEAT : 0)
+                | (newFlags != flags ? FIELD_FLAGS : 0)
+                | (newPending != pending ? FIELD_PENDING : 0)
+                | (newDrawPile != drawPile ? FIELD_DRAW_PILE : 0);
+        int changed = 0;
+        for (int i = 0; i < players.size(); i++) {
+            int size = players.get(i).getHandSize();
+            if (size != handSizes[i]) {
+                handSizes[i] = size;
+                changedSeats[changed++] = i;
+            }
+        }
+        if (mask == 0 && changed == 0) {
+            return; // Nothing a spectator can see has changed
+        }
+
+        topKey = newTop;
+        seat = newSeat;
+        flags = newFlags;
+        pending = newPending;
+        drawPile = newDrawPile;
+        sequence++;
+        keyframe = null;
+
+        SpectatorFrame delta = encodeDelta(mask, changed);
+        Supplier<SpectatorFrame> latest = this::keyframe;
+        for (SpectatorClient client : clients) {
+            client.offer(delta, latest);
+        }
+    }
+
+    /**
+     * Gets the keyframe of the last update, encoding it on first use.
+     */
+    private synchronized SpectatorFrame keyframe() {
+        if (keyframe == null) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 8 + 2 * handSizes.length);
+            buffer.put(SpectatorFrame.KEYFRAME).putLong(sequence);
+            buffer.put((byte) topKey).put((byte) seat).put((byte) flags);
+            buffer.putShort((short) pending).putShort((short) drawPile);
+            buffer.put((byte) handSizes.length);
+            for (int size : handSizes) {
+                buffer.putShort((short) size);
+            }
+            keyframe = new SpectatorFrame(sequence, true, Arrays.copyOf(buffer.array(), buffer.position()));
+        }
+        return keyframe;
+    }
+
+    private SpectatorFrame encodeDelta(int mask, int changed) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 8 + 3 * changed + 1);
+        buffer.put(SpectatorFrame.DELTA).putLong(sequence).put((byte) mask);
+        if ((mask & FIELD_TOP) != 0) {
+            buffer.put((byte) topKey);
+        }
+        if ((mask & FIELD_SEAT) != 0) {
+            buffer.put((byte) seat);
+        }
+        if ((mask & FIELD_FLAGS) != 0) {
+            buffer.put((byte) flags);
+        }
+        if ((mask & FIELD_PENDING) != 0) {
+            buffer.putShort((short) pending);
+        }
+        if ((mask & FIELD_DRAW_PILE) != 0) {
+            buffer.putShort((short) drawPile);
+        }
+        buffer.put((byte) changed);
+        for (int i = 0; i < changed; i++) {
+            buffer.put((byte) changedSeats[i]).putShort((short) handSizes[changedSeats[i]]);
+        }
+        return new SpectatorFrame(sequence, false, Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+}
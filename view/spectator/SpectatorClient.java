@@ -0,0 +1,180 @@
+package view.spectator;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The outgoing queue of one spectator.
+ *
+ * The table thread offers frames and never waits: if the queue is full
+ * the client is too slow, so its queued deltas are dropped and replaced by
+ * a single keyframe of the latest state. Until that keyframe is taken,
+ * newer updates only replace it. The client's own thread (for example a
+ * socket writer) takes frames with poll() or take().
+ */
+public class SpectatorClient {
+    private final String name;
+    private final int capacity;
+    private final ArrayDeque<SpectatorFrame> queue;
+    private final Object lock = new Object();
+    private SpectatorFrame conflated;
+    private boolean closed;
+
+    private long delivered;
+    private long dropped;
+    private long conflations;
+
+    /**
+     * Constructor for SpectatorClient.
+     *
+     * @param name     Name for logs
+     * @param capacity Maximum number of queued frames
+     */
+    public SpectatorClient(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Queues a delta, or conflates to a keyframe if the client is behind.
+     * Called by the broadcaster on the table thread.
+     *
+     * @param delta    The delta for this update
+     * @param keyframe Supplies the keyframe for this update if needed
+     */
+    void offer(SpectatorFrame delta, Supplier<SpectatorFrame> keyframe) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (conflated != null) {
+                conflated = keyframe.get();
+                dropped++;
+            } else if (queue.size() < capacity) {
+                queue.addLast(delta);
+            } else {
+                dropped += queue.size() + 1;
+                queue.clear();
+                conflated = keyframe.get();
+                conflations++;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Queues a keyframe in place of anything pending, for a client that
+     * has just joined.
+     */
+    void reset(SpectatorFrame keyframe) {
+        synchronized (lock) {
+            queue.clear();
+            conflated = keyframe;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Takes the next frame without waiting.
+     *
+     * @return The next frame, or null if there is none
+     */
+    public SpectatorFrame poll() {
+        synchronized (lock) {
+            return next();
+        }
+    }
+
+    /**
+     * Takes the next frame, waiting up to the given time for one.
+     *
+     * @param timeout How long to wait
+     * @param unit    Unit of the timeout
+     * @return The next frame, or null on timeout or once closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public SpectatorFrame take(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            SpectatorFrame frame;
+            while ((frame = next()) == null && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return frame;
+        }
+    }
+
+    private SpectatorFrame next() {
+        SpectatorFrame frame = queue.pollFirst();
+        if (frame == null && conflated != null) {
+            frame = conflated;
+            conflated = null;
+        }
+        if (frame != null) {
+            delivered++;
+        }
+        return frame;
+    }
+
+    /**
+     * Stops queueing frames and wakes up a waiting take().
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            queue.clear();
+            conflated = null;
+            lock.notifyAll();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDeliveredCount() {
+        synchronized (lock) {
+            return delivered;
+        }
+    }
+
+    /**
+     * Gets the number of frames skipped because the client was too slow.
+     *
+     * @return Dropped frame count
+     */
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+
+    /**
+     * Gets how many times the queue overflowed and was replaced by a keyframe.
+     *
+     * @return Conflation count
+     */
+    public long getConflationCount() {
+        synchronized (lock) {
+            return conflations;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpectatorClient[" + name + "]";
+    }
+}
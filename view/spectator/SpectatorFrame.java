@@ -0,0 +1,58 @@
+package view.spectator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One encoded update of a table, shared by every spectator.
+ *
+ * A frame is either a keyframe, holding the whole public state of the
+ * table, or a delta holding only what changed since the previous frame.
+ * The bytes are encoded once and never modified; each reader gets its own
+ * read-only view, so one frame can be queued for hundreds of clients.
+ */
+public final class SpectatorFrame {
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+
+    private final long sequence;
+    private final boolean keyframe;
+    private final ByteBuffer data;
+
+    SpectatorFrame(long sequence, boolean keyframe, byte[] bytes) {
+        this.sequence = sequence;
+        this.keyframe = keyframe;
+        this.data = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the sequence number of the table update this frame describes.
+     * A keyframe and a delta for the same update share their number.
+     *
+     * @return The sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    /**
+     * Gets the encoded frame.
+     *
+     * @return A read-only buffer positioned at the start of the frame
+     */
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    public int size() {
+        return data.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return (keyframe ? "Keyframe #" : "Delta #") + sequence + " (" + size() + " bytes)";
+    }
+}
@@ -0,0 +1,116 @@
+package view.spectator;
+
+import model.CardColor;
+import model.CardFace;
+import java.nio.ByteBuffer;
+
+/**
+ * Spectator-side copy of a table's public state, rebuilt from frames.
+ *
+ * Apply every frame taken from a SpectatorClient in order. A keyframe
+ * replaces the whole state; a delta must follow the frame before it.
+ */
+public class SpectatorState {
+    private long sequence = -1;
+    private int topKey;
+    private int currentSeat;
+    private int flags;
+    private int pendingDrawCount;
+    private int drawPileSize;
+    private int[] handSizes = new int[0];
+
+    /**
+     * Applies a frame.
+     *
+     * @param frame The next frame from the client's queue
+     * @throws IllegalStateException if a delta does not follow the last frame
+     */
+    public void apply(SpectatorFrame frame) {
+        ByteBuffer data = frame.getData();
+        byte kind = data.get();
+        long frameSequence = data.getLong();
+
+        if (kind == SpectatorFrame.KEYFRAME) {
+            topKey = data.get();
+            currentSeat = data.get() & 0xFF;
+            flags = data.get();
+            pendingDrawCount = data.getShort();
+            drawPileSize = data.getShort();
+            handSizes = new int[data.get() & 0xFF];
+            for (int i = 0; i < handSizes.length; i++) {
+                handSizes[i] = data.getShort();
+            }
+        } else {
+            if (frameSequence != sequence + 1) {
+                throw new IllegalStateException("Delta #" + frameSequence + " does not follow frame #" + sequence);
+            }
+            int mask = data.get();
+            if ((mask & SpectatorBroadcaster.FIELD_TOP) != 0) {
+                topKey = data.get();
+            }
+            if ((mask & SpectatorBroadcaster.FIELD_SEAT) != 0) {
+                currentSeat = data.get() & 0xFF;
+            }
+            if ((mask & SpectatorBroadcaster.FIELD_FLAGS) != 0) {
+                flags = data.get();
+            }
+            if ((mask & SpectatorBroadcaster.FIELD_PENDING) != 0) {
+                pendingDrawCount = data.getShort();
+            }
+            if ((mask & SpectatorBroadcaster.FIELD_DRAW_PILE) != 0) {
+                drawPileSize = data.getShort();
+            }
+            int changed = data.get() & 0xFF;
+            for (int i = 0; i < changed; i++) {
+                int seat = data.get() & 0xFF;
+                handSizes[seat] = data.getShort();
+            }
+        }
+        sequence = frameSequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the top card's face and active color as a top key (see CardFace).
+     *
+     * @return The top key
+     */
+    public int getTopKey() {
+        return topKey;
+    }
+
+    public CardColor getActiveColor() {
+        return CardFace.colorOfTopKey(topKey);
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public boolean isClockwise() {
+        return (flags & SpectatorBroadcaster.FLAG_CLOCKWISE) != 0;
+    }
+
+    public boolean isChoosingColor() {
+        return (flags & SpectatorBroadcaster.FLAG_CHOOSING_COLOR) != 0;
+    }
+
+    public int getPendingDrawCount() {
+        return pendingDrawCount;
+    }
+
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    public int getPlayerCount() {
+        return handSizes.length;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+}